@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import strategy.EndgameSolver;
+
+/**
+ * Measures the speed of the exact endgame solver.
+ * It plays random games until a given number of empty cells remain, skipping games that end
+ * earlier, solves each position, and prints the result, node count, time and nodes per second
+ * of each solve and of all of them.
+ *
+ * <p>Usage: EndgameBenchmark [size] [empties] [positions] [seed]</p>
+ */
+public final class EndgameBenchmark {
+  private static final int MAX_ATTEMPTS = 10_000;
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+    int empties = args.length > 1 ? Integer.parseInt(args[1]) : 14;
+    int positions = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+    Random random = new Random(seed);
+    EndgameSolver solver = new EndgameSolver(size);
+    System.out.printf("size=%d empties=%d%n", size, empties);
+    System.out.printf("%8s %8s %12s %10s %14s%n", "empties", "score", "nodes", "millis", "nodes/s");
+    long totalNodes = 0;
+    long totalNanos = 0;
+    for (int i = 0; i < positions; i++) {
+      ReversiModel model = randomPosition(size, empties, random);
+      long nodes = solver.getNodes();
+      long start = System.nanoTime();
+      int score = solver.solve(model, model.getCurrentPlayer());
+      long nanos = System.nanoTime() - start;
+      nodes = solver.getNodes() - nodes;
+      totalNodes += nodes;
+      totalNanos += nanos;
+      System.out.printf("%8d %8d %12d %10.1f %14.0f%n", model.getEmptyCount(), score, nodes,
+              nanos / 1e6, nodes * 1e9 / nanos);
+    }
+    System.out.printf("%8s %8s %12d %10.1f %14d%n", "total", "", totalNodes, totalNanos / 1e6,
+            solver.getNodesPerSecond());
+  }
+
+  private static ReversiModel randomPosition(int size, int empties, Random random) {
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      ReversiModel model = new ReversiGame(size);
+      while (!model.isGameOver() && model.getEmptyCount() > empties) {
+        CellState player = model.getCurrentPlayer();
+        List<Coordinate> moves = model.getLegalMoves(player);
+        model.makeMove(moves.get(random.nextInt(moves.size())), player);
+      }
+      if (!model.isGameOver()) {
+        return model;
+      }
+    }
+    throw new IllegalArgumentException("Random games never reach " + empties + " empty cells");
+  }
+}
@@ -0,0 +1,65 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import strategy.MoveOrdering;
+import strategy.NegamaxSearch;
+import strategy.TranspositionTable;
+
+/**
+ * Measures how much move ordering reduces the size of the negamax search tree.
+ * For a few positions along a greedy game it runs the same iterative deepening to a fixed depth
+ * twice, once trying moves in the order the board lists them and once with a
+ * {@link MoveOrdering}, each time with a fresh transposition table, and prints the node counts
+ * and the reduction.
+ *
+ * <p>Usage: MoveOrderingBenchmark [size] [depth] [positions]</p>
+ */
+public final class MoveOrderingBenchmark {
+  private static final long TABLE_BYTES = 16 << 20;
+  private static final long UNLIMITED_NANOS = 3_600_000_000_000L;
+  private static final int MOVES_BETWEEN_POSITIONS = 4;
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    int depth = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+    int positions = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+    System.out.printf("size=%d depth=%d%n", size, depth);
+    System.out.printf("%8s %12s %12s %10s%n", "empties", "unordered", "ordered", "reduction");
+    ReversiModel model = new ReversiGame(size);
+    long totalUnordered = 0;
+    long totalOrdered = 0;
+    for (int position = 0; position < positions && !model.isGameOver(); position++) {
+      long unordered = search(model, depth, false);
+      long ordered = search(model, depth, true);
+      totalUnordered += unordered;
+      totalOrdered += ordered;
+      System.out.printf("%8d %12d %12d %9.1f%%%n", model.getEmptyCount(), unordered, ordered,
+              100.0 * (unordered - ordered) / unordered);
+      for (int i = 0; i < MOVES_BETWEEN_POSITIONS && !model.isGameOver(); i++) {
+        CellState player = model.getCurrentPlayer();
+        model.makeMove(model.findBestMove(player), player);
+      }
+    }
+    System.out.printf("%8s %12d %12d %9.1f%%%n", "total", totalUnordered, totalOrdered,
+            100.0 * (totalUnordered - totalOrdered) / totalUnordered);
+  }
+
+  private static long search(ReversiModel position, int depth, boolean ordered) {
+    ReversiModel board = new ReversiGame(position);
+    MoveOrdering ordering = ordered ? new MoveOrdering(board.getSize()) : null;
+    NegamaxSearch search = new NegamaxSearch(board, new TranspositionTable(TABLE_BYTES),
+            System.nanoTime() + UNLIMITED_NANOS, new AtomicBoolean(), ordering);
+    List<Coordinate> moves = board.getLegalMoves(board.getCurrentPlayer());
+    for (int d = 1; d <= Math.min(depth, board.getEmptyCount()); d++) {
+      search.searchRoot(moves, d);
+    }
+    return search.getNodes();
+  }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import strategy.ParallelNegamaxStrategy;
+import strategy.TranspositionTable;
+
+/**
+ * Measures how the parallel negamax search scales with its number of threads.
+ * It searches one fixed middle-game position to a fixed depth at parallelism 1, 2, 4 and so on
+ * up to the limit, each time with a fresh transposition table, and prints the wall-clock time,
+ * node count, speedup over one thread and parallel efficiency of each level.
+ *
+ * <p>Usage: ParallelSearchBenchmark [size] [depth] [maxParallelism] [openingMoves]</p>
+ */
+public final class ParallelSearchBenchmark {
+  private static final long UNLIMITED_MILLIS = 3_600_000;
+  private static final long TABLE_BYTES = 16 << 20;
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+    int depth = args.length > 1 ? Integer.parseInt(args[1]) : 9;
+    int maxParallelism = args.length > 2 ? Integer.parseInt(args[2])
+            : Runtime.getRuntime().availableProcessors();
+    int openingMoves = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    ReversiModel position = openingPosition(size, openingMoves);
+    // Warm up the JIT so the first measured level is not penalized
+    search(position, depth, maxParallelism);
+
+    System.out.printf("size=%d depth=%d empties=%d%n", size, depth, position.getEmptyCount());
+    System.out.printf("%8s %10s %12s %8s %10s%n",
+            "threads", "millis", "nodes", "speedup", "efficiency");
+    double baseline = 0;
+    for (int parallelism = 1; ; parallelism = Math.min(parallelism * 2, maxParallelism)) {
+      long start = System.nanoTime();
+      long nodes = search(position, depth, parallelism);
+      double millis = (System.nanoTime() - start) / 1e6;
+      if (parallelism == 1) {
+        baseline = millis;
+      }
+      double speedup = baseline / millis;
+      System.out.printf("%8d %10.1f %12d %8.2f %9.0f%%%n",
+              parallelism, millis, nodes, speedup, 100 * speedup / parallelism);
+      if (parallelism == maxParallelism) {
+        break;
+      }
+    }
+  }
+
+  private static long search(ReversiModel position, int depth, int parallelism) {
+    ParallelNegamaxStrategy strategy = new ParallelNegamaxStrategy(
+            UNLIMITED_MILLIS, depth, parallelism, new TranspositionTable(TABLE_BYTES));
+    strategy.evaluateMoves(position, position.getCurrentPlayer());
+    return strategy.getLastNodes();
+  }
+
+  // Plays the greedy move a few times so the benchmark starts from a position with choices
+  private static ReversiModel openingPosition(int size, int moves) {
+    ReversiModel model = new ReversiGame(size);
+    for (int i = 0; i < moves && !model.isGameOver(); i++) {
+      CellState player = model.getCurrentPlayer();
+      Coordinate move = model.findBestMove(player);
+      model.makeMove(move, player);
+    }
+    return model;
+  }
+}
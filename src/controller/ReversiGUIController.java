@@ -3,15 +3,22 @@ package controller;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import javax.swing.*;
 
 import model.CellState;
 import model.ComputerReversiPlayer;
 import model.Coordinate;
+import model.ReversiGame;
 import model.ReversiModel;
 import model.ReversiPlayer;
+import strategy.MoveOption;
+import strategy.Ponderer;
+import strategy.ReversiStrategy;
 import view.Hexagon;
 import view.IView;
 import view.ReversiPanel;
@@ -20,11 +27,30 @@ public class ReversiGUIController implements ReversiController, PlayerActionList
   private final ReversiModel model;
   private final ReversiPanel view;
   private final ReversiPlayer player;
+  private final ReversiStrategy computerStrategy;
+  private final Ponderer ponderer;
+  private final TurnPipeline pipeline = new TurnPipeline();
 
   public ReversiGUIController(ReversiModel model, ReversiPlayer player, IView view) {
+    this(model, player, view, ReversiGUIController::greedyStrategy);
+  }
+
+  /**
+   * Constructs a controller whose computer turns are played by a strategy, and which ponders the
+   * computer's replies with a second instance of it while the human is thinking.
+   *
+   * @param model      The game.
+   * @param player     The player of this controller.
+   * @param view       The view of this controller.
+   * @param strategies Creates the strategy the computer plays with.
+   */
+  public ReversiGUIController(ReversiModel model, ReversiPlayer player, IView view,
+                              Supplier<ReversiStrategy> strategies) {
     this.model = model;
     this.player = player;
     this.view = (ReversiPanel) view;
+    this.computerStrategy = strategies.get();
+    this.ponderer = new Ponderer(strategies.get());
 
     model.addModelStatusListener(this);
     view.addPlayerActionListener(this);
@@ -38,7 +64,7 @@ public class ReversiGUIController implements ReversiController, PlayerActionList
   public void onPlayerTurn(CellState currentPlayer) {
     if (currentPlayer == player.getPlayerType()) {
       if (player instanceof ComputerReversiPlayer) {
-        player.makeMove();
+        computerTurn();
       }
       // For human players, we wait for GUI interaction
     }
@@ -66,7 +92,10 @@ public class ReversiGUIController implements ReversiController, PlayerActionList
   }
 
   private void turns() {
+    // The position has changed, so a move still being computed for the old one is stale
+    pipeline.cancel();
     if (model.isGameOver()) {
+      ponderer.stop();
       view.showDialog("Game over!");
       return;
     }
@@ -76,11 +105,52 @@ public class ReversiGUIController implements ReversiController, PlayerActionList
       Timer timer = new Timer(500, e -> computerTurn());
       timer.setRepeats(false);
       timer.start();
+    } else {
+      // Think about the replies to every human move while the human is thinking
+      ponderer.start(model, CellState.WHITE);
     }
   }
 
+  // Starts the computer's turn; the search runs in the background, so the view stays responsive
   private void computerTurn() {
-    Coordinate move = model.findBestMove(model.getCurrentPlayer());
+    long start = System.nanoTime();
+    CellState current = model.getCurrentPlayer();
+    long position = model.getPositionHash();
+    CompletableFuture<Boolean> turn;
+    List<MoveOption> pondered = ponderer.takeResult(model);
+    if (pondered != null) {
+      if (player instanceof ComputerReversiPlayer) {
+        // A pondered reply is played at once, but still counts as a move against the clock
+        ((ComputerReversiPlayer) player).recordMove(start);
+      }
+      Coordinate reply = pondered.isEmpty() ? null : pondered.get(0).getMove();
+      turn = pipeline.deliver(CompletableFuture.completedFuture(reply),
+              move -> applyComputerMove(move, position));
+    } else if (player instanceof ComputerReversiPlayer
+            && ((ComputerReversiPlayer) player).getClock() != null) {
+      // A player with a time control commits its move at the deadline
+      turn = pipeline.deliver(((ComputerReversiPlayer) player).chooseMove(),
+              move -> applyComputerMove(move, position));
+    } else {
+      // Search a copy, as the model must only be touched on the event dispatch thread
+      ReversiModel copy = new ReversiGame(model);
+      turn = pipeline.submit(() -> {
+        List<MoveOption> options = computerStrategy.topMoves(copy, current, 1);
+        return options.isEmpty() ? null : options.get(0).getMove();
+      }, move -> applyComputerMove(move, position));
+    }
+    turn.exceptionally(failure -> {
+      SwingUtilities.invokeLater(() -> view.showErrorDialog(
+              "Computer move failed: " + failure.getCause()));
+      return false;
+    });
+  }
+
+  // Applies a computed move on the event dispatch thread, unless the game has moved on
+  private void applyComputerMove(Coordinate move, long position) {
+    if (model.isGameOver() || model.getPositionHash() != position) {
+      return;
+    }
     System.out.println("Computer move: " + move);
     if (move != null) {
       model.makeMove(move, model.getCurrentPlayer());
@@ -100,6 +170,14 @@ public class ReversiGUIController implements ReversiController, PlayerActionList
     return currentPlayer == CellState.WHITE; // Assuming WHITE is always a computer
   }
 
+  // Plays the move that captures the most discs, as the model suggests
+  private static ReversiStrategy greedyStrategy() {
+    return (model, player) -> {
+      Coordinate move = model.findBestMove(player);
+      return move == null ? List.of() : List.of(new MoveOption(move, 0));
+    };
+  }
+
 
   @Override
   public void onKeyPressed(KeyEvent e) {
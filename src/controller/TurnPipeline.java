@@ -0,0 +1,130 @@
+package controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import model.Coordinate;
+
+/**
+ * Computes computer moves away from the thread that shows the game, and applies them back on it.
+ * Moves are searched one at a time on a background thread, so a strategy is never used by two
+ * searches at once, and each result is handed to the delivery executor, by default the Swing
+ * event dispatch thread. Every turn gets a generation number; starting a new turn or cancelling
+ * makes the results of older turns stale, and stale results are dropped instead of applied.
+ * Turns should be submitted and cancelled on the delivery thread, so that no turn can be
+ * cancelled between the check for staleness and the application of its move.
+ */
+public class TurnPipeline {
+  private final ExecutorService searcher;
+  private final Executor delivery;
+  // Incremented whenever a turn starts or is cancelled, so older results can tell they are stale
+  private final AtomicInteger generation = new AtomicInteger();
+  private final AtomicInteger discarded = new AtomicInteger();
+  private volatile CompletableFuture<Coordinate> pending;
+
+  /**
+   * Constructs a pipeline that applies moves on the Swing event dispatch thread.
+   */
+  public TurnPipeline() {
+    this(SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Constructs a pipeline that applies moves with the given executor.
+   *
+   * @param delivery The executor that runs the code applying each move.
+   * @throws IllegalArgumentException If the executor is null.
+   */
+  public TurnPipeline(Executor delivery) {
+    if (delivery == null) {
+      throw new IllegalArgumentException("Executor cannot be null");
+    }
+    this.delivery = delivery;
+    this.searcher = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "turn-search");
+      // A search for an abandoned turn should never keep the program alive
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts a turn whose move is searched on the pipeline's background thread.
+   *
+   * @param search Finds the move, or null to pass. It must work on its own copy of the game.
+   * @param apply  Applies the move, on the delivery thread, unless the turn has gone stale.
+   * @return Completes with true once the move is applied, or false if it was dropped as stale.
+   */
+  public CompletableFuture<Boolean> submit(Supplier<Coordinate> search,
+                                           Consumer<Coordinate> apply) {
+    return deliver(CompletableFuture.supplyAsync(search, searcher), apply);
+  }
+
+  /**
+   * Starts a turn whose move is already being computed elsewhere.
+   *
+   * @param move  Completes with the move, or null to pass.
+   * @param apply Applies the move, on the delivery thread, unless the turn has gone stale.
+   * @return Completes with true once the move is applied, or false if it was dropped as stale.
+   */
+  public CompletableFuture<Boolean> deliver(CompletableFuture<Coordinate> move,
+                                            Consumer<Coordinate> apply) {
+    int current = generation.incrementAndGet();
+    CompletableFuture<Coordinate> previous = pending;
+    pending = move;
+    if (previous != null) {
+      previous.cancel(false);
+    }
+    return move.handleAsync((result, failure) -> {
+      if (generation.get() != current) {
+        discarded.incrementAndGet();
+        return false;
+      }
+      if (failure != null) {
+        throw new CompletionException(failure);
+      }
+      apply.accept(result);
+      return true;
+    }, delivery);
+  }
+
+  /**
+   * Makes the turn in progress stale, so its move is dropped when it arrives. A search still
+   * queued never runs, and one already running is not interrupted, but the next waits for it.
+   */
+  public void cancel() {
+    generation.incrementAndGet();
+    CompletableFuture<Coordinate> previous = pending;
+    pending = null;
+    if (previous != null) {
+      previous.cancel(false);
+    }
+  }
+
+  /**
+   * Determines whether a turn is waiting for its move.
+   *
+   * @return true if the latest turn has not been computed yet, false otherwise.
+   */
+  public boolean isPending() {
+    CompletableFuture<Coordinate> current = pending;
+    return current != null && !current.isDone();
+  }
+
+  /**
+   * Gets the number of moves dropped because their turns had gone stale.
+   *
+   * @return The number of discarded moves.
+   */
+  public int getDiscarded() {
+    return discarded.get();
+  }
+}
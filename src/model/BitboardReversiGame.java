@@ -0,0 +1,487 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import controller.ModelStatusListener;
+
+/**
+ * Represents the game board for a hexagonal board game, storing the black and white discs as
+ * dense bitsets instead of a map of coordinates.
+ * The cell index of each cell in the board's {@link HexGeometry} is its bit position in the black
+ * and white bitsets. Boards with at most 64 cells fit in a single word; larger boards spread over
+ * as many words as they need. The game also keeps a Zobrist hash of the position built from the
+ * board's {@link ZobristKeys}.
+ */
+public class BitboardReversiGame implements ReversiModel {
+  private final int size;
+  private final HexGeometry geometry;
+  private final CoordinateRegistry registry;
+  private final int cellCount;
+  private final long[] black;
+  private final long[] white;
+  private final ZobristKeys keys;
+  private long hash;
+  private int blackCount;
+  private int whiteCount;
+  private boolean gameOver;
+  private CellState currentPlayer;
+  private int currentPlayerIndex;
+  private List<ReversiPlayer> players;
+  private ModelStatusListener listener;
+
+  @Override
+  public void addModelStatusListener(ModelStatusListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Constructs a new bitboard game of the given size.
+   *
+   * @param size The size of the game board. Must be a positive value.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public BitboardReversiGame(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    this.size = size;
+    this.currentPlayerIndex = -1;
+    this.players = new ArrayList<>();
+    this.currentPlayer = CellState.BLACK;
+    this.registry = CoordinateRegistry.forSize(size);
+    this.geometry = registry.getGeometry();
+    this.cellCount = geometry.getCellCount();
+    this.black = new long[(cellCount + 63) >>> 6];
+    this.white = new long[black.length];
+    this.keys = ZobristKeys.forSize(size);
+
+    // Initialize the center cells
+    set(black, geometry.indexOf(0, -1));
+    set(white, geometry.indexOf(1, -1));
+    set(white, geometry.indexOf(-1, 0));
+    set(black, geometry.indexOf(-1, 1));
+    set(white, geometry.indexOf(0, 1));
+    set(black, geometry.indexOf(1, 0));
+    recount();
+  }
+
+  /**
+   * Copy constructor that creates a new bitboard game as a deep copy of the given model.
+   *
+   * @param other The model to copy.
+   */
+  public BitboardReversiGame(ReversiModel other) {
+    this(other.getSize());
+    this.currentPlayer = other.getCurrentPlayer();
+    if (other instanceof BitboardReversiGame) {
+      BitboardReversiGame game = (BitboardReversiGame) other;
+      System.arraycopy(game.black, 0, black, 0, black.length);
+      System.arraycopy(game.white, 0, white, 0, white.length);
+    } else {
+      for (int cell = 0; cell < cellCount; cell++) {
+        setCellState(cell, other.getCellState(geometry.getQ(cell), geometry.getR(cell)));
+      }
+    }
+    recount();
+  }
+
+  /**
+   * Recomputes the disc counts, the game-over status and the hash from the bitsets.
+   */
+  private void recount() {
+    blackCount = bitCount(black);
+    whiteCount = bitCount(white);
+    hash = keys.sideKey(currentPlayer);
+    for (int cell = 0; cell < cellCount; cell++) {
+      hash ^= keys.cellKey(cell, stateAt(cell));
+    }
+    updateGameOver();
+  }
+
+  private void updateGameOver() {
+    boolean allCellsFilled = blackCount + whiteCount == cellCount;
+    gameOver = allCellsFilled || !hasLegalMoves(CellState.BLACK) && !hasLegalMoves(CellState.WHITE);
+  }
+
+  private int indexOf(Coordinate coord) {
+    if (coord == null) {
+      throw new IllegalArgumentException("Coordinate cannot be null");
+    }
+    int cell = geometry.indexOf(coord);
+    if (cell < 0) {
+      throw new IllegalArgumentException("Coordinate out of bounds");
+    }
+    return cell;
+  }
+
+  private static boolean isSet(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  private static void set(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  private static void clear(long[] bits, int index) {
+    bits[index >>> 6] &= ~(1L << index);
+  }
+
+  private long[] bitsOf(CellState player) {
+    return player == CellState.BLACK ? black : white;
+  }
+
+  private CellState stateAt(int index) {
+    if (isSet(black, index)) {
+      return CellState.BLACK;
+    }
+    return isSet(white, index) ? CellState.WHITE : CellState.EMPTY;
+  }
+
+  private void setCellState(int index, CellState state) {
+    clear(black, index);
+    clear(white, index);
+    if (state != CellState.EMPTY) {
+      set(bitsOf(state), index);
+    }
+  }
+
+  private void checkState(CellState state) {
+    if (state == null) {
+      throw new IllegalArgumentException("State cannot be null");
+    }
+  }
+
+  private void checkPlayers() {
+    if (players == null || players.size() != 2) {
+      throw new IllegalArgumentException("The game must have exactly 2 players");
+    }
+  }
+
+  @Override
+  public void setPlayers(List<ReversiPlayer> players) {
+    checkPlayers();
+    this.players = players;
+  }
+
+  @Override
+  public void startGame() {
+    setCurrentPlayer(CellState.BLACK);
+    currentPlayerIndex = 0;
+    notifyPlayerTurn();
+  }
+
+  private void notifyPlayerTurn() {
+    if (currentPlayerIndex >= 0 && currentPlayerIndex < players.size()) {
+      ReversiPlayer currentPlayer = players.get(currentPlayerIndex);
+      currentPlayer.makeMove();
+    }
+  }
+
+  public void nextTurn() {
+    currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+    notifyPlayerTurn();
+  }
+
+  @Override
+  public Map<Coordinate, CellState> getBoard() {
+    Map<Coordinate, CellState> board = new HashMap<>();
+    for (int i = 0; i < cellCount; i++) {
+      board.put(registry.get(i), stateAt(i));
+    }
+    return board;
+  }
+
+  @Override
+  public Map<Coordinate, CellState> getNonEmptyBoard() {
+    Map<Coordinate, CellState> nonEmptyBoard = new HashMap<>();
+    for (int i = 0; i < cellCount; i++) {
+      CellState state = stateAt(i);
+      if (state != CellState.EMPTY) {
+        nonEmptyBoard.put(registry.get(i), state);
+      }
+    }
+    return nonEmptyBoard;
+  }
+
+  @Override
+  public Set<Coordinate> getCorners() {
+    return registry.getCorners();
+  }
+
+  @Override
+  public CellState getCurrentPlayer() {
+    return currentPlayer;
+  }
+
+  private void setCurrentPlayer(CellState player) {
+    hash ^= keys.sideKey(currentPlayer) ^ keys.sideKey(player);
+    currentPlayer = player;
+  }
+
+  @Override
+  public long getPositionHash() {
+    return hash;
+  }
+
+  @Override
+  public CellState getCellState(Coordinate coord) {
+    return stateAt(indexOf(coord));
+  }
+
+  @Override
+  public CellState getCellState(int q, int r) {
+    int cell = geometry.indexOf(q, r);
+    if (cell < 0) {
+      throw new IllegalArgumentException("Coordinate out of bounds");
+    }
+    return stateAt(cell);
+  }
+
+  /**
+   * Counts the opposing discs captured along a ray walked away from a move.
+   *
+   * @param ray   The cell indices along the direction, nearest first.
+   * @param own   The bitset of the moving player.
+   * @param other The bitset of the opposing player.
+   * @return The number of discs captured along the ray.
+   */
+  private int capturesInDirection(int[] ray, long[] own, long[] other) {
+    for (int i = 0; i < ray.length; i++) {
+      if (isSet(own, ray[i])) {
+        return i;
+      } else if (!isSet(other, ray[i])) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+
+  private boolean canCapture(int cell, long[] own, long[] other) {
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      if (capturesInDirection(geometry.ray(cell, dir), own, other) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isEmpty(int cell) {
+    return !isSet(black, cell) && !isSet(white, cell);
+  }
+
+  @Override
+  public List<Coordinate> getLegalMoves(CellState player) {
+    checkState(player);
+    long[] own = bitsOf(player);
+    long[] other = bitsOf(opposite(player));
+    List<Coordinate> legalMoves = new ArrayList<>();
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (isEmpty(cell) && canCapture(cell, own, other)) {
+        legalMoves.add(registry.get(cell));
+      }
+    }
+    return legalMoves;
+  }
+
+  @Override
+  public Map<CellState, Integer> getScores() {
+    Map<CellState, Integer> scores = new HashMap<>();
+    scores.put(CellState.BLACK, blackCount);
+    scores.put(CellState.WHITE, whiteCount);
+    return scores;
+  }
+
+  @Override
+  public int getScore(CellState state) {
+    checkState(state);
+    switch (state) {
+      case BLACK:
+        return blackCount;
+      case WHITE:
+        return whiteCount;
+      default:
+        return getEmptyCount();
+    }
+  }
+
+  @Override
+  public int getEmptyCount() {
+    return cellCount - blackCount - whiteCount;
+  }
+
+  private static int bitCount(long[] bits) {
+    int count = 0;
+    for (long word : bits) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public Coordinate findBestMove(CellState player) {
+    List<Coordinate> legalMoves = getLegalMoves(player);
+    Coordinate bestMove = null;
+    int maxCaptures = 0;
+
+    for (Coordinate move : legalMoves) {
+      int captures = calculateCaptures(move, player);
+      if (captures > maxCaptures || (captures == maxCaptures && isUpperLeft(move, bestMove))) {
+        bestMove = move;
+        maxCaptures = captures;
+      }
+    }
+
+    return bestMove;
+  }
+
+  private boolean isUpperLeft(Coordinate move1, Coordinate move2) {
+    return move1.getS() > move2.getS()
+            || (move1.getQ() == move2.getQ()
+            && move1.getR() < move2.getR());
+  }
+
+  @Override
+  public int calculateCaptures(Coordinate move, CellState player) {
+    int cell = indexOf(move);
+    long[] own = bitsOf(player);
+    long[] other = bitsOf(opposite(player));
+    int totalCaptures = 0;
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      totalCaptures += capturesInDirection(geometry.ray(cell, dir), own, other);
+    }
+    return totalCaptures;
+  }
+
+  @Override
+  public boolean hasLegalMoves() {
+    return hasLegalMoves(currentPlayer);
+  }
+
+  private boolean hasLegalMoves(CellState player) {
+    long[] own = bitsOf(player);
+    long[] other = bitsOf(opposite(player));
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (isEmpty(cell) && canCapture(cell, own, other)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public CellState opposite(CellState player) {
+    checkState(player);
+    return player == CellState.BLACK ? CellState.WHITE : CellState.BLACK;
+  }
+
+  @Override
+  public void makeMove(Coordinate coord, CellState player) {
+    applyMove(coord, player);
+  }
+
+  @Override
+  public UndoRecord applyMove(Coordinate coord, CellState player) {
+    int cell = indexOf(coord);
+    checkState(player);
+    if (isGameOver()) {
+      throw new IllegalStateException("Game is over");
+    }
+    if (currentPlayer != player) {
+      throw new IllegalArgumentException("It's not the current player's turn");
+    }
+    long[] own = bitsOf(player);
+    long[] other = bitsOf(opposite(player));
+    if (!isEmpty(cell) || !canCapture(cell, own, other)) {
+      throw new IllegalArgumentException("Illegal move");
+    }
+    int[] flipped = new int[calculateCaptures(coord, player)];
+    set(own, cell);
+    hash ^= keys.cellKey(cell, player);
+    CellState opponent = opposite(player);
+    int flipCount = 0;
+
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      int[] ray = geometry.ray(cell, dir);
+      int captures = capturesInDirection(ray, own, other);
+      for (int i = 0; i < captures; i++) {
+        clear(other, ray[i]);
+        set(own, ray[i]);
+        hash ^= keys.cellKey(ray[i], opponent) ^ keys.cellKey(ray[i], player);
+        flipped[flipCount++] = ray[i];
+      }
+    }
+    adjustCounts(player, flipCount + 1, flipCount);
+    updateGameOver();
+
+    // After a successful move, switch players and check for legal moves
+    pass();
+    return new UndoRecord(cell, flipped, player);
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null");
+    }
+    int cell = record.getCell();
+    CellState player = record.getPlayer();
+    long[] own = bitsOf(player);
+    long[] other = bitsOf(opposite(player));
+    if (!isSet(own, cell)) {
+      throw new IllegalStateException("Record does not match the last move");
+    }
+    CellState opponent = opposite(player);
+    clear(own, cell);
+    hash ^= keys.cellKey(cell, player);
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      int flip = record.getFlipped(i);
+      clear(own, flip);
+      set(other, flip);
+      hash ^= keys.cellKey(flip, player) ^ keys.cellKey(flip, opponent);
+    }
+    adjustCounts(player, -record.getFlipCount() - 1, -record.getFlipCount());
+    // A move can only have been made while the game was still going
+    gameOver = false;
+    setCurrentPlayer(player);
+  }
+
+  /**
+   * Adjusts the disc counts after a move or its undo.
+   *
+   * @param player  The color that moved.
+   * @param gained  The number of discs the moving color gained.
+   * @param flipped The number of discs the opposing color lost.
+   */
+  private void adjustCounts(CellState player, int gained, int flipped) {
+    if (player == CellState.BLACK) {
+      blackCount += gained;
+      whiteCount -= flipped;
+    } else {
+      whiteCount += gained;
+      blackCount -= flipped;
+    }
+  }
+
+  @Override
+  public void pass() {
+    setCurrentPlayer(opposite(currentPlayer));
+    if (!hasLegalMoves()) {
+      // If the next player has no moves, pass the turn back to the current player
+      setCurrentPlayer(opposite(currentPlayer));
+    }
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+}
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * The canonical form of a position under the symmetries of its board, as computed by
+ * {@link HexSymmetry}. It holds the canonical hash, which equivalent positions share, and the
+ * transform that maps the original position onto its canonical representative.
+ */
+public final class CanonicalPosition {
+  private final HexSymmetry symmetry;
+  private final long hash;
+  private final int transform;
+
+  CanonicalPosition(HexSymmetry symmetry, long hash, int transform) {
+    this.symmetry = symmetry;
+    this.hash = hash;
+    this.transform = transform;
+  }
+
+  /**
+   * Gets the hash of the canonical representative.
+   *
+   * @return The canonical hash.
+   */
+  public long getHash() {
+    return hash;
+  }
+
+  /**
+   * Gets the transform that maps the original position onto the canonical representative.
+   *
+   * @return The transform, in the numbering of {@link HexSymmetry}.
+   */
+  public int getTransform() {
+    return transform;
+  }
+
+  /**
+   * Maps a cell of the original position into the canonical representative.
+   *
+   * @param cell The cell index in the original position.
+   * @return The cell index in the canonical representative.
+   */
+  public int toCanonical(int cell) {
+    return symmetry.transformCell(transform, cell);
+  }
+
+  /**
+   * Maps a cell of the canonical representative back into the original position.
+   *
+   * @param cell The cell index in the canonical representative.
+   * @return The cell index in the original position.
+   */
+  public int fromCanonical(int cell) {
+    return symmetry.transformCell(symmetry.inverse(transform), cell);
+  }
+}
@@ -1,52 +1,177 @@
 package model;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
 
 import controller.PlayerActionListener;
 import strategy.MoveOption;
 import strategy.ReversiStrategy;
 import strategy.CompositeStrategy;
+import strategy.EndgameStrategy;
+import strategy.EndgameSwitchStrategy;
 import strategy.CaptureMaxPiecesStrategy;
 import strategy.AvoidGivingCornersStrategy;
 import strategy.TakeCornersStrategy;
 import strategy.MinimaxStrategy;
+import strategy.LazySmpStrategy;
+import strategy.MctsStrategy;
+import strategy.NegamaxStrategy;
+import strategy.ParallelNegamaxStrategy;
+import strategy.PatternStrategy;
+import strategy.PatternWeights;
+import strategy.TimedStrategy;
 
 public class ComputerReversiPlayer implements ReversiPlayer {
+  // The share of a move's budget a timed strategy is given, leaving the rest to commit the move
+  private static final int SEARCH_PERCENT = 90;
+  // Searches run one at a time, so a search overrunning its deadline never shares a strategy.
+  // One thread serves every player, as players take turns anyway, and it is never shut down.
+  private static final ExecutorService SEARCHER = Executors.newSingleThreadExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "computer-search");
+    // A search that was given up on should never keep the program alive
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private ReversiStrategy strategy;
   private ReversiModel model;
   private CellState playerType;
   private PlayerActionListener actionListener;
-
+  private final GameClock clock;
+  private final MoveLatencies latencies = new MoveLatencies();
 
   public ComputerReversiPlayer(ReversiModel model, String strategyName) {
+    this(model, strategyName, EndgameStrategy.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs a computer player that plays the named strategy until at most the given number of
+   * empty cells remain, and then solves the rest of the game exactly.
+   *
+   * @param model            The game to play.
+   * @param strategyName     The name of the strategy to play before the endgame.
+   * @param endgameThreshold The number of empty cells at or below which the game is solved.
+   * @throws IllegalArgumentException If the threshold is negative.
+   */
+  public ComputerReversiPlayer(ReversiModel model, String strategyName, int endgameThreshold) {
+    this(model, strategyName, endgameThreshold, null, null);
+  }
+
+  /**
+   * Constructs a computer player that plays the named strategy under a time control. Each move
+   * is searched in the background and committed at its deadline, with the best move found so far
+   * or, if the search has nothing yet, the move that captures the most discs.
+   *
+   * @param model        The game to play.
+   * @param strategyName The name of the strategy to play before the endgame.
+   * @param timeControl  The time control to play under.
+   * @throws IllegalArgumentException If the time control is null.
+   */
+  public ComputerReversiPlayer(ReversiModel model, String strategyName, TimeControl timeControl) {
+    this(model, strategyName, EndgameStrategy.DEFAULT_THRESHOLD, null,
+            new GameClock(timeControl));
+  }
+
+  /**
+   * Constructs a computer player that plays the named strategy with trained pattern weights,
+   * under a time control if one is given.
+   *
+   * @param model        The game to play.
+   * @param strategyName The name of the strategy to play before the endgame.
+   * @param weights      The trained weights for the pattern strategy, or null for the initial
+   *                     weights.
+   * @param timeControl  The time control to play under, or null to play without one.
+   */
+  public ComputerReversiPlayer(ReversiModel model, String strategyName, PatternWeights weights,
+                               TimeControl timeControl) {
+    this(model, strategyName, EndgameStrategy.DEFAULT_THRESHOLD, weights,
+            timeControl == null ? null : new GameClock(timeControl));
+  }
+
+  private ComputerReversiPlayer(ReversiModel model, String strategyName, int endgameThreshold,
+                                PatternWeights weights, GameClock clock) {
+    this.strategy = new EndgameSwitchStrategy(createStrategy(strategyName, weights),
+            new EndgameStrategy(endgameThreshold));
+    this.model = model;
+    this.playerType = CellState.WHITE;
+    this.clock = clock;
+  }
+
+  /**
+   * Creates a new instance of the named strategy.
+   *
+   * @param strategyName The name of the strategy, or any other name for the composite strategy.
+   * @return The strategy.
+   */
+  public static ReversiStrategy createStrategy(String strategyName) {
+    return createStrategy(strategyName, null);
+  }
+
+  /**
+   * Creates a new instance of the named strategy, with trained weights if it is the pattern
+   * strategy.
+   *
+   * @param strategyName The name of the strategy, or any other name for the composite strategy.
+   * @param weights      The trained weights for the pattern strategy, or null for the initial
+   *                     weights.
+   * @return The strategy.
+   */
+  public static ReversiStrategy createStrategy(String strategyName, PatternWeights weights) {
     switch (strategyName) {
       case "CaptureMaxPiecesStrategy":
-        strategy = new CaptureMaxPiecesStrategy();
-        break;
+        return new CaptureMaxPiecesStrategy();
       case "AvoidGivingCornersStrategy":
-        strategy = new AvoidGivingCornersStrategy();
-        break;
+        return new AvoidGivingCornersStrategy();
       case "TakeCornersStrategy":
-        strategy = new TakeCornersStrategy();
-        break;
+        return new TakeCornersStrategy();
       case "MinimaxStrategy":
-        strategy = new MinimaxStrategy();
-        break;
+        return new MinimaxStrategy();
+      case "NegamaxStrategy":
+        return new NegamaxStrategy();
+      case "ParallelNegamaxStrategy":
+        return new ParallelNegamaxStrategy();
+      case "LazySmpStrategy":
+        return new LazySmpStrategy();
+      case "MctsStrategy":
+        return new MctsStrategy();
+      case "PatternStrategy":
+        return new PatternStrategy(weights);
       default:
-        strategy = new CompositeStrategy(
+        return new CompositeStrategy(
                 new CaptureMaxPiecesStrategy(),
                 new AvoidGivingCornersStrategy(),
                 new TakeCornersStrategy(),
                 new MinimaxStrategy()
         );
     }
-    this.model = model;
-    this.playerType = CellState.WHITE;
   }
 
+  /**
+   * Makes a move for the current position. Under a time control the move is chosen in the
+   * background, so the caller is never held up for the move's budget, and the listener is told
+   * on the event dispatch thread once the move is committed, unless the game has moved on.
+   */
   @Override
   public void makeMove() {
-    List<MoveOption> moves = strategy.evaluateMoves(model, model.getCurrentPlayer());
+    if (clock != null) {
+      long position = model.getPositionHash();
+      chooseMove().thenAccept(move -> SwingUtilities.invokeLater(() -> {
+        if (model.getPositionHash() != position) {
+          return;
+        }
+        if (move != null) {
+          actionListener.onMoveSelected(move);
+        } else {
+          actionListener.onPassSelected();
+        }
+      }));
+      return;
+    }
+    List<MoveOption> moves = strategy.topMoves(model, model.getCurrentPlayer(), 1);
     if (!moves.isEmpty()) {
       MoveOption bestMove = moves.get(0);
       actionListener.onMoveSelected(bestMove.getMove());
@@ -55,6 +180,87 @@ public class ComputerReversiPlayer implements ReversiPlayer {
     }
   }
 
+  /**
+   * Starts choosing a move for the current position in the background. The position is copied
+   * first, so the game may move on while the search runs. Under a time control, the result is
+   * committed when the move's budget runs out: a timed strategy, which every searching strategy
+   * and the endgame solver are, is told to stop before then, and a strategy that has found
+   * nothing by then or is still running is given up on in favor of the move that captures the
+   * most discs. The time taken is charged to the clock and recorded in the latencies.
+   * Without a time control, the result is whatever the strategy chooses, however long it takes.
+   *
+   * @return The move, or null to pass.
+   */
+  public CompletableFuture<Coordinate> chooseMove() {
+    long start = System.nanoTime();
+    ReversiModel position = new ReversiGame(model);
+    CellState player = position.getCurrentPlayer();
+    if (clock == null) {
+      return CompletableFuture.supplyAsync(
+              () -> bestMove(strategy, position, player, 0, null), SEARCHER);
+    }
+    long budget = clock.budgetMillis(position.getEmptyCount());
+    // Worked out before the search starts, as the search plays on the position
+    Coordinate fallback = position.findBestMove(player);
+    long searchMillis = Math.max(1, budget * SEARCH_PERCENT / 100);
+    return CompletableFuture.supplyAsync(
+                    () -> bestMove(strategy, position, player, searchMillis, fallback),
+                    SEARCHER)
+            .completeOnTimeout(fallback, budget, TimeUnit.MILLISECONDS)
+            .whenComplete((move, failure) -> charge(start, budget));
+  }
+
+  /**
+   * Charges a move found elsewhere, such as a reply pondered on the opponent's time, to the
+   * clock and the latencies as if this player had chosen it. The turn's time is still spent,
+   * however little of it was needed. Does nothing without a time control.
+   *
+   * @param turnStart The {@link System#nanoTime()} value at which the turn started.
+   */
+  public void recordMove(long turnStart) {
+    if (clock != null) {
+      charge(turnStart, clock.budgetMillis(model.getEmptyCount()));
+    }
+  }
+
+  private void charge(long start, long budget) {
+    long elapsed = (System.nanoTime() - start) / 1_000_000L;
+    clock.recordMove(elapsed);
+    latencies.record(elapsed, budget);
+  }
+
+  // The fallback is played if a timed strategy runs out of time before scoring any move
+  private static Coordinate bestMove(ReversiStrategy strategy, ReversiModel position,
+                                     CellState player, long searchMillis, Coordinate fallback) {
+    List<MoveOption> moves;
+    if (searchMillis > 0 && strategy instanceof TimedStrategy) {
+      List<MoveOption> evaluated = ((TimedStrategy) strategy).evaluateMoves(position, player,
+              searchMillis);
+      moves = evaluated.isEmpty() ? evaluated : evaluated.subList(0, 1);
+    } else {
+      moves = strategy.topMoves(position, player, 1);
+    }
+    return moves.isEmpty() ? fallback : moves.get(0).getMove();
+  }
+
+  /**
+   * Gets the clock of the player.
+   *
+   * @return The clock, or null if the player plays without a time control.
+   */
+  public GameClock getClock() {
+    return clock;
+  }
+
+  /**
+   * Gets the time the player's moves took under its time control.
+   *
+   * @return The latencies of the moves chosen so far.
+   */
+  public MoveLatencies getLatencies() {
+    return latencies;
+  }
+
   @Override
   public void passTurn() {
     actionListener.onPassSelected();
@@ -0,0 +1,186 @@
+package model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the canonical {@link CubeCoordinate} instances of a hexagonal board of a given size.
+ * Each canonical coordinate has an ordinal, which is its cell index in the board's
+ * {@link HexGeometry}, and the registry caches the on-board neighbors of every cell so that move
+ * evaluation can look up coordinates, neighbors and adjacency without allocating.
+ * Registries are immutable, built once per board size and shared by every game of that size.
+ */
+public final class CoordinateRegistry {
+  private static final Map<Integer, CoordinateRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+  private final HexGeometry geometry;
+  private final CubeCoordinate[] coordinates;
+  private final CubeCoordinate[][] neighbors;
+  private final Set<Coordinate> corners;
+  private final boolean[] nextToCorner;
+
+  private CoordinateRegistry(int size) {
+    this.geometry = HexGeometry.forSize(size);
+    int cellCount = geometry.getCellCount();
+    this.coordinates = new CubeCoordinate[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      coordinates[cell] = new CubeCoordinate(geometry.getQ(cell), geometry.getR(cell), geometry.getS(cell));
+    }
+
+    this.neighbors = new CubeCoordinate[cellCount][];
+    for (int cell = 0; cell < cellCount; cell++) {
+      int count = 0;
+      CubeCoordinate[] found = new CubeCoordinate[HexGeometry.DIRECTION_COUNT];
+      for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+        int[] ray = geometry.ray(cell, dir);
+        if (ray.length > 0) {
+          found[count++] = coordinates[ray[0]];
+        }
+      }
+      CubeCoordinate[] cellNeighbors = new CubeCoordinate[count];
+      System.arraycopy(found, 0, cellNeighbors, 0, count);
+      neighbors[cell] = cellNeighbors;
+    }
+
+    Set<Coordinate> cornerSet = new HashSet<>();
+    cornerSet.add(get(-size, size));
+    cornerSet.add(get(0, size));
+    cornerSet.add(get(size, 0));
+    cornerSet.add(get(size, -size));
+    cornerSet.add(get(0, -size));
+    cornerSet.add(get(-size, 0));
+    this.corners = Collections.unmodifiableSet(cornerSet);
+
+    this.nextToCorner = new boolean[cellCount];
+    for (Coordinate corner : corners) {
+      for (CubeCoordinate neighbor : neighbors[ordinal(corner)]) {
+        nextToCorner[ordinal(neighbor)] = true;
+      }
+    }
+  }
+
+  /**
+   * Gets the shared registry of a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @return The registry of the board.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public static CoordinateRegistry forSize(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    return REGISTRIES.computeIfAbsent(size, CoordinateRegistry::new);
+  }
+
+  /**
+   * Gets the geometry of the board this registry describes.
+   *
+   * @return The geometry of the board.
+   */
+  public HexGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Gets the canonical coordinate with the given ordinal.
+   *
+   * @param ordinal The ordinal of the coordinate.
+   * @return The canonical coordinate.
+   */
+  public CubeCoordinate get(int ordinal) {
+    return coordinates[ordinal];
+  }
+
+  /**
+   * Gets the canonical coordinate at the given cube coordinates.
+   *
+   * @param q Cube coordinate q-axis value.
+   * @param r Cube coordinate r-axis value.
+   * @return The canonical coordinate.
+   * @throws IllegalArgumentException If the coordinates are off the board.
+   */
+  public CubeCoordinate get(int q, int r) {
+    int ordinal = geometry.indexOf(q, r);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("Coordinate out of bounds");
+    }
+    return coordinates[ordinal];
+  }
+
+  /**
+   * Gets the canonical instance of the given coordinate.
+   *
+   * @param coord The coordinate.
+   * @return The canonical coordinate equal to the given one.
+   * @throws IllegalArgumentException If the coordinate is null or off the board.
+   */
+  public CubeCoordinate intern(Coordinate coord) {
+    return coordinates[ordinal(coord)];
+  }
+
+  /**
+   * Gets the ordinal of the given coordinate.
+   *
+   * @param coord The coordinate.
+   * @return The ordinal of the coordinate.
+   * @throws IllegalArgumentException If the coordinate is null or off the board.
+   */
+  public int ordinal(Coordinate coord) {
+    if (coord == null) {
+      throw new IllegalArgumentException("Coordinate cannot be null");
+    }
+    int ordinal = geometry.indexOf(coord);
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("Coordinate out of bounds");
+    }
+    return ordinal;
+  }
+
+  /**
+   * Gets the on-board neighbors of the cell with the given ordinal.
+   * The returned array is shared and must not be modified.
+   *
+   * @param ordinal The ordinal of the cell.
+   * @return The canonical coordinates of the neighboring cells.
+   */
+  public CubeCoordinate[] neighbors(int ordinal) {
+    return neighbors[ordinal];
+  }
+
+  /**
+   * Determines whether the cells with the given ordinals are adjacent.
+   *
+   * @param first  The ordinal of the first cell.
+   * @param second The ordinal of the second cell.
+   * @return true if the cells are adjacent, false otherwise.
+   */
+  public boolean areAdjacent(int first, int second) {
+    int dq = Math.abs(geometry.getQ(first) - geometry.getQ(second));
+    int dr = Math.abs(geometry.getR(first) - geometry.getR(second));
+    int ds = Math.abs(geometry.getS(first) - geometry.getS(second));
+    return Math.max(dq, Math.max(dr, ds)) == 1;
+  }
+
+  /**
+   * Gets the canonical coordinates of the corners of the board.
+   *
+   * @return An unmodifiable set containing the corner coordinates.
+   */
+  public Set<Coordinate> getCorners() {
+    return corners;
+  }
+
+  /**
+   * Determines whether the cell with the given ordinal is adjacent to a corner of the board.
+   *
+   * @param ordinal The ordinal of the cell.
+   * @return true if the cell is next to a corner, false otherwise.
+   */
+  public boolean isNextToCorner(int ordinal) {
+    return nextToCorner[ordinal];
+  }
+}
@@ -1,9 +1,7 @@
 package model;
 
 import java.util.List;
-import java.util.Arrays;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Represents a coordinate in a hexagonal grid using the cube coordinate system.
@@ -14,11 +12,14 @@ import java.util.stream.Collectors;
  * 'r' increases towards the southeast and decreases towards the northwest,
  * 's' increases towards the northeast and decreases towards the southwest.
  * This system facilitates efficient distance calculation and neighbor identification in a hexagonal layout.
+ * Coordinates on a board are normally shared through {@link CoordinateRegistry}, so each instance
+ * builds its neighbor list at most once.
  */
 public class CubeCoordinate implements Coordinate {
   private final int q;
   private final int r;
   private final int s;
+  private List<Coordinate> neighbors;
 
   protected static final CubeCoordinate[] DIRECTIONS = {
           new CubeCoordinate(+1, -1, 0), new CubeCoordinate(+1, 0, -1),
@@ -28,9 +29,14 @@ public class CubeCoordinate implements Coordinate {
 
   @Override
   public List<Coordinate> getNeighbors() {
-    return Arrays.stream(DIRECTIONS)
-            .map(this::add)
-            .collect(Collectors.toList());
+    if (neighbors == null) {
+      Coordinate[] found = new Coordinate[DIRECTIONS.length];
+      for (int i = 0; i < DIRECTIONS.length; i++) {
+        found[i] = add(DIRECTIONS[i]);
+      }
+      neighbors = List.of(found);
+    }
+    return neighbors;
   }
 
   @Override
@@ -54,7 +60,10 @@ public class CubeCoordinate implements Coordinate {
       throw new IllegalArgumentException("Cannot compare cube coordinate to non-cube coordinate");
     }
     CubeCoordinate otherCube = (CubeCoordinate) corner;
-    return this.getNeighbors().contains(otherCube);
+    int dq = Math.abs(this.q - otherCube.q);
+    int dr = Math.abs(this.r - otherCube.r);
+    int ds = Math.abs(this.s - otherCube.s);
+    return Math.max(dq, Math.max(dr, ds)) == 1;
   }
 
   public CubeCoordinate(int q, int r, int s) {
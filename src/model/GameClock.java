@@ -0,0 +1,110 @@
+package model;
+
+/**
+ * Keeps one player's time under a {@link TimeControl}, and shares it out between moves.
+ * The budget of a move is the remaining time divided by the moves still to play, which is
+ * known under moves-to-go and estimated from the empty cells otherwise, plus the increment
+ * that will come back after the move. A small reserve is always kept for the overhead of
+ * making the move.
+ */
+public final class GameClock {
+  // The share of the remaining time kept back for the overhead of committing a move
+  private static final long RESERVE_DIVISOR = 20;
+  // Never plan for fewer moves than this, so the last moves are not starved
+  private static final int MIN_MOVES_LEFT = 4;
+
+  private final TimeControl control;
+  private long remainingMillis;
+  private int movesInPeriod;
+  private int moves;
+
+  /**
+   * Constructs a clock with the full time of a time control.
+   *
+   * @param control The time control.
+   * @throws IllegalArgumentException If the time control is null.
+   */
+  public GameClock(TimeControl control) {
+    if (control == null) {
+      throw new IllegalArgumentException("Time control cannot be null");
+    }
+    this.control = control;
+    this.remainingMillis = control.getBaseMillis();
+  }
+
+  /**
+   * Gets the time to spend on the next move.
+   *
+   * @param emptyCount The number of empty cells left on the board.
+   * @return The budget of the move, in milliseconds, at least 1.
+   */
+  public synchronized long budgetMillis(int emptyCount) {
+    if (control.isPerMove()) {
+      return control.getBaseMillis();
+    }
+    long movesLeft;
+    if (control.getMovesToGo() > 0) {
+      movesLeft = control.getMovesToGo() - movesInPeriod;
+    } else {
+      // Each player fills about half of the empty cells
+      movesLeft = Math.max(MIN_MOVES_LEFT, (emptyCount + 1) / 2);
+    }
+    long usable = remainingMillis - remainingMillis / RESERVE_DIVISOR;
+    long budget = usable / movesLeft + control.getIncrementMillis();
+    return Math.max(1, Math.min(budget, usable));
+  }
+
+  /**
+   * Charges a move to the clock and credits the time the control gives back after it.
+   *
+   * @param elapsedMillis The time the move took, in milliseconds.
+   */
+  public synchronized void recordMove(long elapsedMillis) {
+    moves++;
+    if (control.isPerMove()) {
+      return;
+    }
+    remainingMillis -= elapsedMillis;
+    remainingMillis += control.getIncrementMillis();
+    if (control.getMovesToGo() > 0 && ++movesInPeriod == control.getMovesToGo()) {
+      movesInPeriod = 0;
+      remainingMillis += control.getBaseMillis();
+    }
+  }
+
+  /**
+   * Gets the time left for the game. Under a fixed time per move, this is the time per move.
+   *
+   * @return The remaining time, in milliseconds, negative if the player has run out.
+   */
+  public synchronized long getRemainingMillis() {
+    return remainingMillis;
+  }
+
+  /**
+   * Determines whether the player has run out of time.
+   *
+   * @return true if the remaining time is negative, false otherwise.
+   */
+  public synchronized boolean isFlagged() {
+    return remainingMillis < 0;
+  }
+
+  /**
+   * Gets the number of moves charged to the clock.
+   *
+   * @return The number of moves.
+   */
+  public synchronized int getMoves() {
+    return moves;
+  }
+
+  /**
+   * Gets the time control the clock keeps.
+   *
+   * @return The time control.
+   */
+  public TimeControl getControl() {
+    return control;
+  }
+}
@@ -0,0 +1,183 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Describes the shape of a hexagonal board of a given size.
+ * Every cell of the board is given a cell index, numbered row by row (ascending r, then
+ * ascending q), and for every cell the geometry lists the in-bounds cell indices met when walking
+ * from it in each of the six {@link CubeCoordinate#DIRECTIONS}. Walking those rays needs no
+ * coordinate arithmetic and no bounds checks.
+ * Geometries are immutable, built once per board size and shared by every game of that size.
+ */
+public final class HexGeometry {
+  /**
+   * The number of directions a ray can take on a hexagonal board.
+   */
+  public static final int DIRECTION_COUNT = 6;
+
+  private static final Map<Integer, HexGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+  private final int size;
+  private final int cellCount;
+  private final int[] rowStart;
+  private final int[] qs;
+  private final int[] rs;
+  private final int[][][] rays;
+
+  private HexGeometry(int size) {
+    this.size = size;
+    this.rowStart = new int[2 * size + 2];
+    for (int r = -size; r <= size; r++) {
+      rowStart[r + size + 1] = rowStart[r + size] + maxQ(r) - minQ(r) + 1;
+    }
+    this.cellCount = rowStart[2 * size + 1];
+    this.qs = new int[cellCount];
+    this.rs = new int[cellCount];
+    for (int r = -size; r <= size; r++) {
+      for (int q = minQ(r); q <= maxQ(r); q++) {
+        int cell = indexOf(q, r);
+        qs[cell] = q;
+        rs[cell] = r;
+      }
+    }
+
+    this.rays = new int[cellCount][DIRECTION_COUNT][];
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+        CubeCoordinate direction = CubeCoordinate.DIRECTIONS[dir];
+        int length = 0;
+        int q = qs[cell] + direction.getQ();
+        int r = rs[cell] + direction.getR();
+        while (contains(q, r)) {
+          length++;
+          q += direction.getQ();
+          r += direction.getR();
+        }
+        int[] ray = new int[length];
+        for (int i = 0; i < length; i++) {
+          ray[i] = indexOf(qs[cell] + (i + 1) * direction.getQ(), rs[cell] + (i + 1) * direction.getR());
+        }
+        rays[cell][dir] = ray;
+      }
+    }
+  }
+
+  /**
+   * Gets the shared geometry of a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @return The geometry of the board.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public static HexGeometry forSize(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    return GEOMETRIES.computeIfAbsent(size, HexGeometry::new);
+  }
+
+  private int minQ(int r) {
+    return Math.max(-size, -r - size);
+  }
+
+  private int maxQ(int r) {
+    return Math.min(size, -r + size);
+  }
+
+  /**
+   * Gets the size of the board.
+   *
+   * @return The size of the board.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the number of cells on the board.
+   *
+   * @return The number of cells on the board.
+   */
+  public int getCellCount() {
+    return cellCount;
+  }
+
+  /**
+   * Determines whether the given cube coordinates lie on the board.
+   *
+   * @param q Cube coordinate q-axis value.
+   * @param r Cube coordinate r-axis value.
+   * @return true if the cell is on the board, false otherwise.
+   */
+  public boolean contains(int q, int r) {
+    return Math.abs(q) <= size && Math.abs(r) <= size && Math.abs(-q - r) <= size;
+  }
+
+  /**
+   * Gets the cell index of the given cube coordinates.
+   *
+   * @param q Cube coordinate q-axis value.
+   * @param r Cube coordinate r-axis value.
+   * @return The cell index, or -1 if the coordinates are off the board.
+   */
+  public int indexOf(int q, int r) {
+    if (!contains(q, r)) {
+      return -1;
+    }
+    return rowStart[r + size] + q - minQ(r);
+  }
+
+  /**
+   * Gets the cell index of the given coordinate.
+   *
+   * @param coord The coordinate of the cell.
+   * @return The cell index, or -1 if the coordinate is off the board.
+   */
+  public int indexOf(Coordinate coord) {
+    return indexOf(coord.getQ(), coord.getR());
+  }
+
+  /**
+   * Gets the q-axis value of the given cell.
+   *
+   * @param cell The cell index.
+   * @return The q-axis value of the cell.
+   */
+  public int getQ(int cell) {
+    return qs[cell];
+  }
+
+  /**
+   * Gets the r-axis value of the given cell.
+   *
+   * @param cell The cell index.
+   * @return The r-axis value of the cell.
+   */
+  public int getR(int cell) {
+    return rs[cell];
+  }
+
+  /**
+   * Gets the s-axis value of the given cell.
+   *
+   * @param cell The cell index.
+   * @return The s-axis value of the cell.
+   */
+  public int getS(int cell) {
+    return -qs[cell] - rs[cell];
+  }
+
+  /**
+   * Gets the cells met when walking from a cell in one direction, nearest first.
+   * The returned array is shared and must not be modified.
+   *
+   * @param cell The cell index to walk from.
+   * @param dir  The index of the direction in {@link CubeCoordinate#DIRECTIONS}.
+   * @return The cell indices along the ray, excluding the starting cell.
+   */
+  public int[] ray(int cell, int dir) {
+    return rays[cell][dir];
+  }
+}
@@ -0,0 +1,237 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps positions on a hexagonal board of a given size to a canonical representative under the
+ * board's 12 symmetries (6 rotations, each with or without a reflection).
+ * Transform {@code t} reflects the board when {@code t >= 6} and then rotates it by
+ * {@code t % 6} sixth-turns. The canonical representative of a position is the transform of it
+ * with the smallest Zobrist hash, so equivalent positions share one hash in caches, opening books
+ * and position stores, and the transform used lets results be mapped back to the original board.
+ */
+public final class HexSymmetry {
+  /**
+   * The number of symmetries of a hexagonal board.
+   */
+  public static final int TRANSFORM_COUNT = 12;
+
+  /**
+   * The transform that leaves the board unchanged.
+   */
+  public static final int IDENTITY = 0;
+
+  private static final Map<Integer, HexSymmetry> SYMMETRIES = new ConcurrentHashMap<>();
+
+  private final CoordinateRegistry registry;
+  private final ZobristKeys keys;
+  private final int[][] cellMaps;
+
+  private HexSymmetry(int size) {
+    this.registry = CoordinateRegistry.forSize(size);
+    this.keys = ZobristKeys.forSize(size);
+    HexGeometry geometry = registry.getGeometry();
+    int cellCount = geometry.getCellCount();
+    this.cellMaps = new int[TRANSFORM_COUNT][cellCount];
+    for (int t = 0; t < TRANSFORM_COUNT; t++) {
+      for (int cell = 0; cell < cellCount; cell++) {
+        int q = geometry.getQ(cell);
+        int r = geometry.getR(cell);
+        int s = geometry.getS(cell);
+        if (t >= TRANSFORM_COUNT / 2) {
+          // Reflect across the q axis by swapping r and s
+          int swap = r;
+          r = s;
+          s = swap;
+        }
+        for (int turn = 0; turn < t % (TRANSFORM_COUNT / 2); turn++) {
+          // Rotate a sixth-turn: (q, r, s) -> (-r, -s, -q)
+          int oldQ = q;
+          q = -r;
+          r = -s;
+          s = -oldQ;
+        }
+        cellMaps[t][cell] = geometry.indexOf(q, r);
+      }
+    }
+  }
+
+  /**
+   * Gets the shared symmetries of a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @return The symmetries of the board.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public static HexSymmetry forSize(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    return SYMMETRIES.computeIfAbsent(size, HexSymmetry::new);
+  }
+
+  /**
+   * Maps a cell through a transform.
+   *
+   * @param transform The transform to apply.
+   * @param cell      The cell index.
+   * @return The cell index of the transformed cell.
+   */
+  public int transformCell(int transform, int cell) {
+    return cellMaps[transform][cell];
+  }
+
+  /**
+   * Maps a coordinate through a transform.
+   *
+   * @param transform The transform to apply.
+   * @param coord     The coordinate to transform.
+   * @return The canonical instance of the transformed coordinate.
+   */
+  public Coordinate transform(int transform, Coordinate coord) {
+    return registry.get(cellMaps[transform][registry.ordinal(coord)]);
+  }
+
+  /**
+   * Gets the transform that undoes the given one.
+   *
+   * @param transform The transform to invert.
+   * @return The inverse transform.
+   */
+  public int inverse(int transform) {
+    if (transform >= TRANSFORM_COUNT / 2) {
+      // Reflections are their own inverse
+      return transform;
+    }
+    return (TRANSFORM_COUNT / 2 - transform) % (TRANSFORM_COUNT / 2);
+  }
+
+  /**
+   * Canonicalizes the position of a model.
+   *
+   * @param model The position to canonicalize.
+   * @return The canonical hash of the position and the transform that produces it.
+   */
+  public CanonicalPosition canonicalize(ReadonlyReversiModel model) {
+    HexGeometry geometry = registry.getGeometry();
+    CellState[] cells = new CellState[geometry.getCellCount()];
+    for (int cell = 0; cell < cells.length; cell++) {
+      cells[cell] = model.getCellState(geometry.getQ(cell), geometry.getR(cell));
+    }
+    return canonicalize(cells, model.getCurrentPlayer());
+  }
+
+  /**
+   * Canonicalizes a position given as a map of coordinates to cell states.
+   * Coordinates missing from the map are treated as empty.
+   *
+   * @param board    The cells of the position.
+   * @param toMove   The player to move.
+   * @return The canonical hash of the position and the transform that produces it.
+   */
+  public CanonicalPosition canonicalize(Map<Coordinate, CellState> board, CellState toMove) {
+    CellState[] cells = new CellState[registry.getGeometry().getCellCount()];
+    for (Map.Entry<Coordinate, CellState> entry : board.entrySet()) {
+      cells[registry.ordinal(entry.getKey())] = entry.getValue();
+    }
+    return canonicalize(cells, toMove);
+  }
+
+  /**
+   * Canonicalizes a position packed as black and white bitsets indexed by cell index.
+   *
+   * @param black  The bitset of the black discs.
+   * @param white  The bitset of the white discs.
+   * @param toMove The player to move.
+   * @return The canonical hash of the position and the transform that produces it.
+   */
+  public CanonicalPosition canonicalize(long[] black, long[] white, CellState toMove) {
+    CellState[] cells = new CellState[registry.getGeometry().getCellCount()];
+    for (int cell = 0; cell < cells.length; cell++) {
+      if ((black[cell >>> 6] & (1L << cell)) != 0) {
+        cells[cell] = CellState.BLACK;
+      } else if ((white[cell >>> 6] & (1L << cell)) != 0) {
+        cells[cell] = CellState.WHITE;
+      }
+    }
+    return canonicalize(cells, toMove);
+  }
+
+  /**
+   * Canonicalizes a position packed as an array of cell states indexed by cell index.
+   * Null entries are treated as empty.
+   *
+   * @param cells  The cell states of the position.
+   * @param toMove The player to move.
+   * @return The canonical hash of the position and the transform that produces it.
+   */
+  public CanonicalPosition canonicalize(CellState[] cells, CellState toMove) {
+    long[] hashes = hashes(cells, toMove);
+    int best = IDENTITY;
+    for (int t = 1; t < TRANSFORM_COUNT; t++) {
+      if (Long.compareUnsigned(hashes[t], hashes[best]) < 0) {
+        best = t;
+      }
+    }
+    return new CanonicalPosition(this, hashes[best], best);
+  }
+
+  /**
+   * Finds the transforms that leave the position of a model unchanged.
+   *
+   * @param model The position to examine.
+   * @return A bitmask with bit {@code t} set if transform {@code t} leaves the position unchanged.
+   */
+  public int stabilizer(ReadonlyReversiModel model) {
+    HexGeometry geometry = registry.getGeometry();
+    CellState[] cells = new CellState[geometry.getCellCount()];
+    for (int cell = 0; cell < cells.length; cell++) {
+      cells[cell] = model.getCellState(geometry.getQ(cell), geometry.getR(cell));
+    }
+    long[] hashes = hashes(cells, model.getCurrentPlayer());
+    int mask = 0;
+    for (int t = 0; t < TRANSFORM_COUNT; t++) {
+      if (hashes[t] == hashes[IDENTITY]) {
+        mask |= 1 << t;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Gets the representative of a cell among the cells it is equivalent to under a set of
+   * transforms. Moves with the same representative lead to equivalent positions when the
+   * transforms are the stabilizer of the position, so a search only needs to try one of them.
+   *
+   * @param stabilizer A bitmask of transforms, as returned by {@link #stabilizer}.
+   * @param cell       The cell index.
+   * @return The smallest cell index the cell maps to under the transforms.
+   */
+  public int representative(int stabilizer, int cell) {
+    int best = cell;
+    for (int t = 0; t < TRANSFORM_COUNT; t++) {
+      if ((stabilizer & (1 << t)) != 0) {
+        best = Math.min(best, cellMaps[t][cell]);
+      }
+    }
+    return best;
+  }
+
+  private long[] hashes(CellState[] cells, CellState toMove) {
+    long[] hashes = new long[TRANSFORM_COUNT];
+    long side = keys.sideKey(toMove);
+    for (int t = 0; t < TRANSFORM_COUNT; t++) {
+      hashes[t] = side;
+    }
+    for (int cell = 0; cell < cells.length; cell++) {
+      CellState state = cells[cell];
+      if (state != null && state != CellState.EMPTY) {
+        for (int t = 0; t < TRANSFORM_COUNT; t++) {
+          hashes[t] ^= keys.cellKey(cellMaps[t][cell], state);
+        }
+      }
+    }
+    return hashes;
+  }
+}
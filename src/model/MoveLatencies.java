@@ -0,0 +1,97 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Records how long moves took against the budgets they were given, and reports percentiles.
+ * Percentiles use the nearest-rank method. Every method may be called from any thread.
+ */
+public final class MoveLatencies {
+  private long[] elapsed = new long[64];
+  private long[] budgets = new long[64];
+  private int count;
+  private int overBudget;
+
+  /**
+   * Records a move.
+   *
+   * @param elapsedMillis The time the move took, in milliseconds.
+   * @param budgetMillis  The time the move was given, in milliseconds.
+   */
+  public synchronized void record(long elapsedMillis, long budgetMillis) {
+    if (count == elapsed.length) {
+      elapsed = Arrays.copyOf(elapsed, 2 * count);
+      budgets = Arrays.copyOf(budgets, 2 * count);
+    }
+    elapsed[count] = elapsedMillis;
+    budgets[count] = budgetMillis;
+    count++;
+    if (elapsedMillis > budgetMillis) {
+      overBudget++;
+    }
+  }
+
+  /**
+   * Gets a percentile of the time moves took.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return The time, in milliseconds, or 0 if no move was recorded.
+   */
+  public synchronized long percentileMillis(double percentile) {
+    long[] sorted = Arrays.copyOf(elapsed, count);
+    Arrays.sort(sorted);
+    return rank(sorted, percentile);
+  }
+
+  /**
+   * Gets a percentile of the time moves took as a share of their budgets.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return The share in percent, above 100 for a move over its budget, or 0 if no move was
+   *         recorded.
+   */
+  public synchronized long percentileOfBudget(double percentile) {
+    long[] shares = new long[count];
+    for (int i = 0; i < count; i++) {
+      shares[i] = 100 * elapsed[i] / Math.max(1, budgets[i]);
+    }
+    Arrays.sort(shares);
+    return rank(shares, percentile);
+  }
+
+  private static long rank(long[] sorted, double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+
+  /**
+   * Gets the number of moves recorded.
+   *
+   * @return The number of moves.
+   */
+  public synchronized int getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of moves that took longer than their budget.
+   *
+   * @return The number of moves over budget.
+   */
+  public synchronized int getOverBudget() {
+    return overBudget;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format("moves=%d p50=%dms p90=%dms p99=%dms max=%dms p99/budget=%d%% over=%d",
+            count, percentileMillis(50), percentileMillis(90), percentileMillis(99),
+            percentileMillis(100), percentileOfBudget(99), overBudget);
+  }
+}
@@ -99,6 +99,31 @@ public interface ReadonlyReversiModel {
    */
   Map<CellState, Integer> getScores();
 
+  /**
+   * Retrieves the number of cells in the given state, without building a score map.
+   *
+   * @param state The cell state to count.
+   * @return The number of discs of the given color, or the number of empty cells for
+   *         {@link CellState#EMPTY}.
+   */
+  int getScore(CellState state);
+
+  /**
+   * Retrieves the number of empty cells left on the board.
+   *
+   * @return The number of empty cells.
+   */
+  int getEmptyCount();
+
+  /**
+   * Retrieves the 64-bit Zobrist hash of the current position, covering every cell's state and
+   * the player to move. Hashes are deterministic across runs, so they can be stored and compared
+   * between machines.
+   *
+   * @return The hash of the current position.
+   */
+  long getPositionHash();
+
   /**
    * Retrieves the current player's cell state.
    *
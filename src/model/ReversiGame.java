@@ -1,8 +1,9 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -11,11 +12,26 @@ import controller.ModelStatusListener;
 
 /**
  * Represents the game board for a hexagonal board game.
- * The board uses cube coordinates to manage cell positions.
+ * The board uses cube coordinates to manage cell positions, and stores the cell states in an
+ * array indexed by the cell indices of the board's {@link HexGeometry}.
+ * The game also keeps the frontier of empty cells next to occupied ones and the legal moves of
+ * both colors, which are updated after each move only along the rays touched by the move, and a
+ * Zobrist hash of the position built from the board's {@link ZobristKeys}.
  */
 public class ReversiGame implements ReversiModel {
   private final int size;
-  private final Map<Coordinate, CellState> board;
+  private final HexGeometry geometry;
+  private final CoordinateRegistry registry;
+  private final CellState[] cells;
+  private final ZobristKeys keys;
+  private long hash;
+  private final BitSet frontier;
+  private final BitSet blackMoves;
+  private final BitSet whiteMoves;
+  private int blackCount;
+  private int whiteCount;
+  private int emptyCount;
+  private boolean gameOver;
   private CellState currentPlayer;
   private int currentPlayerIndex;
   private List<ReversiPlayer> players;
@@ -40,25 +56,27 @@ public class ReversiGame implements ReversiModel {
     this.players = new ArrayList<>();
     this.currentPlayer = CellState.BLACK;
     this.size = size;
-    this.board = new HashMap<>();
+    this.registry = CoordinateRegistry.forSize(size);
+    this.geometry = registry.getGeometry();
+    this.cells = new CellState[geometry.getCellCount()];
+    this.keys = ZobristKeys.forSize(size);
 
     // Initialize with default state
-    for (int i = -size; i <= size; i++) {
-      for (int j = -size; j <= size; j++) {
-        int z = -i - j;
-        if (Math.abs(i) <= size && Math.abs(j) <= size && Math.abs(z) <= size) {
-          board.put(new CubeCoordinate(i, j, z), CellState.EMPTY);
-        }
-      }
-    }
+    Arrays.fill(cells, CellState.EMPTY);
 
     // Initialize the center cells
-    board.put(new CubeCoordinate(0, -1, 1), CellState.BLACK);
-    board.put(new CubeCoordinate(1, -1, 0), CellState.WHITE);
-    board.put(new CubeCoordinate(-1, 0, 1), CellState.WHITE);
-    board.put(new CubeCoordinate(-1, 1, 0), CellState.BLACK);
-    board.put(new CubeCoordinate(0, 1, -1), CellState.WHITE);
-    board.put(new CubeCoordinate(1, 0, -1), CellState.BLACK);
+    cells[geometry.indexOf(0, -1)] = CellState.BLACK;
+    cells[geometry.indexOf(1, -1)] = CellState.WHITE;
+    cells[geometry.indexOf(-1, 0)] = CellState.WHITE;
+    cells[geometry.indexOf(-1, 1)] = CellState.BLACK;
+    cells[geometry.indexOf(0, 1)] = CellState.WHITE;
+    cells[geometry.indexOf(1, 0)] = CellState.BLACK;
+
+    this.frontier = new BitSet(cells.length);
+    this.blackMoves = new BitSet(cells.length);
+    this.whiteMoves = new BitSet(cells.length);
+    rebuildMoves();
+    recount();
   }
 
 
@@ -76,7 +94,7 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public void startGame() {
-    currentPlayer = CellState.BLACK;
+    setCurrentPlayer(CellState.BLACK);
     currentPlayerIndex = 0;
     notifyPlayerTurn();
   }
@@ -95,15 +113,19 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public Map<Coordinate, CellState> getBoard() {
-    return new HashMap<>(board);
+    Map<Coordinate, CellState> board = new HashMap<>();
+    for (int cell = 0; cell < cells.length; cell++) {
+      board.put(registry.get(cell), cells[cell]);
+    }
+    return board;
   }
 
   @Override
   public Map<Coordinate, CellState> getNonEmptyBoard() {
     Map<Coordinate, CellState> nonEmptyBoard = new HashMap<>();
-    for (Map.Entry<Coordinate, CellState> entry : board.entrySet()) {
-      if (entry.getValue() != CellState.EMPTY) {
-        nonEmptyBoard.put(entry.getKey(), entry.getValue());
+    for (int cell = 0; cell < cells.length; cell++) {
+      if (cells[cell] != CellState.EMPTY) {
+        nonEmptyBoard.put(registry.get(cell), cells[cell]);
       }
     }
     return nonEmptyBoard;
@@ -116,20 +138,135 @@ public class ReversiGame implements ReversiModel {
    */
   public ReversiGame(ReversiModel other) {
     this.size = other.getSize();
-    this.board = new HashMap<>();
+    this.registry = CoordinateRegistry.forSize(size);
+    this.geometry = registry.getGeometry();
+    this.keys = ZobristKeys.forSize(size);
     this.currentPlayer = other.getCurrentPlayer();
     if (other instanceof ReversiGame) {
-      this.board.putAll(((ReversiGame) other).board);
+      ReversiGame game = (ReversiGame) other;
+      this.cells = game.cells.clone();
+      this.frontier = (BitSet) game.frontier.clone();
+      this.blackMoves = (BitSet) game.blackMoves.clone();
+      this.whiteMoves = (BitSet) game.whiteMoves.clone();
+      this.blackCount = game.blackCount;
+      this.whiteCount = game.whiteCount;
+      this.emptyCount = game.emptyCount;
+      this.gameOver = game.gameOver;
+      this.hash = game.hash;
     } else {
-      for (int i = -size; i <= size; i++) {
-        for (int j = -size; j <= size; j++) {
-          int z = -i - j;
-          if (Math.abs(i) <= size && Math.abs(j) <= size && Math.abs(z) <= size) {
-            this.board.put(new CubeCoordinate(i, j, z), other.getCellState(i, j));
+      this.cells = new CellState[geometry.getCellCount()];
+      for (int cell = 0; cell < cells.length; cell++) {
+        cells[cell] = other.getCellState(geometry.getQ(cell), geometry.getR(cell));
+      }
+      this.frontier = new BitSet(cells.length);
+      this.blackMoves = new BitSet(cells.length);
+      this.whiteMoves = new BitSet(cells.length);
+      rebuildMoves();
+      recount();
+    }
+  }
+
+  /**
+   * Recomputes the disc counts, the game-over status and the hash from scratch.
+   */
+  private void recount() {
+    blackCount = 0;
+    whiteCount = 0;
+    emptyCount = 0;
+    hash = keys.sideKey(currentPlayer);
+    for (int cell = 0; cell < cells.length; cell++) {
+      adjustCount(cells[cell], 1);
+      hash ^= keys.cellKey(cell, cells[cell]);
+    }
+    updateGameOver();
+  }
+
+  private void adjustCount(CellState state, int delta) {
+    switch (state) {
+      case BLACK:
+        blackCount += delta;
+        break;
+      case WHITE:
+        whiteCount += delta;
+        break;
+      default:
+        emptyCount += delta;
+    }
+  }
+
+  private void updateGameOver() {
+    gameOver = emptyCount == 0 || blackMoves.isEmpty() && whiteMoves.isEmpty();
+  }
+
+  /**
+   * Recomputes the frontier and the legal moves of both colors from scratch.
+   */
+  private void rebuildMoves() {
+    frontier.clear();
+    for (int cell = 0; cell < cells.length; cell++) {
+      if (cells[cell] != CellState.EMPTY) {
+        for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+          int[] ray = geometry.ray(cell, dir);
+          if (ray.length > 0 && cells[ray[0]] == CellState.EMPTY) {
+            frontier.set(ray[0]);
           }
         }
       }
     }
+    for (int cell = frontier.nextSetBit(0); cell >= 0; cell = frontier.nextSetBit(cell + 1)) {
+      refreshMoves(cell);
+    }
+  }
+
+  /**
+   * Recomputes whether each color can legally play at the given empty cell.
+   *
+   * @param cell The cell index of an empty frontier cell.
+   */
+  private void refreshMoves(int cell) {
+    blackMoves.set(cell, canCapture(cell, CellState.BLACK));
+    whiteMoves.set(cell, canCapture(cell, CellState.WHITE));
+  }
+
+  /**
+   * Updates the frontier and legal moves after a cell changed color.
+   * An empty cell can only gain or lose a capture through a changed cell if the run of occupied
+   * cells between them is unbroken, so only the first empty cell of each ray is recomputed.
+   *
+   * @param changed The cell index of a cell that was placed or flipped.
+   */
+  private void refreshAround(int changed) {
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      for (int cell : geometry.ray(changed, dir)) {
+        if (cells[cell] == CellState.EMPTY) {
+          refreshFrontier(cell);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Recomputes whether an empty cell belongs to the frontier, and its legal moves if it does.
+   *
+   * @param cell The cell index of an empty cell.
+   */
+  private void refreshFrontier(int cell) {
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      int[] ray = geometry.ray(cell, dir);
+      if (ray.length > 0 && cells[ray[0]] != CellState.EMPTY) {
+        frontier.set(cell);
+        refreshMoves(cell);
+        return;
+      }
+    }
+    frontier.clear(cell);
+    blackMoves.clear(cell);
+    whiteMoves.clear(cell);
+  }
+
+  private BitSet movesOf(CellState player) {
+    return player == CellState.BLACK ? blackMoves : whiteMoves;
   }
 
 
@@ -139,13 +276,15 @@ public class ReversiGame implements ReversiModel {
     }
   }
 
-  private void checkCoord(Coordinate coord) {
+  private int checkCoord(Coordinate coord) {
     if (coord == null) {
       throw new IllegalArgumentException("Coordinate cannot be null");
     }
-    if (!board.containsKey(coord)) {
+    int cell = geometry.indexOf(coord);
+    if (cell < 0) {
       throw new IllegalArgumentException("Coordinate out of bounds");
     }
+    return cell;
   }
 
   private void checkState(CellState state) {
@@ -157,45 +296,28 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public Set<Coordinate> getCorners() {
-    Set<Coordinate> corners = new HashSet<>();
-
-    corners.add(new CubeCoordinate(-size, size, 0));
-    corners.add(new CubeCoordinate(0, size, -size));
-    corners.add(new CubeCoordinate(size, 0, -size));
-    corners.add(new CubeCoordinate(size, -size, 0));
-    corners.add(new CubeCoordinate(0, -size, size));
-    corners.add(new CubeCoordinate(-size, 0, size));
-
-    return corners;
+    return registry.getCorners();
   }
 
 
   /**
    * Flips the captured pieces after a player makes a move.
    *
-   * @param start     The starting coordinate of the move.
-   * @param direction The direction to check for capturing.
-   * @param player    The current player's cell state.
+   * @param start   The cell index of the move.
+   * @param dir     The index of the direction to check for capturing.
+   * @param player  The current player's cell state.
+   * @param flipped The array receiving the cell indices of the flipped pieces.
+   * @param offset  The position in the array to write the first flipped piece to.
+   * @return The number of pieces flipped in this direction.
    */
-  private void flipCaptured(Coordinate start, Coordinate direction, CellState player) {
-    checkCoord(start);
-    checkCoord(direction);
-    checkState(player);
-    List<Coordinate> toFlip = new ArrayList<>();
-    Coordinate coord = start.add(direction);
-    while (board.containsKey(coord)) {
-      if (board.get(coord) == opposite(player)) {
-        toFlip.add(coord);
-      } else if (board.get(coord) == player) {
-        for (Coordinate flipCoord : toFlip) {
-          board.put(flipCoord, player);
-        }
-        return;
-      } else {
-        break;
-      }
-      coord = coord.add(direction);
+  private int flipCaptured(int start, int dir, CellState player, int[] flipped, int offset) {
+    int[] ray = geometry.ray(start, dir);
+    int captures = capturesInDirection(ray, player);
+    for (int i = 0; i < captures; i++) {
+      setCellState(ray[i], player);
+      flipped[offset + i] = ray[i];
     }
+    return captures;
   }
 
   @Override
@@ -205,62 +327,59 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public CellState getCellState(Coordinate coord) {
-    checkCoord(coord);
-    return board.get(coord);
+    return cells[checkCoord(coord)];
   }
 
   @Override
   public CellState getCellState(int q, int r) {
     checkQAndR(q, r);
-    Coordinate coord = new CubeCoordinate(q, r, -q - r);
-    return getCellState(coord);
+    return cells[geometry.indexOf(q, r)];
   }
 
-  private void setCellState(Coordinate coord, CellState state) {
-    checkCoord(coord);
+  private void setCellState(int cell, CellState state) {
     checkState(state);
-    board.put(coord, state);
+    adjustCount(cells[cell], -1);
+    adjustCount(state, 1);
+    hash ^= keys.cellKey(cell, cells[cell]) ^ keys.cellKey(cell, state);
+    cells[cell] = state;
+  }
+
+  private void setCurrentPlayer(CellState player) {
+    hash ^= keys.sideKey(currentPlayer) ^ keys.sideKey(player);
+    currentPlayer = player;
   }
 
   private void nextPlayer() {
-    currentPlayer = opposite(currentPlayer);
+    setCurrentPlayer(opposite(currentPlayer));
+  }
+
+  @Override
+  public long getPositionHash() {
+    return hash;
   }
 
   @Override
   public List<Coordinate> getLegalMoves(CellState player) {
     checkState(player);
-    List<Coordinate> legalMoves = new ArrayList<>();
-    for (Map.Entry<Coordinate, CellState> entry : board.entrySet()) {
-      if (entry.getValue() == CellState.EMPTY && canCapture(entry.getKey(), player)) {
-        legalMoves.add(entry.getKey());
-      }
+    BitSet moves = movesOf(player);
+    List<Coordinate> legalMoves = new ArrayList<>(moves.cardinality());
+    for (int cell = moves.nextSetBit(0); cell >= 0; cell = moves.nextSetBit(cell + 1)) {
+      legalMoves.add(registry.get(cell));
     }
     return legalMoves;
   }
 
   /**
-   * Checks if a move at a given coordinate can capture any opposing pieces.
+   * Checks if a move at a given cell can capture any opposing pieces.
    *
-   * @param coord  The coordinate of the cell.
+   * @param cell   The cell index of the move.
    * @param player The current player's cell state.
    * @return true if the move can capture, false otherwise.
    */
-  private boolean canCapture(Coordinate coord, CellState player) {
-    checkCoord(coord);
-    checkState(player);
-    for (Coordinate neighbor : coord.getNeighbors()) {
-      if (board.get(neighbor) == opposite(player)) {
-        Coordinate direction = neighbor.subtract(coord);
-        Coordinate checkCoord = neighbor.add(direction);
-        while (board.containsKey(checkCoord)) {
-          if (board.get(checkCoord) == player) {
-            return true;
-          }
-          if (board.get(checkCoord) == CellState.EMPTY) {
-            break;
-          }
-          checkCoord = checkCoord.add(direction);
-        }
+  private boolean canCapture(int cell, CellState player) {
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      if (capturesInDirection(geometry.ray(cell, dir), player) > 0) {
+        return true;
       }
     }
     return false;
@@ -269,15 +388,27 @@ public class ReversiGame implements ReversiModel {
   @Override
   public Map<CellState, Integer> getScores() {
     Map<CellState, Integer> scores = new HashMap<>();
-    scores.put(CellState.BLACK, 0);
-    scores.put(CellState.WHITE, 0);
+    scores.put(CellState.BLACK, blackCount);
+    scores.put(CellState.WHITE, whiteCount);
+    return scores;
+  }
 
-    for (CellState state : board.values()) {
-      if (state != CellState.EMPTY) {
-        scores.put(state, scores.get(state) + 1);
-      }
+  @Override
+  public int getScore(CellState state) {
+    checkState(state);
+    switch (state) {
+      case BLACK:
+        return blackCount;
+      case WHITE:
+        return whiteCount;
+      default:
+        return emptyCount;
     }
-    return scores;
+  }
+
+  @Override
+  public int getEmptyCount() {
+    return emptyCount;
   }
 
   @Override
@@ -299,53 +430,35 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public int calculateCaptures(Coordinate move, CellState player) {
+    int cell = checkCoord(move);
     int totalCaptures = 0;
 
-    // Directions in a cube coordinate system
-    Coordinate[] directions = {
-            new CubeCoordinate(1, -1, 0),
-            new CubeCoordinate(1, 0, -1),
-            new CubeCoordinate(0, 1, -1),
-            new CubeCoordinate(-1, 1, 0),
-            new CubeCoordinate(-1, 0, 1),
-            new CubeCoordinate(0, -1, 1)
-    };
-
-    for (Coordinate direction : directions) {
-      totalCaptures += capturesInDirection(move, direction, player);
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      totalCaptures += capturesInDirection(geometry.ray(cell, dir), player);
     }
 
     return totalCaptures;
   }
 
-  private int capturesInDirection(Coordinate start, Coordinate direction, CellState player) {
-    int captures = 0;
-    Coordinate current = start;
-    boolean hasOpponentPieces = false;
-
-    while (true) {
-      current = new CubeCoordinate(
-              current.getQ() + direction.getQ(),
-              current.getR() + direction.getR(),
-              current.getS() + direction.getS()
-      );
-      // if current is out of bounds, continue to next direction
-      if (!board.containsKey(current)) {
+  /**
+   * Counts the opposing pieces captured along a ray walked away from a move.
+   *
+   * @param ray    The cell indices along the direction, nearest first.
+   * @param player The current player's cell state.
+   * @return The number of pieces captured along the ray.
+   */
+  private int capturesInDirection(int[] ray, CellState player) {
+    for (int i = 0; i < ray.length; i++) {
+      CellState currentState = cells[ray[i]];
+      if (currentState == CellState.EMPTY) {
         return 0;
-      }
-
-      CellState currentState = getCellState(current);
-
-      if (currentState == CellState.EMPTY || currentState == null) {
-        return 0; // Empty cell or out of bounds
-      } else if (currentState != player) {
-        hasOpponentPieces = true;
-        captures++;
-      } else {
+      } else if (currentState == player) {
         // We reached a cell of the current player
-        return hasOpponentPieces ? captures : 0;
+        return i;
       }
     }
+    // The ray left the board before reaching a cell of the current player
+    return 0;
   }
 
   private boolean isUpperLeft(Coordinate move1, Coordinate move2) {
@@ -357,7 +470,7 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public boolean hasLegalMoves() {
-    return !getLegalMoves(currentPlayer).isEmpty();
+    return !movesOf(currentPlayer).isEmpty();
   }
 
   @Override
@@ -368,7 +481,12 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public void makeMove(Coordinate coord, CellState player) {
-    checkCoord(coord);
+    applyMove(coord, player);
+  }
+
+  @Override
+  public UndoRecord applyMove(Coordinate coord, CellState player) {
+    int cell = checkCoord(coord);
     checkState(player);
     if (isGameOver()) {
       throw new IllegalStateException("Game is over");
@@ -376,17 +494,54 @@ public class ReversiGame implements ReversiModel {
     if (currentPlayer != player) {
       throw new IllegalArgumentException("It's not the current player's turn");
     }
-    if (board.get(coord) != CellState.EMPTY || !canCapture(coord, player)) {
+    if (!movesOf(player).get(cell)) {
       throw new IllegalArgumentException("Illegal move");
     }
-    setCellState(coord, player);
-
-    for (Coordinate direction : CubeCoordinate.DIRECTIONS) {
-      flipCaptured(coord, direction, player);
+    int[] flipped = new int[calculateCaptures(coord, player)];
+    setCellState(cell, player);
+    frontier.clear(cell);
+    blackMoves.clear(cell);
+    whiteMoves.clear(cell);
+
+    int flipCount = 0;
+    for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+      flipCount += flipCaptured(cell, dir, player, flipped, flipCount);
+    }
+    for (int flip : flipped) {
+      refreshAround(flip);
     }
+    refreshAround(cell);
+    updateGameOver();
 
     // After a successful move, switch players and check for legal moves
     pass();
+    return new UndoRecord(cell, flipped, player);
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record == null) {
+      throw new IllegalArgumentException("Record cannot be null");
+    }
+    int cell = record.getCell();
+    CellState player = record.getPlayer();
+    if (cells[cell] != player) {
+      throw new IllegalStateException("Record does not match the last move");
+    }
+    CellState opponent = opposite(player);
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      setCellState(record.getFlipped(i), opponent);
+    }
+    setCellState(cell, CellState.EMPTY);
+
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      refreshAround(record.getFlipped(i));
+    }
+    refreshAround(cell);
+    refreshFrontier(cell);
+    // A move can only have been made while the game was still going
+    gameOver = false;
+    setCurrentPlayer(player);
   }
 
   @Override
@@ -401,11 +556,7 @@ public class ReversiGame implements ReversiModel {
 
   @Override
   public boolean isGameOver() {
-    boolean blackHasMoves = !getLegalMoves(CellState.BLACK).isEmpty();
-    boolean whiteHasMoves = !getLegalMoves(CellState.WHITE).isEmpty();
-    boolean allCellsFilled = board.values().stream().noneMatch(state -> state == CellState.EMPTY);
-
-    return !blackHasMoves && !whiteHasMoves || allCellsFilled;
+    return gameOver;
   }
 
   @Override
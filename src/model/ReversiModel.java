@@ -37,6 +37,27 @@ public interface ReversiModel extends ReadonlyReversiModel {
    */
   void makeMove(Coordinate coord, CellState player);
 
+  /**
+   * Makes a move exactly like {@link #makeMove}, and returns a record that can take it back.
+   * Searches use this to explore positions in place instead of copying the game per move.
+   *
+   * @param coord  The coordinate where the move is made.
+   * @param player The current player's cell state.
+   * @return The record of the move, to be passed to {@link #undoMove}.
+   * @throws IllegalArgumentException If the move is illegal.
+   */
+  UndoRecord applyMove(Coordinate coord, CellState player);
+
+  /**
+   * Takes back the most recent move made with {@link #applyMove}, restoring the board, the
+   * current player and every cached count exactly. Moves must be undone in reverse order.
+   *
+   * @param record The record returned when the move was made.
+   * @throws IllegalArgumentException If the record is null.
+   * @throws IllegalStateException    If the record does not match the board.
+   */
+  void undoMove(UndoRecord record);
+
   /**
    * Passes the turn to the next player.
    */
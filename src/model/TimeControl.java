@@ -0,0 +1,127 @@
+package model;
+
+/**
+ * The time a player is allowed for a game: a fixed time per move, a time for the whole game
+ * with an increment after each move, or a time for a number of moves that is given again once
+ * they have been played. Time controls are immutable and are kept by a {@link GameClock}.
+ */
+public final class TimeControl {
+  private final long baseMillis;
+  private final long incrementMillis;
+  private final int movesToGo;
+  private final boolean perMove;
+
+  private TimeControl(long baseMillis, long incrementMillis, int movesToGo, boolean perMove) {
+    if (baseMillis <= 0) {
+      throw new IllegalArgumentException("Time must be positive");
+    }
+    if (incrementMillis < 0) {
+      throw new IllegalArgumentException("Increment cannot be negative");
+    }
+    this.baseMillis = baseMillis;
+    this.incrementMillis = incrementMillis;
+    this.movesToGo = movesToGo;
+    this.perMove = perMove;
+  }
+
+  /**
+   * Creates a time control that allows the same time for every move.
+   *
+   * @param moveMillis The time for each move, in milliseconds.
+   * @return The time control.
+   * @throws IllegalArgumentException If the time is not positive.
+   */
+  public static TimeControl fixed(long moveMillis) {
+    return new TimeControl(moveMillis, 0, 0, true);
+  }
+
+  /**
+   * Creates a time control with a time for the game and an increment added after each move.
+   *
+   * @param baseMillis      The time for the game, in milliseconds.
+   * @param incrementMillis The time added after each move, in milliseconds.
+   * @return The time control.
+   * @throws IllegalArgumentException If the time is not positive or the increment is negative.
+   */
+  public static TimeControl increment(long baseMillis, long incrementMillis) {
+    return new TimeControl(baseMillis, incrementMillis, 0, false);
+  }
+
+  /**
+   * Creates a time control with a time for a number of moves, given again once they are played.
+   *
+   * @param baseMillis The time for the moves, in milliseconds.
+   * @param moves      The number of moves the time is for.
+   * @return The time control.
+   * @throws IllegalArgumentException If the time or number of moves is not positive.
+   */
+  public static TimeControl movesToGo(long baseMillis, int moves) {
+    if (moves <= 0) {
+      throw new IllegalArgumentException("Moves must be positive");
+    }
+    return new TimeControl(baseMillis, 0, moves, false);
+  }
+
+  /**
+   * Parses a time control written as {@code fixed:<moveMillis>},
+   * {@code increment:<baseMillis>+<incrementMillis>} or {@code movestogo:<baseMillis>/<moves>}.
+   *
+   * @param spec The written time control.
+   * @return The time control.
+   * @throws IllegalArgumentException If the time control is not in one of those forms.
+   */
+  public static TimeControl parse(String spec) {
+    String[] parts = spec.split(":", 2);
+    try {
+      if (parts.length == 2) {
+        switch (parts[0].toLowerCase()) {
+          case "fixed":
+            return fixed(Long.parseLong(parts[1]));
+          case "increment": {
+            String[] times = parts[1].split("\\+", 2);
+            return increment(Long.parseLong(times[0]),
+                    times.length > 1 ? Long.parseLong(times[1]) : 0);
+          }
+          case "movestogo": {
+            String[] times = parts[1].split("/", 2);
+            if (times.length == 2) {
+              return movesToGo(Long.parseLong(times[0]), Integer.parseInt(times[1]));
+            }
+            break;
+          }
+          default:
+            break;
+        }
+      }
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid time control: " + spec, e);
+    }
+    throw new IllegalArgumentException("Invalid time control: " + spec);
+  }
+
+  long getBaseMillis() {
+    return baseMillis;
+  }
+
+  long getIncrementMillis() {
+    return incrementMillis;
+  }
+
+  int getMovesToGo() {
+    return movesToGo;
+  }
+
+  boolean isPerMove() {
+    return perMove;
+  }
+
+  @Override
+  public String toString() {
+    if (perMove) {
+      return "fixed:" + baseMillis;
+    } else if (movesToGo > 0) {
+      return "movestogo:" + baseMillis + "/" + movesToGo;
+    }
+    return "increment:" + baseMillis + "+" + incrementMillis;
+  }
+}
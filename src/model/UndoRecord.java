@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * Records a move made through {@link ReversiModel#applyMove} so that it can be taken back with
+ * {@link ReversiModel#undoMove}.
+ * The record only holds the cell index of the placed disc, the cell indices of the flipped discs
+ * and the color that moved; everything else a model caches is restored from those.
+ */
+public final class UndoRecord {
+  private final int cell;
+  private final int[] flipped;
+  private final CellState player;
+
+  UndoRecord(int cell, int[] flipped, CellState player) {
+    this.cell = cell;
+    this.flipped = flipped;
+    this.player = player;
+  }
+
+  /**
+   * Gets the cell index of the placed disc.
+   *
+   * @return The cell index of the move.
+   */
+  public int getCell() {
+    return cell;
+  }
+
+  /**
+   * Gets the number of discs flipped by the move.
+   *
+   * @return The number of flipped discs.
+   */
+  public int getFlipCount() {
+    return flipped.length;
+  }
+
+  /**
+   * Gets the cell index of one of the flipped discs.
+   *
+   * @param i The position of the flipped disc in the record.
+   * @return The cell index of the flipped disc.
+   */
+  public int getFlipped(int i) {
+    return flipped[i];
+  }
+
+  /**
+   * Gets the color that made the move.
+   *
+   * @return The moving player's cell state.
+   */
+  public CellState getPlayer() {
+    return player;
+  }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the Zobrist keys used to hash positions on a hexagonal board of a given size.
+ * A position's hash is the XOR of the key of every occupied cell for its color, plus the side key
+ * when white is to move, so a model can update it incrementally as discs are placed and flipped.
+ * The keys come from a fixed-seed SplitMix64 sequence, so hashes are identical on every JVM and
+ * machine and can be stored in files.
+ */
+public final class ZobristKeys {
+  private static final long SEED = 0x5EED_4E5E_7A11_0001L;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final Map<Integer, ZobristKeys> KEYS = new ConcurrentHashMap<>();
+
+  private final long[] cellKeys;
+  private final long sideKey;
+
+  private ZobristKeys(int size) {
+    int cellCount = HexGeometry.forSize(size).getCellCount();
+    long state = SEED + size * GOLDEN_GAMMA;
+    this.cellKeys = new long[cellCount * 2];
+    for (int i = 0; i < cellKeys.length; i++) {
+      state += GOLDEN_GAMMA;
+      cellKeys[i] = mix(state);
+    }
+    state += GOLDEN_GAMMA;
+    this.sideKey = mix(state);
+  }
+
+  /**
+   * Gets the shared keys of a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @return The keys of the board.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public static ZobristKeys forSize(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    return KEYS.computeIfAbsent(size, ZobristKeys::new);
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Gets the key of a cell holding the given state.
+   *
+   * @param cell  The cell index.
+   * @param state The state of the cell.
+   * @return The key of the cell, which is 0 for an empty cell.
+   */
+  public long cellKey(int cell, CellState state) {
+    switch (state) {
+      case BLACK:
+        return cellKeys[cell * 2];
+      case WHITE:
+        return cellKeys[cell * 2 + 1];
+      default:
+        return 0L;
+    }
+  }
+
+  /**
+   * Gets the key of the side to move.
+   *
+   * @param player The player to move.
+   * @return The side key when white is to move, 0 when black is to move.
+   */
+  public long sideKey(CellState player) {
+    return player == CellState.WHITE ? sideKey : 0L;
+  }
+
+  /**
+   * Computes the hash of a position from scratch.
+   *
+   * @param model The position to hash.
+   * @return The hash of the position.
+   */
+  public long hash(ReadonlyReversiModel model) {
+    HexGeometry geometry = HexGeometry.forSize(model.getSize());
+    long hash = sideKey(model.getCurrentPlayer());
+    for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+      hash ^= cellKey(cell, model.getCellState(geometry.getQ(cell), geometry.getR(cell)));
+    }
+    return hash;
+  }
+}
@@ -1,43 +1,124 @@
 package reversi;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
 import controller.ReversiController;
 import controller.ReversiGUIController;
+import model.BitboardReversiGame;
 import model.CellState;
 import model.ComputerReversiPlayer;
 import model.HumanReversiPlayer;
 import model.ReversiGame;
 import model.ReversiModel;
 import model.ReversiPlayer;
+import model.TimeControl;
+import strategy.BookStrategy;
+import strategy.CachingStrategy;
+import strategy.EndgameSwitchStrategy;
+import strategy.OpeningBook;
+import strategy.PatternWeights;
 import strategy.ReversiStrategy;
+import strategy.StrategyCache;
+import strategy.Tablebase;
+import strategy.TablebaseStrategy;
 import view.ReversiPanel;
 
 public final class Reversi {
-  public static void main(String[] args) {
+  private static final String ENGINE_OPTION = "--engine=";
+  private static final String BOOK_OPTION = "--book=";
+  private static final String TABLEBASE_OPTION = "--tablebase=";
+  private static final String CACHE_OPTION = "--cache=";
+  private static final String TIME_OPTION = "--time=";
+  private static final String WEIGHTS_OPTION = "--weights=";
+
+  public static void main(String[] args) throws IOException {
     String defaultStrategy = "CompositeStrategy";
     String defaultPlayer1Type = "computer";
+    String engine = "default";
+    OpeningBook book = null;
+    Tablebase tablebase = null;
+    StrategyCache cache = null;
+    TimeControl timeControl = null;
+    PatternWeights weights = null;
+    while (args.length > 0 && args[0].startsWith("--")) {
+      if (args[0].startsWith(ENGINE_OPTION)) {
+        engine = args[0].substring(ENGINE_OPTION.length());
+      } else if (args[0].startsWith(BOOK_OPTION)) {
+        book = OpeningBook.open(Paths.get(args[0].substring(BOOK_OPTION.length())));
+      } else if (args[0].startsWith(TABLEBASE_OPTION)) {
+        tablebase = Tablebase.open(Paths.get(args[0].substring(TABLEBASE_OPTION.length())));
+      } else if (args[0].startsWith(CACHE_OPTION)) {
+        int entries = Integer.parseInt(args[0].substring(CACHE_OPTION.length()));
+        cache = new StrategyCache(entries, StrategyCache.DEFAULT_MAX_WEIGHT);
+      } else if (args[0].startsWith(TIME_OPTION)) {
+        timeControl = TimeControl.parse(args[0].substring(TIME_OPTION.length()));
+      } else if (args[0].startsWith(WEIGHTS_OPTION)) {
+        weights = PatternWeights.read(Paths.get(args[0].substring(WEIGHTS_OPTION.length())));
+      } else {
+        throw new IllegalArgumentException("Invalid option: " + args[0]);
+      }
+      args = Arrays.copyOfRange(args, 1, args.length);
+    }
     if (args.length < 2) {
       args = new String[] {defaultPlayer1Type, defaultStrategy};
     } else if (args.length < 4) {
       args = new String[] {args[0], args[1], defaultPlayer1Type, defaultStrategy};
     } else if (args.length > 4) {
-      throw new IllegalArgumentException("Usage: Reversi <player1Type> <player1Strategy> <player2Type> <player2Strategy>");
+      throw new IllegalArgumentException("Usage: Reversi [--engine=default|bitboard] [--book=<file>] [--tablebase=<file>] [--cache=<entries>] [--time=fixed:<ms>|increment:<ms>+<ms>|movestogo:<ms>/<moves>] [--weights=<file>] <player1Type> <player1Strategy> <player2Type> <player2Strategy>");
     }
 
-    ReversiModel model = new ReversiGame(3);
+    ReversiModel model = createModel(engine, 3);
     ReversiPanel viewPlayer1 = new ReversiPanel(model);
     ReversiPanel viewPlayer2 = new ReversiPanel(model);
-    ReversiPlayer player1 = createPlayer(args[0], args.length > 1 ? args[1] : null, model);
-    ReversiPlayer player2 = createPlayer(args.length > 2 ? args[2] : "human", args.length > 3 ? args[3] : null, model);
-    ReversiController controller1 = new ReversiGUIController(model, player1, viewPlayer1);
-    ReversiController controller2 = new ReversiGUIController(model, player2, viewPlayer2);
+    ReversiPlayer player1 = createPlayer(args[0], args.length > 1 ? args[1] : null, model, timeControl, weights);
+    ReversiPlayer player2 = createPlayer(args.length > 2 ? args[2] : "human", args.length > 3 ? args[3] : null, model, timeControl, weights);
+    // Computer turns, and pondering during human turns, use the computer player's strategy
+    String computerStrategy = args[0].equalsIgnoreCase("computer") ? args[1]
+            : args.length > 3 && args[2].equalsIgnoreCase("computer") ? args[3] : defaultStrategy;
+    OpeningBook openingBook = book;
+    Tablebase endgameTable = tablebase;
+    PatternWeights patternWeights = weights;
+    // Both controllers, and their ponderers, share one cache of evaluated positions
+    StrategyCache strategyCache = cache;
+    Supplier<ReversiStrategy> strategies = () -> {
+      // Solve the end of the game exactly, as the computer player does
+      ReversiStrategy strategy = new EndgameSwitchStrategy(
+              ComputerReversiPlayer.createStrategy(computerStrategy, patternWeights));
+      if (strategyCache != null) {
+        strategy = new CachingStrategy(strategy, strategyCache);
+      }
+      if (openingBook != null) {
+        strategy = new BookStrategy(openingBook, strategy);
+      }
+      if (endgameTable != null) {
+        strategy = new TablebaseStrategy(endgameTable, strategy);
+      }
+      return strategy;
+    };
+    ReversiController controller1 = new ReversiGUIController(model, player1, viewPlayer1, strategies);
+    ReversiController controller2 = new ReversiGUIController(model, player2, viewPlayer2, strategies);
     model.startGame();
   }
 
-  private static ReversiPlayer createPlayer(String playerType, String strategyName, ReversiModel model) {
+  private static ReversiModel createModel(String engine, int size) {
+    if (engine.equalsIgnoreCase("default")) {
+      return new ReversiGame(size);
+    } else if (engine.equalsIgnoreCase("bitboard")) {
+      return new BitboardReversiGame(size);
+    } else {
+      throw new IllegalArgumentException("Invalid engine: " + engine);
+    }
+  }
+
+  private static ReversiPlayer createPlayer(String playerType, String strategyName, ReversiModel model,
+                                            TimeControl timeControl, PatternWeights weights) {
     if (playerType.equalsIgnoreCase("human")) {
       return new HumanReversiPlayer(model);
     } else if (playerType.equalsIgnoreCase("computer")) {
-      return new ComputerReversiPlayer(model, strategyName);
+      return new ComputerReversiPlayer(model, strategyName, weights, timeControl);
     } else {
       throw new IllegalArgumentException("Invalid player type: " + playerType);
     }
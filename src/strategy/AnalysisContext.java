@@ -0,0 +1,133 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReadonlyReversiModel;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * The analysis of one turn, shared by every strategy that evaluates it.
+ * A context computes the player's legal moves, the captures of each move, whether a move is on
+ * or next to a corner and the board each move leads to the first time a strategy asks, and then
+ * hands the same answer to every other strategy. A {@link CompositeStrategy} builds one context
+ * per turn and passes it to each of its strategies through
+ * {@link ReversiStrategy#evaluateMoves(AnalysisContext)}.
+ * A context may be used by several threads at once, as long as none of them changes the model;
+ * a value two threads compute at the same time is simply computed twice.
+ */
+public final class AnalysisContext {
+  private static final int UNKNOWN = -1;
+
+  private final ReversiModel model;
+  private final CellState player;
+  private final CoordinateRegistry registry;
+  private final List<Coordinate> legalMoves;
+  private final int[] captures;
+  private final boolean[] corners;
+  private final Map<Integer, ReadonlyReversiModel> children = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs the context of a turn.
+   *
+   * @param model  The game, which must not change while the context is in use.
+   * @param player The player to move.
+   */
+  public AnalysisContext(ReversiModel model, CellState player) {
+    this.model = model;
+    this.player = player;
+    this.registry = CoordinateRegistry.forSize(model.getSize());
+    this.legalMoves = Collections.unmodifiableList(model.getLegalMoves(player));
+    int cellCount = registry.getGeometry().getCellCount();
+    this.captures = new int[cellCount];
+    Arrays.fill(captures, UNKNOWN);
+    this.corners = new boolean[cellCount];
+    for (Coordinate corner : registry.getCorners()) {
+      corners[registry.ordinal(corner)] = true;
+    }
+  }
+
+  /**
+   * Gets the game being analyzed.
+   *
+   * @return The game.
+   */
+  public ReversiModel getModel() {
+    return model;
+  }
+
+  /**
+   * Gets the player to move.
+   *
+   * @return The player's cell state.
+   */
+  public CellState getPlayer() {
+    return player;
+  }
+
+  /**
+   * Gets the legal moves of the player to move.
+   *
+   * @return An unmodifiable list of the legal moves.
+   */
+  public List<Coordinate> getLegalMoves() {
+    return legalMoves;
+  }
+
+  /**
+   * Gets the number of discs a move captures.
+   *
+   * @param move The move.
+   * @return The number of discs the move flips.
+   */
+  public int getCaptures(Coordinate move) {
+    int cell = registry.ordinal(move);
+    int count = captures[cell];
+    if (count == UNKNOWN) {
+      count = model.calculateCaptures(move, player);
+      captures[cell] = count;
+    }
+    return count;
+  }
+
+  /**
+   * Determines whether a move is on a corner.
+   *
+   * @param move The move.
+   * @return true if the move is a corner, false otherwise.
+   */
+  public boolean isCorner(Coordinate move) {
+    return corners[registry.ordinal(move)];
+  }
+
+  /**
+   * Determines whether a move is next to a corner.
+   *
+   * @param move The move.
+   * @return true if the move is adjacent to a corner, false otherwise.
+   */
+  public boolean isNextToCorner(Coordinate move) {
+    return registry.isNextToCorner(registry.ordinal(move));
+  }
+
+  /**
+   * Gets the board a legal move leads to. The board is shared, so it must not be changed.
+   *
+   * @param move The move.
+   * @return The game after the player makes the move.
+   */
+  public ReadonlyReversiModel getChild(Coordinate move) {
+    return children.computeIfAbsent(registry.ordinal(move), cell -> {
+      ReversiModel child = new ReversiGame(model);
+      child.makeMove(move, player);
+      return child;
+    });
+  }
+}
@@ -0,0 +1,45 @@
+package strategy;
+
+import java.util.Collections;
+import java.util.List;
+
+import model.Coordinate;
+
+/**
+ * One of the best moves found by a {@link MultiPvAnalyzer}: the move and its exact score, the
+ * principal variation expected to follow it, and the depth it was searched to.
+ */
+public final class AnalysisLine extends MoveOption {
+  private final List<Coordinate> principalVariation;
+  private final int depth;
+
+  AnalysisLine(List<Coordinate> principalVariation, int score, int depth) {
+    super(principalVariation.get(0), score);
+    this.principalVariation = Collections.unmodifiableList(principalVariation);
+    this.depth = depth;
+  }
+
+  /**
+   * Gets the moves expected to be played from the position, starting with this line's move.
+   * The line may be shorter than the depth where the search kept no record of the best reply.
+   *
+   * @return The principal variation, alternating players except where one has to pass.
+   */
+  public List<Coordinate> getPrincipalVariation() {
+    return principalVariation;
+  }
+
+  /**
+   * Gets the depth the move was searched to.
+   *
+   * @return The depth, counting the move itself.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  @Override
+  public String toString() {
+    return "depth " + depth + " score " + getScore() + " " + principalVariation;
+  }
+}
@@ -0,0 +1,18 @@
+package strategy;
+
+import java.util.List;
+
+/**
+ * Receives the lines of a {@link MultiPvAnalyzer} as each depth of its search completes, so
+ * they can be shown while the analysis is still running. It is called on the analyzing thread.
+ */
+@FunctionalInterface
+public interface AnalysisListener {
+  /**
+   * Receives the best lines found at a depth.
+   *
+   * @param depth The depth just completed.
+   * @param lines The best lines at that depth, best first.
+   */
+  void onDepthCompleted(int depth, List<AnalysisLine> lines);
+}
@@ -2,32 +2,39 @@ package strategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 import model.CellState;
 import model.Coordinate;
+import model.CoordinateRegistry;
 import model.ReversiModel;
 
 public class AvoidGivingCornersStrategy implements ReversiStrategy {
   @Override
   public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
-    Set<Coordinate> corners = model.getCorners();
+    return evaluateMoves(new AnalysisContext(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
     List<MoveOption> moveOptions = new ArrayList<>();
-    for (Coordinate move : model.getLegalMoves(player)) {
-      if (!isNextToCorner(move, corners)) {
-        int captures = model.calculateCaptures(move, player);
+    for (Coordinate move : context.getLegalMoves()) {
+      if (!context.isNextToCorner(move)) {
+        int captures = context.getCaptures(move);
         moveOptions.add(new MoveOption(move, captures));
       }
     }
     return moveOptions;
   }
 
-  private boolean isNextToCorner(Coordinate move, Set<Coordinate> corners) {
-    for (Coordinate corner : corners) {
-      if (move.isAdjacentTo(corner)) {
-        return true;
+  @Override
+  public boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(context.getModel().getSize());
+    for (Coordinate move : context.getLegalMoves()) {
+      if (!context.isNextToCorner(move)
+              && !sink.accept(registry.ordinal(move), context.getCaptures(move))) {
+        return false;
       }
     }
-    return false;
+    return true;
   }
 }
@@ -0,0 +1,48 @@
+package strategy;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A position found in an {@link OpeningBook}: the book's moves for it, best first, with their
+ * search scores, and the results of the self-play games that passed through it.
+ */
+public final class BookEntry {
+  private final List<MoveOption> moves;
+  private final int games;
+  private final int points;
+
+  BookEntry(List<MoveOption> moves, int games, int points) {
+    this.moves = Collections.unmodifiableList(moves);
+    this.games = games;
+    this.points = points;
+  }
+
+  /**
+   * Gets the book moves of the position, best first, in the coordinates of the position looked up.
+   *
+   * @return The moves with their search scores.
+   */
+  public List<MoveOption> getMoves() {
+    return moves;
+  }
+
+  /**
+   * Gets the number of self-play games that reached the position.
+   *
+   * @return The number of games.
+   */
+  public int getGames() {
+    return games;
+  }
+
+  /**
+   * Gets the result of those games for the player to move, in half points: 2 for each win and
+   * 1 for each draw.
+   *
+   * @return The number of half points.
+   */
+  public int getPoints() {
+    return points;
+  }
+}
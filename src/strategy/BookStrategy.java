@@ -0,0 +1,74 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiModel;
+
+/**
+ * A strategy that plays from an {@link OpeningBook} while the game is in it, and hands every other
+ * position to a fallback strategy. Book moves are checked against the legal moves of the position,
+ * so a book built with different rules can never make an illegal move.
+ */
+public class BookStrategy implements ReversiStrategy {
+  private final OpeningBook book;
+  private final ReversiStrategy fallback;
+  private int hits;
+  private int misses;
+
+  /**
+   * Constructs a book strategy.
+   *
+   * @param book     The opening book to play from.
+   * @param fallback The strategy for positions not in the book.
+   * @throws IllegalArgumentException If the book or fallback is null.
+   */
+  public BookStrategy(OpeningBook book, ReversiStrategy fallback) {
+    if (book == null || fallback == null) {
+      throw new IllegalArgumentException("Book and fallback cannot be null");
+    }
+    this.book = book;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    // The book only knows positions with the model's current player to move
+    BookEntry entry = player == model.getCurrentPlayer() ? book.lookup(model) : null;
+    if (entry != null) {
+      List<Coordinate> legalMoves = model.getLegalMoves(player);
+      List<MoveOption> moveOptions = new ArrayList<>();
+      for (MoveOption option : entry.getMoves()) {
+        if (legalMoves.contains(option.getMove())) {
+          moveOptions.add(option);
+        }
+      }
+      if (!moveOptions.isEmpty()) {
+        hits++;
+        return moveOptions;
+      }
+    }
+    misses++;
+    return fallback.evaluateMoves(model, player);
+  }
+
+  /**
+   * Gets the number of moves played from the book.
+   *
+   * @return The number of book hits.
+   */
+  public int getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of moves handed to the fallback strategy.
+   *
+   * @return The number of book misses.
+   */
+  public int getMisses() {
+    return misses;
+  }
+}
@@ -0,0 +1,109 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CanonicalPosition;
+import model.CellState;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReadonlyReversiModel;
+import model.ReversiModel;
+
+/**
+ * A strategy that remembers the moves another strategy evaluated, in a {@link StrategyCache}
+ * that may be shared with other caching strategies, across turns and games.
+ * Positions are identified by their canonical hash, so a position is also answered when any of
+ * its symmetric variants was evaluated before, with the moves mapped onto its own board. A
+ * repeated position is answered from the cache without asking the strategy or computing legal
+ * moves; only the cells of the board are read to canonicalize it. The moves and scores are
+ * returned in the order the strategy first returned them.
+ */
+public class CachingStrategy implements ReversiStrategy {
+  private final ReversiStrategy strategy;
+  private final StrategyCache cache;
+
+  /**
+   * Constructs a caching strategy with a cache of its own.
+   *
+   * @param strategy The strategy to cache the results of.
+   * @throws IllegalArgumentException If the strategy is null.
+   */
+  public CachingStrategy(ReversiStrategy strategy) {
+    this(strategy, new StrategyCache());
+  }
+
+  /**
+   * Constructs a caching strategy with a shared cache. Strategies sharing the cache should wrap
+   * the same kind of strategy, as they answer from each other's results.
+   *
+   * @param strategy The strategy to cache the results of.
+   * @param cache    The cache to use.
+   * @throws IllegalArgumentException If the strategy or cache is null.
+   */
+  public CachingStrategy(ReversiStrategy strategy, StrategyCache cache) {
+    if (strategy == null || cache == null) {
+      throw new IllegalArgumentException("Strategy and cache cannot be null");
+    }
+    this.strategy = strategy;
+    this.cache = cache;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    CanonicalPosition canonical = HexSymmetry.forSize(model.getSize()).canonicalize(model);
+    List<MoveOption> cached = lookup(model, player, canonical);
+    if (cached != null) {
+      return cached;
+    }
+    return store(model, player, canonical, strategy.evaluateMoves(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
+    ReversiModel model = context.getModel();
+    CanonicalPosition canonical = HexSymmetry.forSize(model.getSize()).canonicalize(model);
+    List<MoveOption> cached = lookup(model, context.getPlayer(), canonical);
+    if (cached != null) {
+      return cached;
+    }
+    return store(model, context.getPlayer(), canonical, strategy.evaluateMoves(context));
+  }
+
+  private List<MoveOption> lookup(ReadonlyReversiModel model, CellState player,
+                                  CanonicalPosition canonical) {
+    StrategyCache.Moves moves = cache.get(canonical.getHash(), model.getSize(), player);
+    if (moves == null) {
+      return null;
+    }
+    CoordinateRegistry registry = CoordinateRegistry.forSize(model.getSize());
+    List<MoveOption> moveOptions = new ArrayList<>();
+    for (int i = 0; i < moves.cells.length; i++) {
+      moveOptions.add(new MoveOption(registry.get(canonical.fromCanonical(moves.cells[i])),
+              moves.scores[i]));
+    }
+    return moveOptions;
+  }
+
+  private List<MoveOption> store(ReadonlyReversiModel model, CellState player,
+                                 CanonicalPosition canonical, List<MoveOption> moveOptions) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(model.getSize());
+    int[] cells = new int[moveOptions.size()];
+    int[] scores = new int[moveOptions.size()];
+    for (int i = 0; i < cells.length; i++) {
+      cells[i] = canonical.toCanonical(registry.ordinal(moveOptions.get(i).getMove()));
+      scores[i] = moveOptions.get(i).getScore();
+    }
+    cache.put(canonical.getHash(), model.getSize(), player, new StrategyCache.Moves(cells, scores));
+    return moveOptions;
+  }
+
+  /**
+   * Gets the cache the strategy uses.
+   *
+   * @return The cache.
+   */
+  public StrategyCache getCache() {
+    return cache;
+  }
+}
@@ -5,16 +5,33 @@ import java.util.List;
 
 import model.CellState;
 import model.Coordinate;
+import model.CoordinateRegistry;
 import model.ReversiModel;
 
 public class CaptureMaxPiecesStrategy implements ReversiStrategy{
   @Override
   public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(new AnalysisContext(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
     List<MoveOption> options = new ArrayList<>();
-    for (Coordinate move : model.getLegalMoves(player)) {
-      int captures = model.calculateCaptures(move, player);
+    for (Coordinate move : context.getLegalMoves()) {
+      int captures = context.getCaptures(move);
       options.add(new MoveOption(move, captures));
     }
     return options;
   }
+
+  @Override
+  public boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(context.getModel().getSize());
+    for (Coordinate move : context.getLegalMoves()) {
+      if (!sink.accept(registry.ordinal(move), context.getCaptures(move))) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -7,25 +7,132 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 import model.CellState;
+import model.CoordinateRegistry;
 import model.ReversiModel;
 
+/**
+ * A strategy that pools the moves of several strategies. The strategies share one
+ * {@link AnalysisContext} per turn, so legal moves, captures and child boards are computed once
+ * however many strategies ask for them. A move scored by several strategies is reported once,
+ * with its best score.
+ */
 public class CompositeStrategy implements ReversiStrategy {
   private List<ReversiStrategy> strategies;
+  private final boolean parallel;
 
   public CompositeStrategy(ReversiStrategy... strategies) {
+    this(false, strategies);
+  }
+
+  private CompositeStrategy(boolean parallel, ReversiStrategy... strategies) {
     this.strategies = Arrays.asList(strategies);
+    this.parallel = parallel;
+  }
+
+  /**
+   * Creates a composite strategy that runs its strategies at the same time, on the common
+   * fork/join pool. The strategies must not share state that is unsafe to use from several
+   * threads; the shared analysis context is safe.
+   *
+   * @param strategies The strategies to pool.
+   * @return The composite strategy.
+   */
+  public static CompositeStrategy parallel(ReversiStrategy... strategies) {
+    return new CompositeStrategy(true, strategies);
   }
 
   @Override
   public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(new AnalysisContext(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
+    // Collecting in order keeps the result the same whether or not the strategies run in parallel
+    List<List<MoveOption>> results = (parallel ? strategies.parallelStream() : strategies.stream())
+            .map(strategy -> strategy.evaluateMoves(context))
+            .collect(Collectors.toList());
+    BestPerCell best = new BestPerCell(context, null);
+    for (List<MoveOption> result : results) {
+      best.addAll(result);
+    }
     List<MoveOption> options = new ArrayList<>();
+    CoordinateRegistry registry = best.registry;
+    for (int i = 0; i < best.count; i++) {
+      int cell = best.order[i];
+      options.add(new MoveOption(registry.get(cell), best.scores[cell]));
+    }
+    // Best first, unlike the original ascending order: callers now take get(0) as the best move
+    options.sort(Comparator.comparingInt(MoveOption::getScore).reversed());
+    return options;
+  }
+
+  @Override
+  public boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    if (parallel) {
+      // A sink is only fed from one thread, so parallel strategies report through lists
+      return ReversiStrategy.super.streamMoves(context, sink);
+    }
+    BestPerCell best = new BestPerCell(context, sink);
     for (ReversiStrategy strategy : strategies) {
-      options.addAll(strategy.evaluateMoves(model, player));
+      if (!strategy.streamMoves(context, best)) {
+        return false;
+      }
+    }
+    return best.drainTo(sink);
+  }
+
+  /**
+   * Collects the moves of several strategies, keeping each cell once with its best score, in
+   * the order the cells were first reported. An unbeatable move cannot improve, so it is passed
+   * straight on to the sink, which may stop the search there.
+   */
+  private static final class BestPerCell implements MoveSink {
+    private final CoordinateRegistry registry;
+    private final MoveSink sink;
+    private final int[] scores;
+    private final boolean[] seen;
+    private final int[] order;
+    private int count;
+
+    BestPerCell(AnalysisContext context, MoveSink sink) {
+      this.registry = CoordinateRegistry.forSize(context.getModel().getSize());
+      this.sink = sink;
+      int cellCount = registry.getGeometry().getCellCount();
+      this.scores = new int[cellCount];
+      this.seen = new boolean[cellCount];
+      this.order = new int[cellCount];
+    }
+
+    @Override
+    public boolean accept(int cell, int score) {
+      if (!seen[cell]) {
+        seen[cell] = true;
+        scores[cell] = score;
+        order[count++] = cell;
+      } else if (score > scores[cell]) {
+        scores[cell] = score;
+      } else {
+        return true;
+      }
+      return score != UNBEATABLE || sink == null || sink.accept(cell, score);
+    }
+
+    void addAll(List<MoveOption> options) {
+      for (MoveOption option : options) {
+        accept(registry.ordinal(option.getMove()), option.getScore());
+      }
+    }
+
+    boolean drainTo(MoveSink sink) {
+      for (int i = 0; i < count; i++) {
+        int cell = order[i];
+        // Unbeatable moves were passed on as they arrived
+        if (scores[cell] != UNBEATABLE && !sink.accept(cell, scores[cell])) {
+          return false;
+        }
+      }
+      return true;
     }
-    // Remove duplicates and sort by score
-    return options.stream()
-            .distinct()
-            .sorted(Comparator.comparingInt(MoveOption::getScore))
-            .collect(Collectors.toList());
   }
 }
@@ -0,0 +1,372 @@
+package strategy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.HexGeometry;
+import model.ReadonlyReversiModel;
+
+/**
+ * Solves the end of a game exactly, returning the final disc difference under perfect play.
+ * The solver copies the position into a compact board of its own and searches with alpha-beta.
+ * Move generation walks a linked list of the empty cells rather than the whole board. The
+ * position with one empty cell left is scored directly without making the move. Moves are
+ * ordered by parity: the board is split into seven regions, the six around the corners and the
+ * center cell, and moves in regions with an odd number of empty cells are tried first, as
+ * whoever fills such a region last usually gains from it.
+ * A solver keeps its board between calls, so each thread needs its own. A solver given a
+ * deadline gives up once it passes or another thread raises its stop flag, after which the
+ * result must be discarded.
+ */
+public class EndgameSolver {
+  private static final int EMPTY = 0;
+  private static final int INFINITY = Integer.MAX_VALUE;
+  private static final long CHECK_INTERVAL = 1023;
+  // The corners lie in these directions from the center, size cells away
+  private static final int[][] CORNER_DIRECTIONS = {
+      {1, -1, 0}, {1, 0, -1}, {0, 1, -1}, {-1, 1, 0}, {-1, 0, 1}, {0, -1, 1}
+  };
+
+  private final HexGeometry geometry;
+  private final int[][][] rays;
+  private final int[] region;
+  private final int head;
+  private final int[] board;
+  private final int[] next;
+  private final int[] prev;
+  private final int[] flipStack;
+  private final int[] discs = new int[3];
+  private int flipTop;
+  private int emptyCount;
+  private int parity;
+  private long nodes;
+  private long nanos;
+  private boolean timed;
+  private long deadline;
+  private AtomicBoolean stop;
+  private boolean aborted;
+
+  /**
+   * Constructs a solver for a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public EndgameSolver(int size) {
+    this.geometry = HexGeometry.forSize(size);
+    int cellCount = geometry.getCellCount();
+    this.rays = new int[cellCount][HexGeometry.DIRECTION_COUNT][];
+    this.region = new int[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+        rays[cell][dir] = geometry.ray(cell, dir);
+      }
+      region[cell] = regionOf(cell);
+    }
+    this.head = cellCount;
+    this.board = new int[cellCount];
+    this.next = new int[cellCount + 1];
+    this.prev = new int[cellCount + 1];
+    // Every disc can be flipped at most once per ply
+    this.flipStack = new int[cellCount * cellCount];
+  }
+
+  // The corner a cell lies closest to, with the center as a region of its own
+  private int regionOf(int cell) {
+    int q = geometry.getQ(cell);
+    int r = geometry.getR(cell);
+    int s = geometry.getS(cell);
+    if (q == 0 && r == 0) {
+      return HexGeometry.DIRECTION_COUNT;
+    }
+    int best = 0;
+    int bestDot = Integer.MIN_VALUE;
+    for (int i = 0; i < CORNER_DIRECTIONS.length; i++) {
+      int[] corner = CORNER_DIRECTIONS[i];
+      int dot = q * corner[0] + r * corner[1] + s * corner[2];
+      if (dot > bestDot) {
+        best = i;
+        bestDot = dot;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Solves the position of a model for the given player, as if that player were to move.
+   *
+   * @param model  The position to solve.
+   * @param player The player to move.
+   * @return The final disc difference for the player under perfect play by both sides.
+   */
+  public int solve(ReadonlyReversiModel model, CellState player) {
+    return solve(model, player, -INFINITY, INFINITY);
+  }
+
+  /**
+   * Solves the position of a model for the given player within a window. A result at or below
+   * alpha is an upper bound, and a result at or above beta is a lower bound.
+   *
+   * @param model  The position to solve.
+   * @param player The player to move.
+   * @param alpha  The lower bound of the window.
+   * @param beta   The upper bound of the window.
+   * @return The final disc difference for the player, exact if it lies within the window.
+   */
+  public int solve(ReadonlyReversiModel model, CellState player, int alpha, int beta) {
+    long start = System.nanoTime();
+    load(model);
+    int score = search(color(player), alpha, beta, false);
+    nanos += System.nanoTime() - start;
+    return score;
+  }
+
+  /**
+   * Solves the position after the given player makes a move.
+   *
+   * @param model  The position before the move.
+   * @param player The player making the move.
+   * @param cell   The cell index of the move.
+   * @param alpha  The lower bound of the window.
+   * @param beta   The upper bound of the window.
+   * @return The final disc difference for the player, exact if it lies within the window.
+   * @throws IllegalArgumentException If the move is not legal.
+   */
+  public int solveMove(ReadonlyReversiModel model, CellState player, int cell, int alpha,
+                       int beta) {
+    long start = System.nanoTime();
+    load(model);
+    int color = color(player);
+    if (board[cell] != EMPTY) {
+      throw new IllegalArgumentException("Illegal move");
+    }
+    int flips = play(cell, color);
+    if (flips == 0) {
+      throw new IllegalArgumentException("Illegal move");
+    }
+    int score = -search(3 - color, -beta, -alpha, false);
+    nanos += System.nanoTime() - start;
+    return score;
+  }
+
+  private void load(ReadonlyReversiModel model) {
+    aborted = false;
+    discs[1] = 0;
+    discs[2] = 0;
+    emptyCount = 0;
+    parity = 0;
+    flipTop = 0;
+    next[head] = head;
+    prev[head] = head;
+    for (int cell = 0; cell < board.length; cell++) {
+      CellState state = model.getCellState(geometry.getQ(cell), geometry.getR(cell));
+      board[cell] = state == CellState.EMPTY ? EMPTY : color(state);
+      discs[board[cell]]++;
+      if (board[cell] == EMPTY) {
+        // Append to the empty list
+        next[cell] = head;
+        prev[cell] = prev[head];
+        next[prev[head]] = cell;
+        prev[head] = cell;
+        emptyCount++;
+        parity ^= 1 << region[cell];
+      }
+    }
+  }
+
+  private int search(int color, int alpha, int beta, boolean passed) {
+    nodes++;
+    if (timed && (nodes & CHECK_INTERVAL) == 0
+            && (stop.get() || System.nanoTime() - deadline >= 0)) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+    int opponent = 3 - color;
+    if (emptyCount == 1) {
+      return lastEmpty(color, opponent);
+    }
+    int best = -INFINITY;
+    boolean moved = false;
+    // Try moves in odd regions first, then the rest
+    for (int odd = 1; odd >= 0; odd--) {
+      for (int cell = next[head]; cell != head; cell = next[cell]) {
+        if ((parity >>> region[cell] & 1) != odd) {
+          continue;
+        }
+        int flips = play(cell, color);
+        if (flips == 0) {
+          continue;
+        }
+        moved = true;
+        int score = -search(opponent, -beta, -alpha, false);
+        undo(cell, color, flips);
+        if (score > best) {
+          best = score;
+          if (best > alpha) {
+            alpha = best;
+            if (alpha >= beta) {
+              return best;
+            }
+          }
+        }
+      }
+    }
+    if (!moved) {
+      if (passed || emptyCount == 0) {
+        return discs[color] - discs[opponent];
+      }
+      return -search(opponent, -beta, -alpha, true);
+    }
+    return best;
+  }
+
+  // Scores the last empty cell without playing it
+  private int lastEmpty(int color, int opponent) {
+    int cell = next[head];
+    int difference = discs[color] - discs[opponent];
+    int flips = countFlips(cell, color);
+    if (flips > 0) {
+      return difference + 2 * flips + 1;
+    }
+    flips = countFlips(cell, opponent);
+    if (flips > 0) {
+      return difference - 2 * flips - 1;
+    }
+    return difference;
+  }
+
+  private int countFlips(int cell, int color) {
+    int flips = 0;
+    for (int[] ray : rays[cell]) {
+      int run = 0;
+      while (run < ray.length && board[ray[run]] == 3 - color) {
+        run++;
+      }
+      if (run > 0 && run < ray.length && board[ray[run]] == color) {
+        flips += run;
+      }
+    }
+    return flips;
+  }
+
+  // Makes a move and returns the number of discs flipped, or 0 without changes if it is illegal
+  private int play(int cell, int color) {
+    int flips = 0;
+    for (int[] ray : rays[cell]) {
+      int run = 0;
+      while (run < ray.length && board[ray[run]] == 3 - color) {
+        run++;
+      }
+      if (run > 0 && run < ray.length && board[ray[run]] == color) {
+        for (int i = 0; i < run; i++) {
+          board[ray[i]] = color;
+          flipStack[flipTop++] = ray[i];
+        }
+        flips += run;
+      }
+    }
+    if (flips > 0) {
+      board[cell] = color;
+      discs[color] += flips + 1;
+      discs[3 - color] -= flips;
+      // Unlink the cell; it keeps its own links so undo can restore it in place
+      next[prev[cell]] = next[cell];
+      prev[next[cell]] = prev[cell];
+      emptyCount--;
+      parity ^= 1 << region[cell];
+    }
+    return flips;
+  }
+
+  private void undo(int cell, int color, int flips) {
+    for (int i = 0; i < flips; i++) {
+      board[flipStack[--flipTop]] = 3 - color;
+    }
+    board[cell] = EMPTY;
+    discs[color] -= flips + 1;
+    discs[3 - color] += flips;
+    next[prev[cell]] = cell;
+    prev[next[cell]] = cell;
+    emptyCount++;
+    parity ^= 1 << region[cell];
+  }
+
+  private static int color(CellState player) {
+    return player == CellState.BLACK ? 1 : 2;
+  }
+
+  /**
+   * Gets the size of the board the solver solves.
+   *
+   * @return The size of the board.
+   */
+  public int getSize() {
+    return geometry.getSize();
+  }
+
+  /**
+   * Gets the number of positions solved since the solver was created or last reset.
+   *
+   * @return The number of nodes solved.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Gets the solving speed since the solver was created or last reset.
+   *
+   * @return The number of nodes solved per second, or 0 if nothing was solved.
+   */
+  public long getNodesPerSecond() {
+    return nanos == 0 ? 0 : (long) (nodes * 1e9 / nanos);
+  }
+
+  /**
+   * Sets the time at which solving gives up. It applies to every later solve until cleared.
+   *
+   * @param deadline The {@link System#nanoTime()} value at which solving gives up.
+   */
+  public void setDeadline(long deadline) {
+    setDeadline(deadline, new AtomicBoolean());
+  }
+
+  /**
+   * Sets the time at which solving gives up, and a flag that makes it give up sooner when
+   * raised. Both apply to every later solve until cleared.
+   *
+   * @param deadline The {@link System#nanoTime()} value at which solving gives up.
+   * @param stop     The flag that makes solving give up when raised.
+   */
+  public void setDeadline(long deadline, AtomicBoolean stop) {
+    this.deadline = deadline;
+    this.stop = stop;
+    this.timed = true;
+  }
+
+  /**
+   * Lets later solves run for as long as they take.
+   */
+  public void clearDeadline() {
+    timed = false;
+  }
+
+  /**
+   * Determines whether the last solve gave up at the deadline.
+   *
+   * @return true if the last result must be discarded, false otherwise.
+   */
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  /**
+   * Resets the node and time counters.
+   */
+  public void resetStatistics() {
+    nodes = 0;
+    nanos = 0;
+  }
+}
@@ -0,0 +1,143 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReadonlyReversiModel;
+import model.ReversiModel;
+
+/**
+ * A strategy that plays the end of the game perfectly with an {@link EndgameSolver}.
+ * Each move is scored with the final disc difference it leads to; the best move's score is
+ * exact, and the others are upper bounds. Solving takes time exponential in the number of empty
+ * cells, so the strategy should only be used once few are left, as reported by
+ * {@link #appliesTo}. Given a time budget, it returns only the moves it solved in time, which
+ * may be none.
+ */
+public class EndgameStrategy implements TimedStrategy {
+  /**
+   * The number of empty cells at or below which the default constructor's strategy applies.
+   */
+  public static final int DEFAULT_THRESHOLD = 12;
+
+  private final int threshold;
+  private EndgameSolver solver;
+  private volatile long lastNodes;
+  private volatile long lastNodesPerSecond;
+
+  /**
+   * Constructs an endgame strategy that applies from {@link #DEFAULT_THRESHOLD} empty cells.
+   */
+  public EndgameStrategy() {
+    this(DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs an endgame strategy that applies from the given number of empty cells.
+   *
+   * @param threshold The number of empty cells at or below which the game is solved.
+   * @throws IllegalArgumentException If the threshold is negative.
+   */
+  public EndgameStrategy(int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Threshold cannot be negative");
+    }
+    this.threshold = threshold;
+  }
+
+  /**
+   * Determines whether a game has few enough empty cells left to be solved.
+   *
+   * @param model The game to check.
+   * @return true if the number of empty cells is at most the threshold, false otherwise.
+   */
+  public boolean appliesTo(ReadonlyReversiModel model) {
+    return model.getEmptyCount() <= threshold;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return solveMoves(model, player, 0, null);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                        AtomicBoolean stop) {
+    if (moveMillis <= 0) {
+      throw new IllegalArgumentException("Time budget must be positive");
+    }
+    return solveMoves(model, player, moveMillis, stop);
+  }
+
+  // Solves the moves in order, within the budget if there is one
+  private List<MoveOption> solveMoves(ReversiModel model, CellState player, long moveMillis,
+                                      AtomicBoolean stop) {
+    if (solver == null || solver.getSize() != model.getSize()) {
+      solver = new EndgameSolver(model.getSize());
+    }
+    solver.resetStatistics();
+    if (moveMillis > 0) {
+      solver.setDeadline(System.nanoTime() + moveMillis * 1_000_000L, stop);
+    } else {
+      solver.clearDeadline();
+    }
+    CoordinateRegistry registry = CoordinateRegistry.forSize(model.getSize());
+    List<Coordinate> moves = model.getLegalMoves(player);
+    int[] scores = new int[moves.size()];
+    int alpha = -Integer.MAX_VALUE;
+    int solved = 0;
+    while (solved < moves.size()) {
+      // Later moves only need to show they are no better than the best so far
+      int score = solver.solveMove(model, player, registry.ordinal(moves.get(solved)), alpha,
+              Integer.MAX_VALUE);
+      if (solver.isAborted()) {
+        break;
+      }
+      scores[solved++] = score;
+      alpha = Math.max(alpha, score);
+    }
+    moves = moves.subList(0, solved);
+    scores = Arrays.copyOf(scores, solved);
+    MoveScores.sortByScore(moves, scores);
+    lastNodes = solver.getNodes();
+    lastNodesPerSecond = solver.getNodesPerSecond();
+
+    List<MoveOption> moveOptions = new ArrayList<>();
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+
+  /**
+   * Gets the number of empty cells at or below which the strategy applies.
+   *
+   * @return The threshold.
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Gets the number of positions the last call to {@link #evaluateMoves} solved.
+   *
+   * @return The number of nodes solved.
+   */
+  public long getLastNodes() {
+    return lastNodes;
+  }
+
+  /**
+   * Gets the solving speed of the last call to {@link #evaluateMoves}.
+   *
+   * @return The number of nodes solved per second.
+   */
+  public long getLastNodesPerSecond() {
+    return lastNodesPerSecond;
+  }
+}
@@ -0,0 +1,87 @@
+package strategy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.ReversiModel;
+
+/**
+ * A strategy that plays another strategy until few enough empty cells remain for an
+ * {@link EndgameStrategy} to solve the rest of the game, and then plays the solver.
+ * Each call picks one of the two for the position it is given, and passes every kind of request
+ * on to it unchanged, including time budgets for a {@link TimedStrategy}.
+ */
+public class EndgameSwitchStrategy implements TimedStrategy {
+  private final ReversiStrategy strategy;
+  private final EndgameStrategy endgame;
+
+  /**
+   * Constructs a strategy that switches to the solver at
+   * {@link EndgameStrategy#DEFAULT_THRESHOLD} empty cells.
+   *
+   * @param strategy The strategy to play before the endgame.
+   * @throws IllegalArgumentException If the strategy is null.
+   */
+  public EndgameSwitchStrategy(ReversiStrategy strategy) {
+    this(strategy, new EndgameStrategy());
+  }
+
+  /**
+   * Constructs a strategy that switches to the given solver once it applies.
+   *
+   * @param strategy The strategy to play before the endgame.
+   * @param endgame  The strategy to play once it applies.
+   * @throws IllegalArgumentException If either strategy is null.
+   */
+  public EndgameSwitchStrategy(ReversiStrategy strategy, EndgameStrategy endgame) {
+    if (strategy == null || endgame == null) {
+      throw new IllegalArgumentException("Strategies cannot be null");
+    }
+    this.strategy = strategy;
+    this.endgame = endgame;
+  }
+
+  private ReversiStrategy pick(ReversiModel model) {
+    return endgame.appliesTo(model) ? endgame : strategy;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return pick(model).evaluateMoves(model, player);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                        AtomicBoolean stop) {
+    ReversiStrategy current = pick(model);
+    if (current instanceof TimedStrategy) {
+      return ((TimedStrategy) current).evaluateMoves(model, player, moveMillis, stop);
+    }
+    return current.evaluateMoves(model, player);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
+    return pick(context.getModel()).evaluateMoves(context);
+  }
+
+  @Override
+  public boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    return pick(context.getModel()).streamMoves(context, sink);
+  }
+
+  @Override
+  public List<MoveOption> topMoves(ReversiModel model, CellState player, int k) {
+    return pick(model).topMoves(model, player, k);
+  }
+
+  /**
+   * Gets the strategy played once the endgame is reached.
+   *
+   * @return The endgame strategy.
+   */
+  public EndgameStrategy getEndgameStrategy() {
+    return endgame;
+  }
+}
@@ -0,0 +1,216 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * A negamax strategy that scales with Lazy SMP: helper threads search the same root position as
+ * the main search, each on its own copy of the board, and communicate with it only through a
+ * shared lock-free transposition table. Half of the helpers search one ply ahead of the others,
+ * and each helper tries the root moves in a different order, so they fill the table with results
+ * the main search has not reached yet. The moves are ranked by the main search alone, exactly
+ * as {@link NegamaxStrategy} ranks them, and the helpers stop as soon as it finishes.
+ * Strategies with the same number of threads share one pool of helper threads.
+ */
+public class LazySmpStrategy implements TimedStrategy {
+  // One helper pool per number of helpers, shared by every strategy and never shut down
+  private static final Map<Integer, ExecutorService> HELPERS = new ConcurrentHashMap<>();
+
+  private final long budgetMillis;
+  private final int maxDepth;
+  private final int threads;
+  private final TranspositionTable table;
+  private final ExecutorService helpers;
+  private final LongAdder nodes = new LongAdder();
+  private volatile int lastDepth;
+
+  /**
+   * Constructs a Lazy SMP strategy with the default time budget that uses every available
+   * processor.
+   */
+  public LazySmpStrategy() {
+    this(NegamaxStrategy.DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a Lazy SMP strategy with no depth limit, sharing one transposition table with
+   * every other negamax strategy that does not supply its own.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @param threads      The number of threads to search with, including the main search.
+   * @throws IllegalArgumentException If the budget or number of threads is not positive.
+   */
+  public LazySmpStrategy(long budgetMillis, int threads) {
+    this(budgetMillis, Integer.MAX_VALUE, threads, NegamaxStrategy.SHARED_TABLE);
+  }
+
+  /**
+   * Constructs a Lazy SMP strategy.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @param maxDepth     The deepest depth to search to.
+   * @param threads      The number of threads to search with, including the main search.
+   * @param table        The transposition table shared by the threads.
+   * @throws IllegalArgumentException If the budget, depth or number of threads is not positive,
+   *                                  or the table is null.
+   */
+  public LazySmpStrategy(long budgetMillis, int maxDepth, int threads, TranspositionTable table) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.budgetMillis = budgetMillis;
+    this.maxDepth = maxDepth;
+    this.threads = threads;
+    this.table = table;
+    this.helpers = threads > 1 ? HELPERS.computeIfAbsent(threads - 1, LazySmpStrategy::newHelpers)
+            : null;
+  }
+
+  private static ExecutorService newHelpers(int count) {
+    return Executors.newFixedThreadPool(count, runnable -> {
+      Thread thread = new Thread(runnable, "lazy-smp-helper");
+      // An idle helper should never keep the program alive
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(model, player, budgetMillis);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                        AtomicBoolean stop) {
+    if (moveMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    long deadline = System.nanoTime() + moveMillis * 1_000_000L;
+    ReversiModel board = new ReversiGame(model);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    List<MoveOption> moveOptions = new ArrayList<>();
+    nodes.reset();
+    lastDepth = 0;
+    if (moves.isEmpty()) {
+      return moveOptions;
+    }
+
+    int depthLimit = Math.min(maxDepth, board.getEmptyCount());
+    // The helpers stop once the main search does, whether it finished or was stopped
+    AtomicBoolean helpersStop = new AtomicBoolean();
+    List<Future<?>> running = new ArrayList<>();
+    for (int helper = 1; helper < threads; helper++) {
+      // Copy the root before the main search starts modifying it
+      ReversiModel helperBoard = new ReversiGame(board);
+      List<Coordinate> helperMoves = new ArrayList<>(moves);
+      // Vary the root order between helpers so they do not all search the same subtree first
+      Collections.rotate(helperMoves, helper);
+      // Odd helpers search one ply ahead of the even ones
+      int firstDepth = 1 + helper % 2;
+      running.add(helpers.submit(() -> help(helperBoard, helperMoves, firstDepth, depthLimit,
+              deadline, helpersStop)));
+    }
+
+    NegamaxSearch search = new NegamaxSearch(board, table, deadline, stop);
+    int[] scores = new int[moves.size()];
+    for (int depth = 1; depth <= depthLimit; depth++) {
+      int[] iteration = search.searchRoot(moves, depth);
+      if (iteration == null) {
+        break;
+      }
+      scores = iteration;
+      lastDepth = depth;
+      MoveScores.sortByScore(moves, scores);
+      if (stop.get() || System.nanoTime() - deadline >= 0) {
+        break;
+      }
+    }
+    nodes.add(search.getNodes());
+
+    helpersStop.set(true);
+    for (Future<?> future : running) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Helper search failed", e.getCause());
+      }
+    }
+
+    if (lastDepth == 0) {
+      // Unsearched moves would pass for a real result, so a search out of time reports none
+      return moveOptions;
+    }
+
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+
+  private void help(ReversiModel board, List<Coordinate> moves, int firstDepth, int depthLimit,
+                    long deadline, AtomicBoolean stop) {
+    NegamaxSearch search = new NegamaxSearch(board, table, deadline, stop);
+    for (int depth = firstDepth; depth <= depthLimit; depth++) {
+      if (search.searchRoot(moves, depth) == null) {
+        break;
+      }
+    }
+    nodes.add(search.getNodes());
+  }
+
+  /**
+   * Gets the number of threads the strategy searches with.
+   *
+   * @return The number of threads, including the main search.
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Gets the deepest depth the main search completed in the last call to
+   * {@link #evaluateMoves}.
+   *
+   * @return The depth of the returned scores, or 0 if there were no moves or the first depth
+   *         did not finish in time.
+   */
+  public int getLastDepth() {
+    return lastDepth;
+  }
+
+  /**
+   * Gets the number of positions the last call to {@link #evaluateMoves} searched, summed over
+   * every thread.
+   *
+   * @return The number of nodes searched.
+   */
+  public long getLastNodes() {
+    return nodes.sum();
+  }
+}
@@ -0,0 +1,320 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReversiModel;
+
+/**
+ * A strategy that plays by Monte Carlo tree search, with no evaluation function: positions are
+ * judged by the results of random games played out from them.
+ * Worker threads share one tree. Each iteration descends it by UCT (upper confidence bounds
+ * applied to trees), expands a leaf on its second visit, plays the rest of the game out at
+ * random on a {@link PlayoutBoard}, and backs the result up the path. While a thread is inside a
+ * subtree it counts as a virtual loss there, which steers the other threads elsewhere. The
+ * search stops when the playout budget or the time budget runs out, and moves are ranked by how
+ * often they were visited. The tree is kept between moves: when the next position is a
+ * descendant of the last root, identified by its hash, the search continues from that subtree.
+ * Strategies with the same number of threads share one pool of worker threads.
+ */
+public class MctsStrategy implements TimedStrategy {
+  /**
+   * The exploration constant of the UCT formula.
+   */
+  public static final double EXPLORATION = Math.sqrt(2);
+
+  // How many plies below the old root to look for the new position
+  private static final int REUSE_DEPTH = 4;
+  // One worker pool per number of threads, shared by every strategy and never shut down
+  private static final Map<Integer, ExecutorService> WORKERS = new ConcurrentHashMap<>();
+
+  private final int playoutBudget;
+  private final long budgetMillis;
+  private final int threads;
+  private final ExecutorService workers;
+  private Node root;
+  private int rootSize;
+  private volatile long lastPlayouts;
+  private volatile long lastReusedVisits;
+
+  /**
+   * Constructs an MCTS strategy with the default time budget, no playout limit, and one thread
+   * per available processor.
+   */
+  public MctsStrategy() {
+    this(Integer.MAX_VALUE, NegamaxStrategy.DEFAULT_BUDGET_MILLIS,
+            Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an MCTS strategy that stops at whichever budget runs out first.
+   *
+   * @param playoutBudget The number of playouts to run for each move.
+   * @param budgetMillis  The wall-clock time to spend on each move, in milliseconds.
+   * @param threads       The number of threads to run playouts on.
+   * @throws IllegalArgumentException If a budget or the number of threads is not positive.
+   */
+  public MctsStrategy(int playoutBudget, long budgetMillis, int threads) {
+    if (playoutBudget <= 0) {
+      throw new IllegalArgumentException("Playout budget must be positive");
+    }
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+    this.playoutBudget = playoutBudget;
+    this.budgetMillis = budgetMillis;
+    this.threads = threads;
+    this.workers = WORKERS.computeIfAbsent(threads, MctsStrategy::newWorkers);
+  }
+
+  private static ExecutorService newWorkers(int count) {
+    return Executors.newFixedThreadPool(count, runnable -> {
+      Thread thread = new Thread(runnable, "mcts-worker");
+      // An idle worker should never keep the program alive
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(model, player, budgetMillis);
+  }
+
+  @Override
+  public synchronized List<MoveOption> evaluateMoves(ReversiModel model, CellState player,
+                                                     long moveMillis, AtomicBoolean stop) {
+    if (moveMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    long deadline = System.nanoTime() + moveMillis * 1_000_000L;
+    List<MoveOption> moveOptions = new ArrayList<>();
+    lastPlayouts = 0;
+    lastReusedVisits = 0;
+    if (model.getLegalMoves(player).isEmpty()) {
+      return moveOptions;
+    }
+
+    PlayoutBoard rootBoard = new PlayoutBoard(model.getSize());
+    rootBoard.load(model, player);
+    Node reused = findReusable(rootBoard.getHash(), model.getSize());
+    if (reused != null) {
+      root = reused;
+      lastReusedVisits = reused.visits.get();
+    } else {
+      root = new Node(-1, 3 - rootBoard.getToMove());
+      root.hash = rootBoard.getHash();
+      rootSize = model.getSize();
+    }
+
+    AtomicInteger remaining = new AtomicInteger(playoutBudget);
+    AtomicLong playouts = new AtomicLong();
+    Node searchRoot = root;
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      tasks.add(() -> {
+        work(searchRoot, rootBoard, remaining, deadline, stop, playouts);
+        return null;
+      });
+    }
+    try {
+      for (Future<Void> future : workers.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Playout worker failed", e.getCause());
+    }
+    lastPlayouts = playouts.get();
+
+    CoordinateRegistry registry = CoordinateRegistry.forSize(model.getSize());
+    Node[] children = root.children;
+    List<Coordinate> moves = new ArrayList<>();
+    int[] visits = new int[children == null ? 0 : children.length];
+    for (int i = 0; i < visits.length; i++) {
+      moves.add(registry.get(children[i].move));
+      visits[i] = children[i].visits.get();
+    }
+    MoveScores.sortByScore(moves, visits);
+    for (int i = 0; i < visits.length; i++) {
+      moveOptions.add(new MoveOption(moves.get(i), visits[i]));
+    }
+    return moveOptions;
+  }
+
+  private Node findReusable(long hash, int size) {
+    if (root == null || rootSize != size) {
+      return null;
+    }
+    List<Node> level = new ArrayList<>();
+    level.add(root);
+    for (int depth = 0; depth <= REUSE_DEPTH && !level.isEmpty(); depth++) {
+      List<Node> nextLevel = new ArrayList<>();
+      for (Node node : level) {
+        if (node.visits.get() > 0 && node.hash == hash) {
+          return node;
+        }
+        Node[] children = node.children;
+        if (children != null) {
+          for (Node child : children) {
+            nextLevel.add(child);
+          }
+        }
+      }
+      level = nextLevel;
+    }
+    return null;
+  }
+
+  private void work(Node searchRoot, PlayoutBoard rootBoard, AtomicInteger remaining,
+                    long deadline, AtomicBoolean stop, AtomicLong playouts) {
+    // Everything a playout touches is allocated here, once per worker and move
+    PlayoutBoard board = new PlayoutBoard(rootSize);
+    Node[] path = new Node[2 * board.getCellCount() + 2];
+    int[] moves = new int[board.getCellCount()];
+    SplittableRandom random = new SplittableRandom();
+    while (remaining.getAndDecrement() > 0 && !stop.get() && System.nanoTime() - deadline < 0) {
+      board.copyFrom(rootBoard);
+      int length = 0;
+      Node node = searchRoot;
+      path[length++] = node;
+      while (true) {
+        Node[] children = node.children;
+        if (children == null) {
+          if (node != searchRoot && node.visits.get() == 0) {
+            // Play out from a leaf on its first visit, and expand it on the next
+            break;
+          }
+          children = node.expand(board, moves);
+        }
+        if (children.length == 0) {
+          break;
+        }
+        node = select(node, children);
+        node.virtualLoss.incrementAndGet();
+        if (node.move >= 0) {
+          board.play(node.move);
+        } else {
+          board.pass();
+        }
+        node.hash = board.getHash();
+        path[length++] = node;
+      }
+
+      int difference = board.playout(random);
+      for (int i = 0; i < length; i++) {
+        path[i].update(difference);
+        if (i > 0) {
+          path[i].virtualLoss.decrementAndGet();
+        }
+      }
+      playouts.incrementAndGet();
+    }
+  }
+
+  private static Node select(Node parent, Node[] children) {
+    double logVisits = Math.log(Math.max(1, parent.visits.get() + parent.virtualLoss.get()));
+    Node best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (Node child : children) {
+      // Visits in progress count as losses until their results come back
+      int visits = child.visits.get() + child.virtualLoss.get();
+      if (visits == 0) {
+        return child;
+      }
+      double value = child.reward.get() / (2.0 * visits)
+              + EXPLORATION * Math.sqrt(logVisits / visits);
+      if (value > bestValue) {
+        best = child;
+        bestValue = value;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Gets the number of playouts the last call to {@link #evaluateMoves} ran.
+   *
+   * @return The number of playouts.
+   */
+  public long getLastPlayouts() {
+    return lastPlayouts;
+  }
+
+  /**
+   * Gets the number of visits the last call to {@link #evaluateMoves} inherited from the
+   * previous tree.
+   *
+   * @return The visits of the reused subtree, or 0 if the search started from scratch.
+   */
+  public long getLastReusedVisits() {
+    return lastReusedVisits;
+  }
+
+  /**
+   * A position in the search tree.
+   */
+  private static final class Node {
+    private final int move;
+    private final int mover;
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicInteger virtualLoss = new AtomicInteger();
+    // Results for the mover in half points: 2 for a win, 1 for a draw
+    private final AtomicLong reward = new AtomicLong();
+    private volatile Node[] children;
+    private volatile long hash;
+
+    Node(int move, int mover) {
+      this.move = move;
+      this.mover = mover;
+    }
+
+    // Creates the children of the node, given a board at its position
+    synchronized Node[] expand(PlayoutBoard board, int[] moves) {
+      if (children != null) {
+        return children;
+      }
+      int toMove = board.getToMove();
+      int count = board.legalMoves(moves);
+      Node[] created;
+      if (count > 0) {
+        created = new Node[count];
+        for (int i = 0; i < count; i++) {
+          created[i] = new Node(moves[i], toMove);
+        }
+      } else {
+        // A player without moves passes, unless the opponent cannot move either
+        board.pass();
+        boolean opponentCanMove = board.legalMoves(moves) > 0;
+        board.pass();
+        created = opponentCanMove ? new Node[] {new Node(-1, toMove)} : new Node[0];
+      }
+      children = created;
+      return created;
+    }
+
+    void update(int difference) {
+      visits.incrementAndGet();
+      int result = mover == PlayoutBoard.BLACK ? difference : -difference;
+      reward.addAndGet(result > 0 ? 2 : result == 0 ? 1 : 0);
+    }
+  }
+}
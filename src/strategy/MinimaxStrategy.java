@@ -1,28 +1,94 @@
 package strategy;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import model.CellState;
 import model.Coordinate;
-import model.ReversiGame;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReadonlyReversiModel;
 import model.ReversiModel;
 
 public class MinimaxStrategy implements ReversiStrategy {
+  private static final TranspositionTable SHARED_TABLE = new TranspositionTable(1 << 20);
+  private static final int REPLY_DEPTH = 1;
+  // Mixed into the key of replies by white, as the side to move in a position hash is not the
+  // replying player when that player has to pass
+  private static final long WHITE_REPLY_KEY = 0x9E3779B97F4A7C15L;
+
+  private final TranspositionTable table;
+
+  /**
+   * Constructs a minimax strategy sharing one transposition table with every other minimax
+   * strategy that uses this constructor.
+   */
+  public MinimaxStrategy() {
+    this(SHARED_TABLE);
+  }
+
+  /**
+   * Constructs a minimax strategy that caches opponent replies in the given table.
+   *
+   * @param table The transposition table to use.
+   */
+  public MinimaxStrategy(TranspositionTable table) {
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.table = table;
+  }
+
   @Override
   public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(new AnalysisContext(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
+    ReversiModel model = context.getModel();
     List<MoveOption> moveOptions = new ArrayList<>();
-    for (Coordinate move : model.getLegalMoves(player)) {
-      // Create a hypothetical model for simulating the move
-      ReversiModel hypotheticalModel = new ReversiGame(model);
-      hypotheticalModel.makeMove(move, player);
-      // Assume opponent will play optimally and calculate their best response
-      Coordinate opponentBestMove = hypotheticalModel.findBestMove(model.opposite(player));
-      int opponentCaptures = hypotheticalModel.calculateCaptures(opponentBestMove, model.opposite(player));
-      // The score is the negative of the opponent's best captures, as we want to minimize their gain
-      moveOptions.add(new MoveOption(move, -opponentCaptures));
+    CoordinateRegistry registry = CoordinateRegistry.forSize(model.getSize());
+    HexSymmetry symmetry = HexSymmetry.forSize(model.getSize());
+    // Moves that are symmetric in this position lead to equivalent positions and share a score
+    int stabilizer = symmetry.stabilizer(model);
+    Map<Integer, Integer> scoresByRepresentative = new HashMap<>();
+    for (Coordinate move : context.getLegalMoves()) {
+      int representative = symmetry.representative(stabilizer, registry.ordinal(move));
+      Integer score = scoresByRepresentative.get(representative);
+      if (score == null) {
+        // The board after the move is built once per turn and shared with the other strategies
+        ReadonlyReversiModel hypotheticalModel = context.getChild(move);
+        // The score is the negative of the opponent's best captures, as we want to minimize their gain
+        score = -opponentCaptures(hypotheticalModel, model.opposite(context.getPlayer()));
+        scoresByRepresentative.put(representative, score);
+      }
+      moveOptions.add(new MoveOption(move, score));
     }
     return moveOptions;
   }
-}
 
+  private int opponentCaptures(ReadonlyReversiModel hypotheticalModel, CellState opponent) {
+    // Keyed by the raw hash: canonicalizing a child costs more than working out its reply again
+    long key = hypotheticalModel.getPositionHash();
+    if (opponent == CellState.WHITE) {
+      key ^= WHITE_REPLY_KEY;
+    }
+    long entry = table.probe(key);
+    if (entry != TranspositionTable.MISS && TranspositionTable.depth(entry) >= REPLY_DEPTH) {
+      return TranspositionTable.score(entry);
+    }
+    // Assume opponent will play optimally and calculate their best response
+    Coordinate opponentBestMove = hypotheticalModel.findBestMove(opponent);
+    int opponentCaptures = 0;
+    int reply = -1;
+    if (opponentBestMove != null) {
+      opponentCaptures = hypotheticalModel.calculateCaptures(opponentBestMove, opponent);
+      reply = CoordinateRegistry.forSize(hypotheticalModel.getSize()).ordinal(opponentBestMove);
+    }
+    table.store(key, REPLY_DEPTH, TranspositionTable.BOUND_EXACT, opponentCaptures, reply);
+    return opponentCaptures;
+  }
+}
@@ -0,0 +1,127 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+
+/**
+ * Orders the moves of a search so that alpha-beta pruning cuts off as early as possible.
+ * Moves are tried in this order: the best move stored in the transposition table, corners,
+ * the killer moves of the current ply (the last two moves that caused a cutoff at that ply),
+ * the rest by their history score (how often and how deep they caused cutoffs, per color), and
+ * cells next to a corner last, as they usually hand the corner to the opponent.
+ * An ordering learns from the search that uses it, so each thread needs its own.
+ */
+public class MoveOrdering {
+  private static final int HASH_MOVE = Integer.MAX_VALUE;
+  private static final int CORNER = 1 << 30;
+  private static final int KILLER = 1 << 29;
+  private static final int NEXT_TO_CORNER = -(1 << 29);
+  private static final int HISTORY_LIMIT = 1 << 28;
+  private static final int KILLERS_PER_PLY = 2;
+
+  private final CoordinateRegistry registry;
+  private final boolean[] corner;
+  private final int[][] killers;
+  private final int[][] history;
+
+  /**
+   * Constructs an empty ordering for a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public MoveOrdering(int size) {
+    this.registry = CoordinateRegistry.forSize(size);
+    int cellCount = registry.getGeometry().getCellCount();
+    this.corner = new boolean[cellCount];
+    for (Coordinate coord : registry.getCorners()) {
+      corner[registry.ordinal(coord)] = true;
+    }
+    // A line of play never has more plies than the board has cells
+    this.killers = new int[cellCount + 1][KILLERS_PER_PLY];
+    this.history = new int[2][cellCount];
+    clear();
+  }
+
+  /**
+   * Sorts moves into the order a search should try them.
+   *
+   * @param moves    The legal moves, which are reordered in place.
+   * @param player   The player to move.
+   * @param ply      The distance of the position from the root of the search.
+   * @param hashMove The cell index of the transposition table's best move, or -1 if there is
+   *                 none.
+   */
+  public void order(List<Coordinate> moves, CellState player, int ply, int hashMove) {
+    int[] keys = new int[moves.size()];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = priority(registry.ordinal(moves.get(i)), player, ply, hashMove);
+    }
+    MoveScores.sortByScore(moves, keys);
+  }
+
+  private int priority(int cell, CellState player, int ply, int hashMove) {
+    if (cell == hashMove) {
+      return HASH_MOVE;
+    }
+    if (corner[cell]) {
+      return CORNER;
+    }
+    int score = history[color(player)][cell];
+    if (registry.isNextToCorner(cell)) {
+      return NEXT_TO_CORNER + score;
+    }
+    for (int k = 0; k < KILLERS_PER_PLY; k++) {
+      if (killers[ply][k] == cell) {
+        return KILLER - k;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Records that a move caused a beta cutoff, so that it is tried earlier in similar positions.
+   *
+   * @param cell   The cell index of the move.
+   * @param player The player who made the move.
+   * @param ply    The distance of the position from the root of the search.
+   * @param depth  The remaining depth of the position, which weighs the move's history score.
+   */
+  public void recordCutoff(int cell, CellState player, int ply, int depth) {
+    int[] plyKillers = killers[ply];
+    if (plyKillers[0] != cell) {
+      plyKillers[1] = plyKillers[0];
+      plyKillers[0] = cell;
+    }
+    int[] scores = history[color(player)];
+    scores[cell] += depth * depth;
+    if (scores[cell] >= HISTORY_LIMIT) {
+      // Age every score so recent cutoffs keep their weight and none can overflow
+      for (int[] colorScores : history) {
+        for (int i = 0; i < colorScores.length; i++) {
+          colorScores[i] >>= 1;
+        }
+      }
+    }
+  }
+
+  /**
+   * Forgets every killer move and history score.
+   */
+  public void clear() {
+    for (int[] plyKillers : killers) {
+      Arrays.fill(plyKillers, -1);
+    }
+    for (int[] colorScores : history) {
+      Arrays.fill(colorScores, 0);
+    }
+  }
+
+  private static int color(CellState player) {
+    return player == CellState.BLACK ? 0 : 1;
+  }
+}
@@ -0,0 +1,37 @@
+package strategy;
+
+import java.util.List;
+
+import model.Coordinate;
+
+/**
+ * Helpers for ranking moves by scores kept in a parallel array, as the searching strategies do
+ * before turning them into {@link MoveOption}s.
+ */
+final class MoveScores {
+  private MoveScores() {
+  }
+
+  /**
+   * Sorts moves and their scores together, best score first. The sort is a stable insertion
+   * sort, so moves with equal scores keep their order, and the next iteration of a deepening
+   * search tries the best move first.
+   *
+   * @param moves  The moves to sort.
+   * @param scores The score of each move, sorted along with them.
+   */
+  static void sortByScore(List<Coordinate> moves, int[] scores) {
+    for (int i = 1; i < scores.length; i++) {
+      int score = scores[i];
+      Coordinate move = moves.get(i);
+      int j = i - 1;
+      while (j >= 0 && scores[j] < score) {
+        scores[j + 1] = scores[j];
+        moves.set(j + 1, moves.get(j));
+        j--;
+      }
+      scores[j + 1] = score;
+      moves.set(j + 1, move);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package strategy;
+
+/**
+ * Receives evaluated moves one at a time from {@link ReversiStrategy#streamMoves}, as a cell
+ * index and a score, without a {@link MoveOption} being allocated for each.
+ */
+@FunctionalInterface
+public interface MoveSink {
+  /**
+   * A score that no other move can beat, such as a corner for {@link TakeCornersStrategy}.
+   */
+  int UNBEATABLE = Integer.MAX_VALUE;
+
+  /**
+   * Receives an evaluated move.
+   *
+   * @param cell  The cell index of the move.
+   * @param score The score of the move.
+   * @return true to keep receiving moves, or false to stop the strategy early.
+   */
+  boolean accept(int cell, int score);
+}
@@ -0,0 +1,176 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * Finds the best few moves of a position, each with its exact score and principal variation,
+ * for analysis and coaching rather than play.
+ * One alpha-beta negamax search with iterative deepening serves every line: each root move is
+ * searched against the score of the worst line kept so far, rather than the best, so the scores
+ * of all the kept lines are exact. The principal variations are read back from the
+ * transposition table. The lines of each completed depth are handed to an
+ * {@link AnalysisListener}, and the search stops when its time budget runs out, the game tree is
+ * exhausted, or {@link #stop} is called.
+ */
+public class MultiPvAnalyzer {
+  private final long budgetMillis;
+  private final int maxDepth;
+  private final TranspositionTable table;
+  private final AtomicBoolean stop = new AtomicBoolean();
+  private volatile long lastNodes;
+  private volatile int lastDepth;
+
+  /**
+   * Constructs an analyzer with the default time budget of the negamax strategies, sharing
+   * their transposition table.
+   */
+  public MultiPvAnalyzer() {
+    this(NegamaxStrategy.DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * Constructs an analyzer with the given time budget and no depth limit.
+   *
+   * @param budgetMillis The wall-clock time to spend on each analysis, in milliseconds.
+   * @throws IllegalArgumentException If the budget is not positive.
+   */
+  public MultiPvAnalyzer(long budgetMillis) {
+    this(budgetMillis, Integer.MAX_VALUE, NegamaxStrategy.SHARED_TABLE);
+  }
+
+  /**
+   * Constructs an analyzer.
+   *
+   * @param budgetMillis The wall-clock time to spend on each analysis, in milliseconds.
+   * @param maxDepth     The deepest depth to search to.
+   * @param table        The transposition table to use.
+   * @throws IllegalArgumentException If the budget or depth is not positive, or the table is null.
+   */
+  public MultiPvAnalyzer(long budgetMillis, int maxDepth, TranspositionTable table) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.budgetMillis = budgetMillis;
+    this.maxDepth = maxDepth;
+    this.table = table;
+  }
+
+  /**
+   * Finds the best moves of a position.
+   *
+   * @param model  The game, which is not modified.
+   * @param player The player to move.
+   * @param lines  The number of moves to find.
+   * @return The best moves of the deepest completed depth, best first, fewer if the player has
+   *         fewer legal moves.
+   * @throws IllegalArgumentException If the number of lines is not positive.
+   */
+  public List<AnalysisLine> analyze(ReversiModel model, CellState player, int lines) {
+    return analyze(model, player, lines, null);
+  }
+
+  /**
+   * Finds the best moves of a position, reporting them as each depth completes.
+   *
+   * @param model    The game, which is not modified.
+   * @param player   The player to move.
+   * @param lines    The number of moves to find.
+   * @param listener Receives the lines of each completed depth, or null.
+   * @return The best moves of the deepest completed depth, best first, fewer if the player has
+   *         fewer legal moves.
+   * @throws IllegalArgumentException If the number of lines is not positive.
+   */
+  public List<AnalysisLine> analyze(ReversiModel model, CellState player, int lines,
+                                    AnalysisListener listener) {
+    if (lines <= 0) {
+      throw new IllegalArgumentException("Lines must be positive");
+    }
+    try {
+      return search(model, player, lines, listener);
+    } finally {
+      // Cleared only once the analysis is over, so a stop requested as it starts is not lost
+      stop.set(false);
+    }
+  }
+
+  private List<AnalysisLine> search(ReversiModel model, CellState player, int lines,
+                                    AnalysisListener listener) {
+    long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+    ReversiModel board = new ReversiGame(model);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    List<AnalysisLine> result = Collections.emptyList();
+    lastNodes = 0;
+    lastDepth = 0;
+    if (moves.isEmpty()) {
+      return result;
+    }
+
+    NegamaxSearch search = new NegamaxSearch(board, table, deadline, stop);
+    int count = Math.min(lines, moves.size());
+    // No line can be longer than the number of empty cells, so deeper searches add nothing
+    int depthLimit = Math.min(maxDepth, board.getEmptyCount());
+    for (int depth = 1; depth <= depthLimit; depth++) {
+      int[] scores = search.searchRoot(moves, depth, count);
+      if (scores == null) {
+        break;
+      }
+      MoveScores.sortByScore(moves, scores);
+      result = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        result.add(new AnalysisLine(search.principalVariation(moves.get(i), depth), scores[i],
+                depth));
+      }
+      result = Collections.unmodifiableList(result);
+      lastDepth = depth;
+      if (listener != null) {
+        listener.onDepthCompleted(depth, result);
+      }
+      if (stop.get() || System.nanoTime() - deadline >= 0) {
+        break;
+      }
+    }
+    lastNodes = search.getNodes();
+    return result;
+  }
+
+  /**
+   * Stops the analysis in progress, which then returns the lines of its last completed depth.
+   * It may be called from any thread. Called before an analysis starts, it stops that analysis
+   * by the end of its first depth.
+   */
+  public void stop() {
+    stop.set(true);
+  }
+
+  /**
+   * Gets the deepest depth the last analysis completed.
+   *
+   * @return The depth of the returned lines, or 0 if there were no moves.
+   */
+  public int getLastDepth() {
+    return lastDepth;
+  }
+
+  /**
+   * Gets the number of positions the last analysis searched.
+   *
+   * @return The number of nodes searched.
+   */
+  public long getLastNodes() {
+    return lastNodes;
+  }
+}
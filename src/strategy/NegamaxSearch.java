@@ -0,0 +1,342 @@
+package strategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * A depth-limited negamax search with alpha-beta pruning over one board.
+ * The search explores positions in place with {@link ReversiModel#applyMove} and
+ * {@link ReversiModel#undoMove}, records its results in a {@link TranspositionTable}, and tries
+ * the moves of each position in the order given by its {@link MoveOrdering}.
+ * Scores are always from the point of view of the player to move; when a move leaves the same
+ * player to move because the opponent has to pass, the child's score is not negated.
+ * A search stops as soon as its deadline passes or another thread raises its stop flag, after
+ * which its results must be discarded.
+ */
+public class NegamaxSearch {
+  /**
+   * The score of a won game, before adding the final disc difference.
+   */
+  public static final int WIN_SCORE = 1_000_000;
+
+  /**
+   * A score larger than any score the search can return.
+   */
+  public static final int INFINITY = 2 * WIN_SCORE;
+
+  private static final int CORNER_WEIGHT = 20;
+  private static final int NEXT_TO_CORNER_WEIGHT = 5;
+  private static final int MOBILITY_WEIGHT = 2;
+  private static final long CHECK_INTERVAL = 1023;
+
+  private final ReversiModel board;
+  private final TranspositionTable table;
+  private final CoordinateRegistry registry;
+  private final long deadline;
+  private final AtomicBoolean stop;
+  private final MoveOrdering ordering;
+  private int ply;
+  private long nodes;
+  private boolean aborted;
+
+  /**
+   * Constructs a search over the given board.
+   *
+   * @param board    The board to search, which the search modifies and restores.
+   * @param table    The transposition table to use.
+   * @param deadline The {@link System#nanoTime()} value at which the search stops.
+   */
+  public NegamaxSearch(ReversiModel board, TranspositionTable table, long deadline) {
+    this(board, table, deadline, new AtomicBoolean());
+  }
+
+  /**
+   * Constructs a search over the given board that another thread can stop.
+   *
+   * @param board    The board to search, which the search modifies and restores.
+   * @param table    The transposition table to use.
+   * @param deadline The {@link System#nanoTime()} value at which the search stops.
+   * @param stop     The flag that stops the search when set.
+   */
+  public NegamaxSearch(ReversiModel board, TranspositionTable table, long deadline,
+                       AtomicBoolean stop) {
+    this(board, table, deadline, stop, new MoveOrdering(board.getSize()));
+  }
+
+  /**
+   * Constructs a search over the given board with the given move ordering.
+   *
+   * @param board    The board to search, which the search modifies and restores.
+   * @param table    The transposition table to use.
+   * @param deadline The {@link System#nanoTime()} value at which the search stops.
+   * @param stop     The flag that stops the search when set.
+   * @param ordering The move ordering to use, or null to try moves in the order the board lists
+   *                 them.
+   */
+  public NegamaxSearch(ReversiModel board, TranspositionTable table, long deadline,
+                       AtomicBoolean stop, MoveOrdering ordering) {
+    this.board = board;
+    this.table = table;
+    this.registry = CoordinateRegistry.forSize(board.getSize());
+    this.deadline = deadline;
+    this.stop = stop;
+    this.ordering = ordering;
+  }
+
+  /**
+   * Searches each root move to the given depth.
+   * The first move is searched with a full window and the others against the best score so
+   * far, so only the best move's score is exact; the others are upper bounds.
+   *
+   * @param moves The root moves, in the order to search them.
+   * @param depth The depth to search to, counting the root move.
+   * @return The score of each move, or null if the search ran out of time.
+   */
+  public int[] searchRoot(List<Coordinate> moves, int depth) {
+    return searchRoot(moves, depth, 1);
+  }
+
+  /**
+   * Searches each root move to the given depth, keeping the scores of the best few moves exact.
+   * Each move is searched against the score of the lines-th best move so far, so the scores of
+   * the best lines moves are exact; the others are upper bounds.
+   *
+   * @param moves The root moves, in the order to search them.
+   * @param depth The depth to search to, counting the root move.
+   * @param lines The number of moves whose scores must be exact.
+   * @return The score of each move, or null if the search ran out of time.
+   */
+  public int[] searchRoot(List<Coordinate> moves, int depth, int lines) {
+    CellState player = board.getCurrentPlayer();
+    int[] scores = new int[moves.size()];
+    // The best scores so far, best first
+    int[] best = new int[lines];
+    Arrays.fill(best, -INFINITY);
+    for (int i = 0; i < moves.size(); i++) {
+      scores[i] = searchMove(moves.get(i), player, depth, best[lines - 1], INFINITY);
+      if (aborted) {
+        return null;
+      }
+      int j = lines - 1;
+      if (scores[i] > best[j]) {
+        while (j > 0 && best[j - 1] < scores[i]) {
+          best[j] = best[j - 1];
+          j--;
+        }
+        best[j] = scores[i];
+      }
+    }
+    return scores;
+  }
+
+  /**
+   * Follows the best moves the transposition table records from a root move onwards.
+   * The line stops early where the table holds no entry or its move is no longer legal.
+   *
+   * @param move      The root move, legal for the player to move.
+   * @param maxLength The most moves to return, counting the root move.
+   * @return The line, starting with the root move.
+   */
+  public List<Coordinate> principalVariation(Coordinate move, int maxLength) {
+    List<Coordinate> line = new ArrayList<>();
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    records.push(board.applyMove(move, board.getCurrentPlayer()));
+    line.add(move);
+    while (line.size() < maxLength && !board.isGameOver()) {
+      long entry = table.probe(board.getPositionHash());
+      int cell = entry == TranspositionTable.MISS ? -1 : TranspositionTable.move(entry);
+      if (cell < 0) {
+        break;
+      }
+      Coordinate next = registry.get(cell);
+      CellState player = board.getCurrentPlayer();
+      if (!board.getLegalMoves(player).contains(next)) {
+        break;
+      }
+      records.push(board.applyMove(next, player));
+      line.add(next);
+    }
+    while (!records.isEmpty()) {
+      board.undoMove(records.pop());
+    }
+    return line;
+  }
+
+  /**
+   * Searches a single move of the player to move.
+   *
+   * @param move   The move to search.
+   * @param player The player to move.
+   * @param depth  The depth to search to, counting the move.
+   * @param alpha  The lower bound of the search window.
+   * @param beta   The upper bound of the search window.
+   * @return The score of the move for the player to move.
+   */
+  public int searchMove(Coordinate move, CellState player, int depth, int alpha, int beta) {
+    UndoRecord record = board.applyMove(move, player);
+    ply++;
+    int score;
+    if (board.getCurrentPlayer() == player) {
+      score = search(depth - 1, alpha, beta);
+    } else {
+      score = -search(depth - 1, -beta, -alpha);
+    }
+    ply--;
+    board.undoMove(record);
+    return score;
+  }
+
+  /**
+   * Searches the board's position.
+   *
+   * @param depth The remaining depth.
+   * @param alpha The lower bound of the search window.
+   * @param beta  The upper bound of the search window.
+   * @return The score of the position for the player to move.
+   */
+  public int search(int depth, int alpha, int beta) {
+    nodes++;
+    if ((nodes & CHECK_INTERVAL) == 0 && (stop.get() || System.nanoTime() - deadline >= 0)) {
+      aborted = true;
+    }
+    if (aborted) {
+      return 0;
+    }
+    if (board.isGameOver()) {
+      return finalScore(board);
+    }
+    if (depth <= 0) {
+      return evaluate(board);
+    }
+
+    long key = board.getPositionHash();
+    long entry = table.probe(key);
+    int hashMove = -1;
+    if (entry != TranspositionTable.MISS) {
+      hashMove = TranspositionTable.move(entry);
+      if (TranspositionTable.depth(entry) >= depth) {
+        int score = TranspositionTable.score(entry);
+        int bound = TranspositionTable.bound(entry);
+        if (bound == TranspositionTable.BOUND_EXACT
+                || bound == TranspositionTable.BOUND_LOWER && score >= beta
+                || bound == TranspositionTable.BOUND_UPPER && score <= alpha) {
+          return score;
+        }
+      }
+    }
+
+    CellState player = board.getCurrentPlayer();
+    List<Coordinate> moves = board.getLegalMoves(player);
+    if (ordering != null) {
+      ordering.order(moves, player, ply, hashMove);
+    }
+
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestMove = -1;
+    for (Coordinate move : moves) {
+      int score = searchMove(move, player, depth, alpha, beta);
+      if (aborted) {
+        return 0;
+      }
+      if (score > best) {
+        best = score;
+        bestMove = registry.ordinal(move);
+      }
+      alpha = Math.max(alpha, best);
+      if (alpha >= beta) {
+        if (ordering != null) {
+          ordering.recordCutoff(bestMove, player, ply, depth);
+        }
+        break;
+      }
+    }
+
+    int bound = TranspositionTable.BOUND_EXACT;
+    if (best <= originalAlpha) {
+      bound = TranspositionTable.BOUND_UPPER;
+    } else if (best >= beta) {
+      bound = TranspositionTable.BOUND_LOWER;
+    }
+    table.store(key, depth, bound, best, bestMove);
+    return best;
+  }
+
+  /**
+   * Scores a finished game for the player to move.
+   *
+   * @param board The finished game.
+   * @return {@link #WIN_SCORE} plus the disc difference for a win, minus it for a loss, or 0.
+   */
+  public static int finalScore(ReversiModel board) {
+    CellState player = board.getCurrentPlayer();
+    int difference = board.getScore(player) - board.getScore(board.opposite(player));
+    if (difference > 0) {
+      return WIN_SCORE + difference;
+    } else if (difference < 0) {
+      return -WIN_SCORE + difference;
+    }
+    return 0;
+  }
+
+  /**
+   * Estimates the value of an unfinished game for the player to move from its disc difference,
+   * corners, cells next to corners and mobility.
+   *
+   * @param board The game to evaluate.
+   * @return The estimated score.
+   */
+  public static int evaluate(ReversiModel board) {
+    CellState player = board.getCurrentPlayer();
+    CellState opponent = board.opposite(player);
+    CoordinateRegistry registry = CoordinateRegistry.forSize(board.getSize());
+    int score = board.getScore(player) - board.getScore(opponent);
+    for (Coordinate corner : registry.getCorners()) {
+      CellState state = board.getCellState(corner);
+      if (state == player) {
+        score += CORNER_WEIGHT;
+      } else if (state == opponent) {
+        score -= CORNER_WEIGHT;
+      } else {
+        for (Coordinate neighbor : registry.neighbors(registry.ordinal(corner))) {
+          CellState neighborState = board.getCellState(neighbor);
+          if (neighborState == player) {
+            score -= NEXT_TO_CORNER_WEIGHT;
+          } else if (neighborState == opponent) {
+            score += NEXT_TO_CORNER_WEIGHT;
+          }
+        }
+      }
+    }
+    int mobility = board.getLegalMoves(player).size() - board.getLegalMoves(opponent).size();
+    return score + MOBILITY_WEIGHT * mobility;
+  }
+
+  /**
+   * Gets the number of positions the search has visited.
+   *
+   * @return The number of nodes searched.
+   */
+  public long getNodes() {
+    return nodes;
+  }
+
+  /**
+   * Determines whether the search ran out of time or was stopped.
+   *
+   * @return true if the search stopped before finishing, false otherwise.
+   */
+  public boolean isAborted() {
+    return aborted;
+  }
+}
@@ -0,0 +1,142 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * A strategy that searches the game tree with alpha-beta negamax and iterative deepening.
+ * It searches one ply deeper at a time until its time budget runs out or the game tree is
+ * exhausted, and ranks the moves by the scores of the last depth it completed, best move first.
+ */
+public class NegamaxStrategy implements TimedStrategy {
+  /**
+   * The time budget per move used by the default constructor, in milliseconds.
+   */
+  public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+  // Shared by every strategy of the negamax family, which all score positions the same way
+  static final TranspositionTable SHARED_TABLE = new TranspositionTable(16 << 20);
+
+  private final long budgetMillis;
+  private final int maxDepth;
+  private final TranspositionTable table;
+  // Written by the searching thread and read by others
+  private volatile long lastNodes;
+  private volatile int lastDepth;
+
+  /**
+   * Constructs a negamax strategy with the default time budget, sharing one transposition table
+   * with every other negamax strategy that does not supply its own.
+   */
+  public NegamaxStrategy() {
+    this(DEFAULT_BUDGET_MILLIS);
+  }
+
+  /**
+   * Constructs a negamax strategy with the given time budget and no depth limit.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @throws IllegalArgumentException If the budget is not positive.
+   */
+  public NegamaxStrategy(long budgetMillis) {
+    this(budgetMillis, Integer.MAX_VALUE, SHARED_TABLE);
+  }
+
+  /**
+   * Constructs a negamax strategy.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @param maxDepth     The deepest depth to search to.
+   * @param table        The transposition table to use.
+   * @throws IllegalArgumentException If the budget or depth is not positive, or the table is null.
+   */
+  public NegamaxStrategy(long budgetMillis, int maxDepth, TranspositionTable table) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.budgetMillis = budgetMillis;
+    this.maxDepth = maxDepth;
+    this.table = table;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(model, player, budgetMillis);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                        AtomicBoolean stop) {
+    if (moveMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    long deadline = System.nanoTime() + moveMillis * 1_000_000L;
+    ReversiModel board = new ReversiGame(model);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    List<MoveOption> moveOptions = new ArrayList<>();
+    lastNodes = 0;
+    lastDepth = 0;
+    if (moves.isEmpty()) {
+      return moveOptions;
+    }
+
+    NegamaxSearch search = new NegamaxSearch(board, table, deadline, stop);
+    int[] scores = new int[moves.size()];
+    // No line can be longer than the number of empty cells, so deeper searches add nothing
+    int depthLimit = Math.min(maxDepth, board.getEmptyCount());
+    for (int depth = 1; depth <= depthLimit; depth++) {
+      int[] iteration = search.searchRoot(moves, depth);
+      if (iteration == null) {
+        break;
+      }
+      scores = iteration;
+      lastDepth = depth;
+      MoveScores.sortByScore(moves, scores);
+      if (stop.get() || System.nanoTime() - deadline >= 0) {
+        break;
+      }
+    }
+    lastNodes = search.getNodes();
+
+    if (lastDepth == 0) {
+      // Unsearched moves would pass for a real result, so a search out of time reports none
+      return moveOptions;
+    }
+
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+
+  /**
+   * Gets the deepest depth the last call to {@link #evaluateMoves} completed.
+   *
+   * @return The depth of the returned scores, or 0 if there were no moves or the first depth
+   *         did not finish in time.
+   */
+  public int getLastDepth() {
+    return lastDepth;
+  }
+
+  /**
+   * Gets the number of positions the last call to {@link #evaluateMoves} searched.
+   *
+   * @return The number of nodes searched.
+   */
+  public long getLastNodes() {
+    return lastNodes;
+  }
+}
@@ -0,0 +1,192 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CanonicalPosition;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReadonlyReversiModel;
+
+/**
+ * An opening book read from a file written by {@link OpeningBookBuilder}.
+ * The file is memory-mapped rather than read, so opening it costs nothing up front and the
+ * operating system shares its pages between every process using the same book. A lookup
+ * canonicalizes the position with {@link HexSymmetry}, so one entry serves all of its symmetric
+ * variants, and binary searches the entries, which are sorted by canonical hash.
+ *
+ * <p>The file is big-endian. A header of four ints, {@link #MAGIC}, {@link #VERSION}, the board
+ * size and the entry count, is followed by entries of {@link #ENTRY_BYTES} bytes each: the
+ * canonical hash as a long, the games and half points as ints, and {@link #MOVES_PER_ENTRY}
+ * moves as pairs of shorts, a canonical cell index and a score. Unused moves have the cell -1.
+ * Scores below {@link #PROVEN_SCORE} in magnitude are search estimates, clamped to fit. Scores
+ * at or above it are proven results, {@link #PROVEN_SCORE} plus the final disc difference, and
+ * negated for a loss; {@link #lookup} turns them back into {@link NegamaxSearch#WIN_SCORE}
+ * plus the difference, as a search reports them.</p>
+ *
+ * <p>A book is immutable once opened, so lookups may run on any number of threads.</p>
+ */
+public final class OpeningBook {
+  /**
+   * The first int of every book file.
+   */
+  public static final int MAGIC = 0x52564F42;
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 2;
+
+  /**
+   * The most moves an entry holds.
+   */
+  public static final int MOVES_PER_ENTRY = 4;
+
+  /**
+   * The smallest stored score of a proven win.
+   */
+  public static final int PROVEN_SCORE = 30_000;
+
+  static final int HEADER_BYTES = 4 * Integer.BYTES;
+  static final int ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES + MOVES_PER_ENTRY * 2 * Short.BYTES;
+
+  private final ByteBuffer buffer;
+  private final int size;
+  private final int entryCount;
+  private final HexSymmetry symmetry;
+  private final CoordinateRegistry registry;
+
+  private OpeningBook(ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Not an opening book");
+    }
+    if (buffer.getInt(Integer.BYTES) != VERSION) {
+      throw new IllegalArgumentException("Unsupported opening book version "
+              + buffer.getInt(Integer.BYTES));
+    }
+    this.buffer = buffer;
+    this.size = buffer.getInt(2 * Integer.BYTES);
+    this.entryCount = buffer.getInt(3 * Integer.BYTES);
+    if (entryCount < 0 || (long) HEADER_BYTES + (long) entryCount * ENTRY_BYTES
+            > buffer.capacity()) {
+      throw new IllegalArgumentException("Truncated opening book");
+    }
+    this.symmetry = HexSymmetry.forSize(size);
+    this.registry = CoordinateRegistry.forSize(size);
+  }
+
+  /**
+   * Opens a book file by memory-mapping it.
+   *
+   * @param path The book file.
+   * @return The book.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file is not a valid book.
+   */
+  public static OpeningBook open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Looks up the position of a model, with the model's current player to move.
+   *
+   * @param model The position to look up.
+   * @return The book's entry for the position, or null if the position is not in the book.
+   */
+  public BookEntry lookup(ReadonlyReversiModel model) {
+    if (model.getSize() != size) {
+      return null;
+    }
+    CanonicalPosition canonical = symmetry.canonicalize(model);
+    int index = find(canonical.getHash());
+    if (index < 0) {
+      return null;
+    }
+    int offset = HEADER_BYTES + index * ENTRY_BYTES + Long.BYTES;
+    int games = buffer.getInt(offset);
+    int points = buffer.getInt(offset + Integer.BYTES);
+    offset += 2 * Integer.BYTES;
+    List<MoveOption> moves = new ArrayList<>();
+    for (int i = 0; i < MOVES_PER_ENTRY; i++, offset += 2 * Short.BYTES) {
+      int cell = buffer.getShort(offset);
+      if (cell < 0) {
+        break;
+      }
+      moves.add(new MoveOption(registry.get(canonical.fromCanonical(cell)),
+              decodeScore(buffer.getShort(offset + Short.BYTES))));
+    }
+    return new BookEntry(moves, games, points);
+  }
+
+  /**
+   * Packs a search score into a stored score, keeping proven results apart from estimates.
+   *
+   * @param score The score, as {@link NegamaxSearch} reports it.
+   * @return The stored score.
+   */
+  static short encodeScore(int score) {
+    if (Math.abs(score) >= NegamaxSearch.WIN_SCORE) {
+      int stored = PROVEN_SCORE + Math.abs(score) - NegamaxSearch.WIN_SCORE;
+      return (short) (score > 0 ? stored : -stored);
+    }
+    return (short) Math.max(1 - PROVEN_SCORE, Math.min(PROVEN_SCORE - 1, score));
+  }
+
+  /**
+   * Unpacks a stored score into a search score.
+   *
+   * @param stored The stored score.
+   * @return The score, as {@link NegamaxSearch} reports it.
+   */
+  static int decodeScore(short stored) {
+    if (Math.abs(stored) >= PROVEN_SCORE) {
+      int score = NegamaxSearch.WIN_SCORE + Math.abs(stored) - PROVEN_SCORE;
+      return stored > 0 ? score : -score;
+    }
+    return stored;
+  }
+
+  // Binary searches the entries, which are sorted by hash as an unsigned number
+  private int find(long hash) {
+    int low = 0;
+    int high = entryCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int order = Long.compareUnsigned(buffer.getLong(HEADER_BYTES + mid * ENTRY_BYTES), hash);
+      if (order < 0) {
+        low = mid + 1;
+      } else if (order > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Gets the size of the board the book was built for.
+   *
+   * @return The size of the board.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the number of positions in the book.
+   *
+   * @return The number of entries.
+   */
+  public int getEntryCount() {
+    return entryCount;
+  }
+}
@@ -0,0 +1,217 @@
+package strategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.CanonicalPosition;
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * Builds an {@link OpeningBook} offline by self-play.
+ * Each game starts from the standard opening and, for the first few plies, picks at random among
+ * the moves the analyzer scores within a margin of its best, so that the games spread over the
+ * plausible openings. The analyzer keeps the scores of every book move exact, rather than the
+ * upper bounds an ordinary search gives the moves after its best, so no move outside the margin
+ * is played. The rest of the game is played with the analyzer's best moves. Every
+ * position reached during the book plies is searched once, however many games reach it or any
+ * of its symmetric variants, and its best moves are kept with the results of the games through it.
+ *
+ * <p>Usage: OpeningBookBuilder output [size] [games] [plies] [depth] [margin] [seed]</p>
+ */
+public class OpeningBookBuilder {
+  private static final long TABLE_BYTES = 16 << 20;
+  private static final long UNLIMITED_MILLIS = 3_600_000;
+
+  private final int size;
+  private final int plies;
+  private final int margin;
+  private final MultiPvAnalyzer analyzer;
+  private final Random random;
+  private final HexSymmetry symmetry;
+  private final CoordinateRegistry registry;
+  private final Map<Long, Position> positions = new HashMap<>();
+
+  /**
+   * Constructs a builder for a board of the given size.
+   *
+   * @param size     The size of the board. Must be a positive value.
+   * @param plies    The number of plies from the start of the game to put in the book.
+   * @param margin   How far below the best score a move may be and still be played.
+   * @param analyzer The analyzer that scores moves and plays the games.
+   * @param seed     The seed of the random choices between moves.
+   * @throws IllegalArgumentException If size is not positive, plies or margin is negative, or
+   *                                  the analyzer is null.
+   */
+  public OpeningBookBuilder(int size, int plies, int margin, MultiPvAnalyzer analyzer,
+                            long seed) {
+    if (plies < 0) {
+      throw new IllegalArgumentException("Plies cannot be negative");
+    }
+    if (margin < 0) {
+      throw new IllegalArgumentException("Margin cannot be negative");
+    }
+    if (analyzer == null) {
+      throw new IllegalArgumentException("Analyzer cannot be null");
+    }
+    this.symmetry = HexSymmetry.forSize(size);
+    this.registry = CoordinateRegistry.forSize(size);
+    this.size = size;
+    this.plies = plies;
+    this.margin = margin;
+    this.analyzer = analyzer;
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Plays one self-play game and adds its opening to the book.
+   */
+  public void playGame() {
+    ReversiModel model = new ReversiGame(size);
+    List<Position> path = new ArrayList<>();
+    List<CellState> movers = new ArrayList<>();
+    while (!model.isGameOver()) {
+      CellState player = model.getCurrentPlayer();
+      Coordinate move;
+      if (path.size() < plies) {
+        Position position = positionOf(model);
+        path.add(position);
+        movers.add(player);
+        move = choose(position, symmetry.canonicalize(model));
+      } else {
+        move = analyzer.analyze(model, player, 1).get(0).getMove();
+      }
+      model.makeMove(move, player);
+    }
+    int difference = model.getScore(CellState.BLACK) - model.getScore(CellState.WHITE);
+    for (int i = 0; i < path.size(); i++) {
+      int result = movers.get(i) == CellState.BLACK ? difference : -difference;
+      path.get(i).games++;
+      path.get(i).points += result > 0 ? 2 : result == 0 ? 1 : 0;
+    }
+  }
+
+  // Gets the book position of a model, searching it the first time any of its variants is seen
+  private Position positionOf(ReversiModel model) {
+    CanonicalPosition canonical = symmetry.canonicalize(model);
+    Position position = positions.get(canonical.getHash());
+    if (position == null) {
+      List<AnalysisLine> lines = analyzer.analyze(model, model.getCurrentPlayer(),
+              OpeningBook.MOVES_PER_ENTRY);
+      position = new Position(lines.size());
+      for (int i = 0; i < lines.size(); i++) {
+        position.cells[i] = (short) canonical.toCanonical(
+                registry.ordinal(lines.get(i).getMove()));
+        position.scores[i] = lines.get(i).getScore();
+      }
+      positions.put(canonical.getHash(), position);
+    }
+    return position;
+  }
+
+  private Coordinate choose(Position position, CanonicalPosition canonical) {
+    int candidates = 1;
+    while (candidates < position.cells.length
+            && position.scores[candidates] >= (long) position.scores[0] - margin) {
+      candidates++;
+    }
+    int cell = position.cells[random.nextInt(candidates)];
+    return registry.get(canonical.fromCanonical(cell));
+  }
+
+  /**
+   * Gets the number of positions in the book so far.
+   *
+   * @return The number of positions.
+   */
+  public int getPositionCount() {
+    return positions.size();
+  }
+
+  /**
+   * Writes the book in the format read by {@link OpeningBook}.
+   *
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  public void write(Path path) throws IOException {
+    List<Long> hashes = new ArrayList<>(positions.keySet());
+    hashes.sort(Long::compareUnsigned);
+    try (OutputStream file = Files.newOutputStream(path);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+      out.writeInt(OpeningBook.MAGIC);
+      out.writeInt(OpeningBook.VERSION);
+      out.writeInt(size);
+      out.writeInt(hashes.size());
+      for (long hash : hashes) {
+        Position position = positions.get(hash);
+        out.writeLong(hash);
+        out.writeInt(position.games);
+        out.writeInt(position.points);
+        for (int i = 0; i < OpeningBook.MOVES_PER_ENTRY; i++) {
+          boolean used = i < position.cells.length;
+          out.writeShort(used ? position.cells[i] : -1);
+          out.writeShort(used ? OpeningBook.encodeScore(position.scores[i]) : 0);
+        }
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      throw new IllegalArgumentException(
+              "Usage: OpeningBookBuilder output [size] [games] [plies] [depth] [margin] [seed]");
+    }
+    Path output = Paths.get(args[0]);
+    int size = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int plies = args.length > 3 ? Integer.parseInt(args[3]) : 12;
+    int depth = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+    int margin = args.length > 5 ? Integer.parseInt(args[5]) : 4;
+    long seed = args.length > 6 ? Long.parseLong(args[6]) : 1;
+
+    // A depth limit rather than a time budget keeps the book the same from run to run
+    MultiPvAnalyzer analyzer = new MultiPvAnalyzer(UNLIMITED_MILLIS, depth,
+            new TranspositionTable(TABLE_BYTES));
+    OpeningBookBuilder builder = new OpeningBookBuilder(size, plies, margin, analyzer, seed);
+    long start = System.nanoTime();
+    for (int game = 1; game <= games; game++) {
+      builder.playGame();
+      if (game % 100 == 0 || game == games) {
+        System.out.printf("%d games, %d positions, %.1f s%n", game, builder.getPositionCount(),
+                (System.nanoTime() - start) / 1e9);
+      }
+    }
+    builder.write(output);
+  }
+
+  /**
+   * The book moves of a position and the results of the games through it.
+   */
+  private static final class Position {
+    private final short[] cells;
+    // Kept as searched, and only packed when written
+    private final int[] scores;
+    private int games;
+    private int points;
+
+    Position(int moveCount) {
+      this.cells = new short[moveCount];
+      this.scores = new int[moveCount];
+    }
+  }
+}
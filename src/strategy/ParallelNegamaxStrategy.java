@@ -0,0 +1,239 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * A negamax strategy that splits the root moves of each iteration over a {@link ForkJoinPool}.
+ * Following young-brothers-wait, the first move of an iteration, which is the best move of the
+ * previous one, is searched alone to establish a bound, and the remaining moves are then
+ * searched in parallel, each on its own copy of the board. Every root search starts from the
+ * best score found so far by any thread, which they share through an atomic alpha, and all
+ * threads share one lock-free transposition table. Strategies with the same parallelism share
+ * one pool, so creating strategies, as every game and controller does, never adds threads.
+ */
+public class ParallelNegamaxStrategy implements TimedStrategy {
+  // One pool per parallelism, shared by every strategy and never shut down
+  private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+  private final long budgetMillis;
+  private final int maxDepth;
+  private final int parallelism;
+  private final ForkJoinPool pool;
+  private final TranspositionTable table;
+  private final LongAdder nodes = new LongAdder();
+  private volatile int lastDepth;
+
+  /**
+   * Constructs a parallel negamax strategy with the default time budget that uses every
+   * available processor.
+   */
+  public ParallelNegamaxStrategy() {
+    this(NegamaxStrategy.DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a parallel negamax strategy with no depth limit, sharing one transposition table
+   * with every other negamax strategy that does not supply its own.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @param parallelism  The number of threads to search with.
+   * @throws IllegalArgumentException If the budget or parallelism is not positive.
+   */
+  public ParallelNegamaxStrategy(long budgetMillis, int parallelism) {
+    this(budgetMillis, Integer.MAX_VALUE, parallelism, NegamaxStrategy.SHARED_TABLE);
+  }
+
+  /**
+   * Constructs a parallel negamax strategy.
+   *
+   * @param budgetMillis The wall-clock time to spend on each move, in milliseconds.
+   * @param maxDepth     The deepest depth to search to.
+   * @param parallelism  The number of threads to search with.
+   * @param table        The transposition table shared by the threads.
+   * @throws IllegalArgumentException If the budget, depth or parallelism is not positive, or the
+   *                                  table is null.
+   */
+  public ParallelNegamaxStrategy(long budgetMillis, int maxDepth, int parallelism,
+                                 TranspositionTable table) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.budgetMillis = budgetMillis;
+    this.maxDepth = maxDepth;
+    this.parallelism = parallelism;
+    // Worker threads are daemon threads, so an idle pool never keeps the program alive
+    this.pool = POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    this.table = table;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    return evaluateMoves(model, player, budgetMillis);
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                        AtomicBoolean stop) {
+    if (moveMillis <= 0) {
+      throw new IllegalArgumentException("Budget must be positive");
+    }
+    long deadline = System.nanoTime() + moveMillis * 1_000_000L;
+    ReversiModel board = new ReversiGame(model);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    List<MoveOption> moveOptions = new ArrayList<>();
+    nodes.reset();
+    lastDepth = 0;
+    if (moves.isEmpty()) {
+      return moveOptions;
+    }
+
+    int[] scores = new int[moves.size()];
+    int depthLimit = Math.min(maxDepth, board.getEmptyCount());
+    for (int depth = 1; depth <= depthLimit; depth++) {
+      int[] iteration = pool.invoke(new RootSplit(board, moves, depth, deadline, stop));
+      if (iteration == null) {
+        break;
+      }
+      scores = iteration;
+      lastDepth = depth;
+      MoveScores.sortByScore(moves, scores);
+      if (stop.get() || System.nanoTime() - deadline >= 0) {
+        break;
+      }
+    }
+
+    if (lastDepth == 0) {
+      // Unsearched moves would pass for a real result, so a search out of time reports none
+      return moveOptions;
+    }
+
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+
+  /**
+   * Gets the number of threads the strategy searches with.
+   *
+   * @return The parallelism level.
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Gets the deepest depth the last call to {@link #evaluateMoves} completed.
+   *
+   * @return The depth of the returned scores, or 0 if there were no moves or the first depth
+   *         did not finish in time.
+   */
+  public int getLastDepth() {
+    return lastDepth;
+  }
+
+  /**
+   * Gets the number of positions the last call to {@link #evaluateMoves} searched, summed over
+   * every thread.
+   *
+   * @return The number of nodes searched.
+   */
+  public long getLastNodes() {
+    return nodes.sum();
+  }
+
+  /**
+   * Searches every root move of one iteration.
+   */
+  private final class RootSplit extends RecursiveTask<int[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final ReversiModel board;
+    private final List<Coordinate> moves;
+    private final int depth;
+    private final long deadline;
+    private final AtomicBoolean stop;
+    private final int[] scores;
+    private final AtomicInteger alpha = new AtomicInteger(-NegamaxSearch.INFINITY);
+    private final AtomicBoolean aborted = new AtomicBoolean();
+
+    RootSplit(ReversiModel board, List<Coordinate> moves, int depth, long deadline,
+              AtomicBoolean stop) {
+      this.board = board;
+      this.moves = moves;
+      this.depth = depth;
+      this.deadline = deadline;
+      this.stop = stop;
+      this.scores = new int[moves.size()];
+    }
+
+    @Override
+    protected int[] compute() {
+      // Young brothers wait for the eldest, whose score bounds their searches
+      new RootMove(this, 0).invoke();
+      List<RootMove> brothers = new ArrayList<>();
+      for (int i = 1; i < moves.size() && !aborted.get(); i++) {
+        brothers.add(new RootMove(this, i));
+      }
+      ForkJoinTask.invokeAll(brothers);
+      return aborted.get() ? null : scores;
+    }
+  }
+
+  /**
+   * Searches one root move on a private copy of the board.
+   */
+  private final class RootMove extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final RootSplit split;
+    private final int index;
+
+    RootMove(RootSplit split, int index) {
+      this.split = split;
+      this.index = index;
+    }
+
+    @Override
+    protected void compute() {
+      if (split.aborted.get()) {
+        return;
+      }
+      ReversiModel board = new ReversiGame(split.board);
+      NegamaxSearch search = new NegamaxSearch(board, table, split.deadline, split.stop);
+      int score = search.searchMove(split.moves.get(index), board.getCurrentPlayer(),
+              split.depth, split.alpha.get(), NegamaxSearch.INFINITY);
+      nodes.add(search.getNodes());
+      if (search.isAborted()) {
+        split.aborted.set(true);
+        return;
+      }
+      split.scores[index] = score;
+      split.alpha.accumulateAndGet(score, Math::max);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package strategy;
+
+import java.util.Arrays;
+
+import model.CellState;
+import model.HexGeometry;
+import model.HexSymmetry;
+import model.ReadonlyReversiModel;
+import model.UndoRecord;
+
+/**
+ * Evaluates positions by looking up the configurations of edge, diagonal and corner patterns in
+ * the tables of a {@link PatternWeights}.
+ * The evaluator keeps the base-3 index of every pattern on the board and updates the indices of
+ * the patterns through a cell whenever a disc is placed on it or flipped, so following a search
+ * through {@link #apply} and {@link #undo} costs a few additions per disc, and evaluating a
+ * position costs one table read per pattern. An evaluator follows one board, so each thread needs
+ * its own.
+ */
+public final class PatternEvaluator {
+  private final PatternWeights weights;
+  private final HexGeometry geometry;
+  // The kind of each pattern on the board, six rotations of each kind
+  private final int[] kinds;
+  private final int[] indices;
+  // For each cell, the patterns through it and the power of 3 of the cell in each
+  private final int[][] cellPatterns;
+  private final int[][] cellPowers;
+
+  /**
+   * Constructs an evaluator that looks up the given weights.
+   *
+   * @param weights The weights of the patterns.
+   */
+  public PatternEvaluator(PatternWeights weights) {
+    this.weights = weights;
+    this.geometry = HexGeometry.forSize(weights.getSize());
+    HexSymmetry symmetry = HexSymmetry.forSize(weights.getSize());
+    int patternCount = PatternWeights.KIND_COUNT * HexGeometry.DIRECTION_COUNT;
+    this.kinds = new int[patternCount];
+    this.indices = new int[patternCount];
+    int[] counts = new int[geometry.getCellCount()];
+    int[][] cells = new int[patternCount][];
+    for (int kind = 0; kind < PatternWeights.KIND_COUNT; kind++) {
+      int[] base = weights.getCells(kind);
+      for (int rotation = 0; rotation < HexGeometry.DIRECTION_COUNT; rotation++) {
+        int pattern = kind * HexGeometry.DIRECTION_COUNT + rotation;
+        kinds[pattern] = kind;
+        cells[pattern] = new int[base.length];
+        for (int k = 0; k < base.length; k++) {
+          cells[pattern][k] = symmetry.transformCell(rotation, base[k]);
+          counts[cells[pattern][k]]++;
+        }
+      }
+    }
+    this.cellPatterns = new int[counts.length][];
+    this.cellPowers = new int[counts.length][];
+    for (int cell = 0; cell < counts.length; cell++) {
+      cellPatterns[cell] = new int[counts[cell]];
+      cellPowers[cell] = new int[counts[cell]];
+      counts[cell] = 0;
+    }
+    for (int pattern = 0; pattern < patternCount; pattern++) {
+      for (int k = 0; k < cells[pattern].length; k++) {
+        int cell = cells[pattern][k];
+        cellPatterns[cell][counts[cell]] = pattern;
+        cellPowers[cell][counts[cell]++] = PatternWeights.power(k);
+      }
+    }
+  }
+
+  /**
+   * Sets the pattern indices from the position of a model.
+   *
+   * @param model The position to follow.
+   * @throws IllegalArgumentException If the model is for a board of another size.
+   */
+  public void load(ReadonlyReversiModel model) {
+    if (model.getSize() != weights.getSize()) {
+      throw new IllegalArgumentException("Weights are for a board of another size");
+    }
+    Arrays.fill(indices, 0);
+    for (int cell = 0; cell < cellPatterns.length; cell++) {
+      CellState state = model.getCellState(geometry.getQ(cell), geometry.getR(cell));
+      if (state != CellState.EMPTY) {
+        add(cell, digit(state));
+      }
+    }
+  }
+
+  /**
+   * Updates the pattern indices for a move just made on the followed position.
+   *
+   * @param record The record of the move.
+   */
+  public void apply(UndoRecord record) {
+    int digit = digit(record.getPlayer());
+    add(record.getCell(), digit);
+    // A flipped disc goes from the other digit to the mover's: 2 to 1 for black, 1 to 2 for white
+    int change = digit == 1 ? -1 : 1;
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      add(record.getFlipped(i), change);
+    }
+  }
+
+  /**
+   * Updates the pattern indices for a move just taken back on the followed position.
+   *
+   * @param record The record of the move.
+   */
+  public void undo(UndoRecord record) {
+    int digit = digit(record.getPlayer());
+    add(record.getCell(), -digit);
+    int change = digit == 1 ? 1 : -1;
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      add(record.getFlipped(i), change);
+    }
+  }
+
+  private void add(int cell, int digitChange) {
+    int[] patterns = cellPatterns[cell];
+    int[] powers = cellPowers[cell];
+    for (int i = 0; i < patterns.length; i++) {
+      indices[patterns[i]] += digitChange * powers[i];
+    }
+  }
+
+  private static int digit(CellState state) {
+    return state == CellState.BLACK ? 1 : 2;
+  }
+
+  /**
+   * Evaluates the followed position.
+   *
+   * @param player The player to evaluate the position for.
+   * @return The value of the position for the player, in units of 1/{@link PatternWeights#SCALE}
+   *         of a disc.
+   */
+  public int evaluate(CellState player) {
+    int value = 0;
+    for (int pattern = 0; pattern < indices.length; pattern++) {
+      value += weights.tables[kinds[pattern]][indices[pattern]];
+    }
+    return player == CellState.BLACK ? value : -value;
+  }
+
+  // The number of patterns on the board, for training
+  int getPatternCount() {
+    return indices.length;
+  }
+
+  // The kind of a pattern, for training
+  int getKind(int pattern) {
+    return kinds[pattern];
+  }
+
+  // The current index of a pattern, for training
+  int getIndex(int pattern) {
+    return indices[pattern];
+  }
+}
@@ -0,0 +1,69 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * A strategy that scores each move by the {@link PatternEvaluator} value of the position it leads
+ * to, with finished games scored by their result. The evaluator follows each move through its
+ * undo record instead of rescanning the board.
+ */
+public class PatternStrategy implements ReversiStrategy {
+  private final PatternWeights trained;
+  private PatternEvaluator evaluator;
+  private int evaluatorSize;
+
+  /**
+   * Constructs a pattern strategy with the initial weights of each board size.
+   */
+  public PatternStrategy() {
+    this(null);
+  }
+
+  /**
+   * Constructs a pattern strategy with trained weights, which are used on boards of their size;
+   * other boards get the initial weights of their size.
+   *
+   * @param weights The trained weights, or null to always use the initial weights.
+   */
+  public PatternStrategy(PatternWeights weights) {
+    this.trained = weights;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    if (evaluator == null || evaluatorSize != model.getSize()) {
+      evaluatorSize = model.getSize();
+      evaluator = new PatternEvaluator(trained != null && trained.getSize() == evaluatorSize
+              ? trained : PatternWeights.initial(evaluatorSize));
+    }
+    ReversiModel board = new ReversiGame(model);
+    evaluator.load(board);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    int[] scores = new int[moves.size()];
+    for (int i = 0; i < moves.size(); i++) {
+      UndoRecord record = board.applyMove(moves.get(i), player);
+      if (board.isGameOver()) {
+        int score = NegamaxSearch.finalScore(board);
+        scores[i] = board.getCurrentPlayer() == player ? score : -score;
+      } else {
+        evaluator.apply(record);
+        scores[i] = evaluator.evaluate(player);
+        evaluator.undo(record);
+      }
+      board.undoMove(record);
+    }
+    MoveScores.sortByScore(moves, scores);
+    List<MoveOption> moveOptions = new ArrayList<>();
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+}
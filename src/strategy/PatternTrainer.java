@@ -0,0 +1,153 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * Trains {@link PatternWeights} by self-play.
+ * Each game is played by the current weights, looking one move ahead, with a random move now and
+ * then so that the games explore. After the game, every position reached is regressed by
+ * stochastic gradient descent towards the final disc difference, so the weights learn which
+ * pattern configurations tend to win. Training starts from the initial weights.
+ *
+ * <p>Usage: PatternTrainer output [size] [games] [seed]</p>
+ */
+public class PatternTrainer {
+  private static final double LEARNING_RATE = 0.001;
+  private static final double EXPLORATION = 0.1;
+
+  private final ReversiModel start;
+  private final PatternWeights weights;
+  private final PatternEvaluator evaluator;
+  private final double[][] exact;
+  private final Random random;
+  private double squaredError;
+  private long positions;
+
+  /**
+   * Constructs a trainer for a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @param seed The seed of the exploring moves.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public PatternTrainer(int size, long seed) {
+    this.start = new ReversiGame(size);
+    this.weights = PatternWeights.initial(size);
+    this.evaluator = new PatternEvaluator(weights);
+    this.exact = new double[PatternWeights.KIND_COUNT][];
+    for (int kind = 0; kind < PatternWeights.KIND_COUNT; kind++) {
+      exact[kind] = new double[weights.tables[kind].length];
+      for (int i = 0; i < exact[kind].length; i++) {
+        exact[kind][i] = weights.tables[kind][i];
+      }
+    }
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Plays one self-play game and trains the weights on it.
+   */
+  public void playGame() {
+    ReversiModel board = new ReversiGame(start);
+    evaluator.load(board);
+    List<int[]> features = new ArrayList<>();
+    while (!board.isGameOver()) {
+      CellState player = board.getCurrentPlayer();
+      List<Coordinate> moves = board.getLegalMoves(player);
+      Coordinate move = random.nextDouble() < EXPLORATION
+              ? moves.get(random.nextInt(moves.size())) : bestMove(board, player, moves);
+      evaluator.apply(board.applyMove(move, player));
+      int[] indices = new int[evaluator.getPatternCount()];
+      for (int pattern = 0; pattern < indices.length; pattern++) {
+        indices[pattern] = evaluator.getIndex(pattern);
+      }
+      features.add(indices);
+    }
+
+    double target = (board.getScore(CellState.BLACK) - board.getScore(CellState.WHITE))
+            * (double) PatternWeights.SCALE;
+    for (int[] indices : features) {
+      double predicted = 0;
+      for (int pattern = 0; pattern < indices.length; pattern++) {
+        predicted += exact[evaluator.getKind(pattern)][indices[pattern]];
+      }
+      double error = target - predicted;
+      squaredError += error * error;
+      positions++;
+      for (int pattern = 0; pattern < indices.length; pattern++) {
+        int kind = evaluator.getKind(pattern);
+        exact[kind][indices[pattern]] += LEARNING_RATE * error;
+        weights.tables[kind][indices[pattern]] = (int) Math.round(exact[kind][indices[pattern]]);
+      }
+    }
+  }
+
+  private Coordinate bestMove(ReversiModel board, CellState player, List<Coordinate> moves) {
+    Coordinate best = null;
+    int bestScore = Integer.MIN_VALUE;
+    for (Coordinate move : moves) {
+      UndoRecord record = board.applyMove(move, player);
+      evaluator.apply(record);
+      int score = evaluator.evaluate(player);
+      evaluator.undo(record);
+      board.undoMove(record);
+      if (score > bestScore) {
+        best = move;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Gets the root mean squared error of the predictions made since the last call, in discs.
+   *
+   * @return The error, or 0 if no position was trained on.
+   */
+  public double takeError() {
+    double error = positions == 0 ? 0
+            : Math.sqrt(squaredError / positions) / PatternWeights.SCALE;
+    squaredError = 0;
+    positions = 0;
+    return error;
+  }
+
+  /**
+   * Gets the weights trained so far. They keep changing as more games are played.
+   *
+   * @return The weights.
+   */
+  public PatternWeights getWeights() {
+    return weights;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      throw new IllegalArgumentException("Usage: PatternTrainer output [size] [games] [seed]");
+    }
+    int size = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+
+    PatternTrainer trainer = new PatternTrainer(size, seed);
+    long start = System.nanoTime();
+    for (int game = 1; game <= games; game++) {
+      trainer.playGame();
+      if (game % 10_000 == 0 || game == games) {
+        System.out.printf("%d games, error %.2f discs, %.1f s%n", game, trainer.takeError(),
+                (System.nanoTime() - start) / 1e9);
+      }
+    }
+    trainer.getWeights().write(Paths.get(args[0]));
+  }
+}
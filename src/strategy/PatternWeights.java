@@ -0,0 +1,235 @@
+package strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CoordinateRegistry;
+import model.HexGeometry;
+import model.HexSymmetry;
+
+/**
+ * The patterns of a {@link PatternEvaluator} for one board size, and the weight of every
+ * configuration of each pattern.
+ * There are three kinds of pattern, each laid out from one corner and rotated onto the other five:
+ * the edge running from the corner to the next one, the diagonal running from the corner to the
+ * center, and the region of cells within two steps of the corner. Patterns are capped at
+ * {@link #MAX_PATTERN_CELLS} cells, nearest the corner first. A configuration of a pattern is
+ * numbered in base 3, its k-th cell contributing 0, 1 or 2 times 3^k for an empty, black or white
+ * cell, and the weight table of a kind holds the value for black of each configuration, in
+ * units of 1/{@link #SCALE} of a disc. The six rotations of a kind share its table.
+ */
+public final class PatternWeights {
+  /**
+   * The kind of pattern along an edge.
+   */
+  public static final int EDGE = 0;
+
+  /**
+   * The kind of pattern from a corner to the center.
+   */
+  public static final int DIAGONAL = 1;
+
+  /**
+   * The kind of pattern around a corner.
+   */
+  public static final int CORNER_REGION = 2;
+
+  /**
+   * The number of kinds of pattern.
+   */
+  public static final int KIND_COUNT = 3;
+
+  /**
+   * The number of weight units in a disc.
+   */
+  public static final int SCALE = 100;
+
+  /**
+   * The most cells a pattern covers.
+   */
+  public static final int MAX_PATTERN_CELLS = 10;
+
+  private static final int MAGIC = 0x52565057;
+  // The values the initial weights give to discs, in discs
+  private static final int CORNER_VALUE = 20;
+  private static final int NEXT_TO_EMPTY_CORNER_VALUE = -5;
+
+  private final int size;
+  private final int[][] cells;
+  final int[][] tables;
+
+  private PatternWeights(int size) {
+    this.size = size;
+    this.cells = layout(size);
+    this.tables = new int[KIND_COUNT][];
+    for (int kind = 0; kind < KIND_COUNT; kind++) {
+      tables[kind] = new int[power(cells[kind].length)];
+    }
+  }
+
+  // Lays out the patterns of each kind around the corner at (size, -size)
+  private static int[][] layout(int size) {
+    HexGeometry geometry = HexGeometry.forSize(size);
+    List<Integer> edge = new ArrayList<>();
+    List<Integer> diagonal = new ArrayList<>();
+    for (int k = 0; k <= size; k++) {
+      edge.add(geometry.indexOf(size, -size + k));
+      diagonal.add(geometry.indexOf(size - k, -size + k));
+    }
+    List<Integer> region = new ArrayList<>();
+    for (int distance = 0; distance <= 2; distance++) {
+      for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+        int dq = Math.abs(geometry.getQ(cell) - size);
+        int dr = Math.abs(geometry.getR(cell) + size);
+        int ds = Math.abs(geometry.getS(cell));
+        if (Math.max(dq, Math.max(dr, ds)) == distance) {
+          region.add(cell);
+        }
+      }
+    }
+    int[][] layout = new int[KIND_COUNT][];
+    layout[EDGE] = toArray(edge);
+    layout[DIAGONAL] = toArray(diagonal);
+    layout[CORNER_REGION] = toArray(region);
+    return layout;
+  }
+
+  private static int[] toArray(List<Integer> cells) {
+    int[] array = new int[Math.min(cells.size(), MAX_PATTERN_CELLS)];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = cells.get(i);
+    }
+    return array;
+  }
+
+  static int power(int exponent) {
+    int power = 1;
+    for (int i = 0; i < exponent; i++) {
+      power *= 3;
+    }
+    return power;
+  }
+
+  /**
+   * Creates untrained weights for a board of the given size, which count discs, value corners
+   * highly and penalize discs next to an empty corner.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @return The weights.
+   * @throws IllegalArgumentException If size is not positive.
+   */
+  public static PatternWeights initial(int size) {
+    PatternWeights weights = new PatternWeights(size);
+    CoordinateRegistry registry = CoordinateRegistry.forSize(size);
+    int corner = registry.getGeometry().indexOf(size, -size);
+    // Split the value of each disc between the patterns that cover its cell
+    HexSymmetry symmetry = HexSymmetry.forSize(size);
+    int[] coverage = new int[registry.getGeometry().getCellCount()];
+    for (int rotation = 0; rotation < HexGeometry.DIRECTION_COUNT; rotation++) {
+      for (int[] pattern : weights.cells) {
+        for (int cell : pattern) {
+          coverage[symmetry.transformCell(rotation, cell)]++;
+        }
+      }
+    }
+    for (int kind = 0; kind < KIND_COUNT; kind++) {
+      int[] pattern = weights.cells[kind];
+      for (int index = 0; index < weights.tables[kind].length; index++) {
+        int value = 0;
+        boolean cornerEmpty = true;
+        for (int k = 0, rest = index; k < pattern.length; k++, rest /= 3) {
+          if (pattern[k] == corner && rest % 3 != 0) {
+            cornerEmpty = false;
+          }
+        }
+        for (int k = 0, rest = index; k < pattern.length; k++, rest /= 3) {
+          int sign = rest % 3 == 1 ? 1 : rest % 3 == 2 ? -1 : 0;
+          int cell = pattern[k];
+          int discValue = cell == corner ? 1 + CORNER_VALUE : 1;
+          value += sign * discValue * SCALE / coverage[cell];
+          if (kind == CORNER_REGION && cornerEmpty && registry.areAdjacent(cell, corner)) {
+            value += sign * NEXT_TO_EMPTY_CORNER_VALUE * SCALE;
+          }
+        }
+        weights.tables[kind][index] = value;
+      }
+    }
+    return weights;
+  }
+
+  /**
+   * Reads weights written by {@link #write}.
+   *
+   * @param path The file to read.
+   * @return The weights.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file does not hold pattern weights.
+   */
+  public static PatternWeights read(Path path) throws IOException {
+    try (InputStream file = Files.newInputStream(path);
+         DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+      if (in.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a pattern weights file");
+      }
+      PatternWeights weights = new PatternWeights(in.readInt());
+      for (int[] table : weights.tables) {
+        if (in.readInt() != table.length) {
+          throw new IllegalArgumentException("Pattern weights do not match the patterns");
+        }
+        for (int i = 0; i < table.length; i++) {
+          table[i] = in.readInt();
+        }
+      }
+      return weights;
+    }
+  }
+
+  /**
+   * Writes the weights to a file: a magic int, the board size and, for each kind of pattern,
+   * the table length followed by the weights, all as big-endian ints.
+   *
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  public void write(Path path) throws IOException {
+    try (OutputStream file = Files.newOutputStream(path);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+      out.writeInt(MAGIC);
+      out.writeInt(size);
+      for (int[] table : tables) {
+        out.writeInt(table.length);
+        for (int weight : table) {
+          out.writeInt(weight);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the size of the board the weights are for.
+   *
+   * @return The size of the board.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the cells of a kind of pattern around the corner at (size, -size), nearest first.
+   *
+   * @param kind The kind of pattern.
+   * @return The cell indices of the pattern, in the order of its base-3 digits.
+   */
+  public int[] getCells(int kind) {
+    return cells[kind].clone();
+  }
+}
@@ -0,0 +1,199 @@
+package strategy;
+
+import java.util.SplittableRandom;
+
+import model.CellState;
+import model.HexGeometry;
+import model.ReadonlyReversiModel;
+import model.ZobristKeys;
+
+/**
+ * A packed, mutable board for Monte Carlo playouts.
+ * Cells hold 0 for empty, 1 for black and 2 for white, the empty cells are kept in an array with
+ * swap-removal, and the Zobrist hash is kept up to date as moves are made. Every array is
+ * allocated once, so copying a position and playing it out allocate nothing. Passes are explicit:
+ * {@link #pass} hands the move to the opponent without placing a disc.
+ */
+final class PlayoutBoard {
+  static final int BLACK = 1;
+  static final int WHITE = 2;
+
+  private final HexGeometry geometry;
+  private final int[][][] rays;
+  private final long[] cellKeys;
+  private final long sideKey;
+  private final int[] cells;
+  private final int[] empties;
+  private final int[] emptyIndex;
+  private final int[] moveBuffer;
+  private final int[] discs = new int[3];
+  private int emptyCount;
+  private int toMove;
+  private long hash;
+
+  PlayoutBoard(int size) {
+    this.geometry = HexGeometry.forSize(size);
+    int cellCount = geometry.getCellCount();
+    this.rays = new int[cellCount][HexGeometry.DIRECTION_COUNT][];
+    this.cellKeys = new long[cellCount * 3];
+    ZobristKeys keys = ZobristKeys.forSize(size);
+    for (int cell = 0; cell < cellCount; cell++) {
+      for (int dir = 0; dir < HexGeometry.DIRECTION_COUNT; dir++) {
+        rays[cell][dir] = geometry.ray(cell, dir);
+      }
+      cellKeys[cell * 3 + BLACK] = keys.cellKey(cell, CellState.BLACK);
+      cellKeys[cell * 3 + WHITE] = keys.cellKey(cell, CellState.WHITE);
+    }
+    this.sideKey = keys.sideKey(CellState.WHITE);
+    this.cells = new int[cellCount];
+    this.empties = new int[cellCount];
+    this.emptyIndex = new int[cellCount];
+    this.moveBuffer = new int[cellCount];
+  }
+
+  /**
+   * Loads the position of a model, with the given player to move.
+   */
+  void load(ReadonlyReversiModel model, CellState player) {
+    emptyCount = 0;
+    discs[BLACK] = 0;
+    discs[WHITE] = 0;
+    toMove = color(player);
+    hash = toMove == WHITE ? sideKey : 0L;
+    for (int cell = 0; cell < cells.length; cell++) {
+      CellState state = model.getCellState(geometry.getQ(cell), geometry.getR(cell));
+      if (state == CellState.EMPTY) {
+        cells[cell] = 0;
+        emptyIndex[cell] = emptyCount;
+        empties[emptyCount++] = cell;
+      } else {
+        cells[cell] = color(state);
+        discs[cells[cell]]++;
+        hash ^= cellKeys[cell * 3 + cells[cell]];
+      }
+    }
+  }
+
+  /**
+   * Copies the position of another board of the same size.
+   */
+  void copyFrom(PlayoutBoard other) {
+    System.arraycopy(other.cells, 0, cells, 0, cells.length);
+    System.arraycopy(other.empties, 0, empties, 0, other.emptyCount);
+    System.arraycopy(other.emptyIndex, 0, emptyIndex, 0, emptyIndex.length);
+    discs[BLACK] = other.discs[BLACK];
+    discs[WHITE] = other.discs[WHITE];
+    emptyCount = other.emptyCount;
+    toMove = other.toMove;
+    hash = other.hash;
+  }
+
+  /**
+   * Collects the legal moves of the player to move.
+   *
+   * @param out The array to write the cell indices into, with room for every cell.
+   * @return The number of legal moves.
+   */
+  int legalMoves(int[] out) {
+    int count = 0;
+    for (int i = 0; i < emptyCount; i++) {
+      int cell = empties[i];
+      if (captures(cell, toMove)) {
+        out[count++] = cell;
+      }
+    }
+    return count;
+  }
+
+  private boolean captures(int cell, int color) {
+    for (int[] ray : rays[cell]) {
+      int run = 0;
+      while (run < ray.length && cells[ray[run]] == 3 - color) {
+        run++;
+      }
+      if (run > 0 && run < ray.length && cells[ray[run]] == color) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Makes a legal move for the player to move and hands the move to the opponent.
+   */
+  void play(int cell) {
+    int color = toMove;
+    int opponent = 3 - color;
+    for (int[] ray : rays[cell]) {
+      int run = 0;
+      while (run < ray.length && cells[ray[run]] == opponent) {
+        run++;
+      }
+      if (run > 0 && run < ray.length && cells[ray[run]] == color) {
+        for (int i = 0; i < run; i++) {
+          int flipped = ray[i];
+          cells[flipped] = color;
+          hash ^= cellKeys[flipped * 3 + opponent] ^ cellKeys[flipped * 3 + color];
+        }
+        discs[color] += run;
+        discs[opponent] -= run;
+      }
+    }
+    cells[cell] = color;
+    discs[color]++;
+    hash ^= cellKeys[cell * 3 + color];
+    // Swap-remove the cell from the empty cells
+    int index = emptyIndex[cell];
+    int last = empties[--emptyCount];
+    empties[index] = last;
+    emptyIndex[last] = index;
+    pass();
+  }
+
+  /**
+   * Hands the move to the opponent without placing a disc.
+   */
+  void pass() {
+    toMove = 3 - toMove;
+    hash ^= sideKey;
+  }
+
+  /**
+   * Plays uniformly random legal moves until neither player can move.
+   *
+   * @param random The source of randomness.
+   * @return The final disc difference, black minus white.
+   */
+  int playout(SplittableRandom random) {
+    boolean passed = false;
+    while (true) {
+      int count = legalMoves(moveBuffer);
+      if (count == 0) {
+        if (passed || emptyCount == 0) {
+          return discs[BLACK] - discs[WHITE];
+        }
+        pass();
+        passed = true;
+      } else {
+        passed = false;
+        play(moveBuffer[random.nextInt(count)]);
+      }
+    }
+  }
+
+  int getToMove() {
+    return toMove;
+  }
+
+  long getHash() {
+    return hash;
+  }
+
+  int getCellCount() {
+    return cells.length;
+  }
+
+  static int color(CellState player) {
+    return player == CellState.BLACK ? BLACK : WHITE;
+  }
+}
@@ -0,0 +1,193 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReadonlyReversiModel;
+import model.ReversiGame;
+import model.ReversiModel;
+
+/**
+ * Thinks about the computer's replies while the opponent is still choosing a move.
+ * Given the position with the opponent to move, a ponderer plays each of the opponent's legal
+ * moves on a private copy, starting with the one the opponent is most likely to play, and has
+ * its strategy evaluate the computer's replies to it on a background thread. The results are
+ * kept per resulting position hash, so once the opponent moves the reply can be looked up
+ * instead of searched. Strategies that keep state between searches, such as a shared
+ * transposition table or a reused tree, also carry over the work done for the other replies.
+ * A {@link TimedStrategy} is searched with a stop flag, so the search in progress gives up as
+ * soon as pondering stops instead of competing with the computer's real search.
+ * The strategy is only ever called from the background thread, so it must not be used elsewhere.
+ */
+public class Ponderer {
+  /**
+   * The time a timed strategy is given to search each reply by the one-argument constructor, in
+   * milliseconds.
+   */
+  public static final long DEFAULT_REPLY_MILLIS = NegamaxStrategy.DEFAULT_BUDGET_MILLIS;
+
+  private final ReversiStrategy strategy;
+  private final long replyMillis;
+  private final ExecutorService background;
+  private final Map<Long, List<MoveOption>> results = new ConcurrentHashMap<>();
+  // Incremented whenever pondering starts or stops, so stale work can tell it is no longer wanted
+  private final AtomicInteger generation = new AtomicInteger();
+  // Raised when pondering starts again or stops, so the search in progress gives up
+  private volatile AtomicBoolean halt = new AtomicBoolean();
+  private int hits;
+  private int misses;
+
+  /**
+   * Constructs a ponderer that evaluates replies with the given strategy.
+   *
+   * @param strategy The strategy to ponder with, used by no one else.
+   * @throws IllegalArgumentException If the strategy is null.
+   */
+  public Ponderer(ReversiStrategy strategy) {
+    this(strategy, DEFAULT_REPLY_MILLIS);
+  }
+
+  /**
+   * Constructs a ponderer that evaluates replies with the given strategy, giving a timed
+   * strategy the given time for each reply.
+   *
+   * @param strategy    The strategy to ponder with, used by no one else.
+   * @param replyMillis The time to search each reply for, in milliseconds.
+   * @throws IllegalArgumentException If the strategy is null or the time is not positive.
+   */
+  public Ponderer(ReversiStrategy strategy, long replyMillis) {
+    if (strategy == null) {
+      throw new IllegalArgumentException("Strategy cannot be null");
+    }
+    if (replyMillis <= 0) {
+      throw new IllegalArgumentException("Reply time must be positive");
+    }
+    this.strategy = strategy;
+    this.replyMillis = replyMillis;
+    this.background = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ponderer");
+      // Pondering should never keep the program alive
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts pondering a position, dropping the results of any earlier position.
+   *
+   * @param position The position, with the opponent to move.
+   * @param computer The player whose replies to ponder.
+   */
+  public void start(ReversiModel position, CellState computer) {
+    int current = generation.incrementAndGet();
+    halt.set(true);
+    AtomicBoolean stop = new AtomicBoolean();
+    halt = stop;
+    results.clear();
+    if (position.isGameOver() || position.getCurrentPlayer() == computer) {
+      return;
+    }
+    // Copy the position now, as the game moves on while the background thread works
+    ReversiModel copy = new ReversiGame(position);
+    background.execute(() -> ponder(copy, computer, current, stop));
+  }
+
+  private void ponder(ReversiModel position, CellState computer, int current,
+                      AtomicBoolean stop) {
+    CellState opponent = position.getCurrentPlayer();
+    List<Coordinate> candidates = new ArrayList<>(position.getLegalMoves(opponent));
+    // Start with the reply the opponent is most likely to play
+    Coordinate likely = position.findBestMove(opponent);
+    if (likely != null && candidates.remove(likely)) {
+      candidates.add(0, likely);
+    }
+    for (Coordinate candidate : candidates) {
+      if (generation.get() != current) {
+        return;
+      }
+      ReversiModel child = new ReversiGame(position);
+      child.makeMove(candidate, opponent);
+      if (child.isGameOver() || child.getCurrentPlayer() != computer) {
+        continue;
+      }
+      List<MoveOption> options = reply(child, computer, stop);
+      // A search with nothing to show is not a reason to pass
+      if (generation.get() == current && !options.isEmpty()) {
+        results.put(child.getPositionHash(), options);
+      }
+    }
+  }
+
+  private List<MoveOption> reply(ReversiModel child, CellState computer, AtomicBoolean stop) {
+    if (!(strategy instanceof TimedStrategy)) {
+      return strategy.topMoves(child, computer, 1);
+    }
+    List<MoveOption> options = ((TimedStrategy) strategy).evaluateMoves(child, computer,
+            replyMillis, stop);
+    return options.isEmpty() ? options : new ArrayList<>(options.subList(0, 1));
+  }
+
+  /**
+   * Stops pondering and gets the result pondered for a position, if any.
+   *
+   * @param position The position the opponent's move led to.
+   * @return The best reply for the position, as a list of at most one move, or null if the
+   *         position was not pondered in time.
+   */
+  public List<MoveOption> takeResult(ReadonlyReversiModel position) {
+    generation.incrementAndGet();
+    halt.set(true);
+    List<MoveOption> options = results.get(position.getPositionHash());
+    results.clear();
+    if (options == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return options;
+  }
+
+  /**
+   * Stops pondering and drops every result.
+   */
+  public void stop() {
+    generation.incrementAndGet();
+    halt.set(true);
+    results.clear();
+  }
+
+  /**
+   * Gets the number of the opponent's moves pondered so far for the current position.
+   *
+   * @return The number of pondered results.
+   */
+  public int getResultCount() {
+    return results.size();
+  }
+
+  /**
+   * Gets the number of times {@link #takeResult} found a pondered result.
+   *
+   * @return The number of hits.
+   */
+  public int getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of times {@link #takeResult} found no pondered result.
+   *
+   * @return The number of misses.
+   */
+  public int getMisses() {
+    return misses;
+  }
+}
@@ -3,8 +3,55 @@ package strategy;
 import java.util.List;
 
 import model.CellState;
+import model.CoordinateRegistry;
 import model.ReversiModel;
 
 public interface ReversiStrategy {
   List<MoveOption> evaluateMoves(ReversiModel model, CellState player);
+
+  /**
+   * Evaluates the moves of a turn, using the analysis shared with the other strategies of the
+   * turn. Strategies that need legal moves, captures, corners or child boards should override
+   * this method to take them from the context.
+   *
+   * @param context The analysis of the turn.
+   * @return The evaluated moves.
+   */
+  default List<MoveOption> evaluateMoves(AnalysisContext context) {
+    return evaluateMoves(context.getModel(), context.getPlayer());
+  }
+
+  /**
+   * Evaluates the moves of a turn one at a time into a sink, stopping as soon as the sink asks
+   * to. Strategies that can score moves independently should override this method to stream
+   * them without building a list; by default, the moves of {@link #evaluateMoves} are fed to
+   * the sink in order.
+   *
+   * @param context The analysis of the turn.
+   * @param sink    The sink to feed the moves to.
+   * @return true if every move was streamed, false if the sink stopped the strategy early.
+   */
+  default boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(context.getModel().getSize());
+    for (MoveOption option : evaluateMoves(context)) {
+      if (!sink.accept(registry.ordinal(option.getMove()), option.getScore())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the highest scored moves of a turn, streaming them through a {@link TopMoves}.
+   *
+   * @param model  The game.
+   * @param player The player to move.
+   * @param k      The number of moves to keep.
+   * @return At most k moves, best first, with ties in the order the strategy produced them.
+   */
+  default List<MoveOption> topMoves(ReversiModel model, CellState player, int k) {
+    TopMoves top = new TopMoves(k);
+    streamMoves(new AnalysisContext(model, player), top);
+    return top.toMoveOptions(model.getSize());
+  }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package strategy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import model.CellState;
+
+/**
+ * A bounded cache of evaluated moves, keyed by canonical position hash, board size and player,
+ * for {@link CachingStrategy}.
+ * The cache holds at most a given number of entries and a given total weight, the weight of an
+ * entry being the number of moves it holds plus one. When either bound is passed, the least
+ * recently used entries are evicted. Every method may be called from any thread, so one cache
+ * can serve the strategies of many concurrent games; the entries should all come from the same
+ * kind of strategy.
+ */
+public final class StrategyCache {
+  /**
+   * The number of entries the default cache holds.
+   */
+  public static final int DEFAULT_MAX_ENTRIES = 1 << 16;
+
+  /**
+   * The total weight the default cache holds.
+   */
+  public static final long DEFAULT_MAX_WEIGHT = 1L << 20;
+
+  private final int maxEntries;
+  private final long maxWeight;
+  // In access order, so the eldest entry is the least recently used
+  private final LinkedHashMap<Key, Moves> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private long weight;
+  private long evictions;
+
+  /**
+   * Constructs a cache with the default bounds.
+   */
+  public StrategyCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+  }
+
+  /**
+   * Constructs a cache with the given bounds.
+   *
+   * @param maxEntries The most entries to hold.
+   * @param maxWeight  The most total weight to hold.
+   * @throws IllegalArgumentException If a bound is not positive.
+   */
+  public StrategyCache(int maxEntries, long maxWeight) {
+    if (maxEntries <= 0 || maxWeight <= 0) {
+      throw new IllegalArgumentException("Cache bounds must be positive");
+    }
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+  }
+
+  /**
+   * Looks up the moves of a position, counting a hit or a miss.
+   */
+  Moves get(long hash, int size, CellState player) {
+    Moves moves;
+    synchronized (this) {
+      moves = entries.get(new Key(hash, size, player));
+    }
+    if (moves == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return moves;
+  }
+
+  /**
+   * Stores the moves of a position, evicting the least recently used entries to stay in bounds.
+   */
+  synchronized void put(long hash, int size, CellState player, Moves moves) {
+    Moves old = entries.put(new Key(hash, size, player), moves);
+    weight += moves.weight() - (old == null ? 0 : old.weight());
+    Iterator<Moves> eldest = entries.values().iterator();
+    while (entries.size() > maxEntries || weight > maxWeight) {
+      weight -= eldest.next().weight();
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * Removes every entry. The hit and miss counts are kept.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    weight = 0;
+  }
+
+  /**
+   * Gets the number of lookups that found their position.
+   *
+   * @return The number of hits.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups that did not find their position.
+   *
+   * @return The number of misses.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the fraction of lookups that found their position.
+   *
+   * @return The hit rate, or 0 if nothing was looked up.
+   */
+  public double getHitRate() {
+    long hitCount = hits.sum();
+    long total = hitCount + misses.sum();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  /**
+   * Gets the number of entries evicted to stay in bounds.
+   *
+   * @return The number of evictions.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Gets the number of entries held.
+   *
+   * @return The number of entries.
+   */
+  public synchronized int getSize() {
+    return entries.size();
+  }
+
+  /**
+   * Gets the total weight of the entries held.
+   *
+   * @return The total weight.
+   */
+  public synchronized long getWeight() {
+    return weight;
+  }
+
+  /**
+   * The key of an entry.
+   */
+  private static final class Key {
+    private final long hash;
+    private final int size;
+    private final CellState player;
+
+    Key(long hash, int size, CellState player) {
+      this.hash = hash;
+      this.size = size;
+      this.player = player;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return hash == key.hash && size == key.size && player == key.player;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(hash, size, player);
+    }
+  }
+
+  /**
+   * Evaluated moves in the canonical frame of their position, best first as the strategy
+   * returned them.
+   */
+  static final class Moves {
+    final int[] cells;
+    final int[] scores;
+
+    Moves(int[] cells, int[] scores) {
+      this.cells = cells;
+      this.scores = scores;
+    }
+
+    long weight() {
+      return cells.length + 1;
+    }
+  }
+}
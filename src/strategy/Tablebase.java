@@ -0,0 +1,194 @@
+package strategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import model.CanonicalPosition;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReadonlyReversiModel;
+
+/**
+ * A table of perfect-play results read from a file written by {@link TablebaseGenerator}.
+ * The file is memory-mapped and holds an open-addressing hash table keyed by canonical hash,
+ * so a probe canonicalizes the position with {@link HexSymmetry} and then reads, on average, one
+ * or two slots, however large the table is.
+ *
+ * <p>The file is big-endian. A header of eight ints, {@link #MAGIC}, {@link #VERSION}, the board
+ * size, the most empty cells of any position in the table, 1 if the table is complete and 0
+ * otherwise, the slot count, a power of two, the entry count and a reserved 0, is followed by
+ * the slots as longs. An empty slot is 0. A full slot keeps the top 48 bits of the canonical
+ * hash, with the top bit forced on, above a byte holding the canonical cell of the best move
+ * plus one, or 0 if there is no move, and a byte holding the signed final disc difference for
+ * the player to move. Entries are placed by the low bits of the hash and collisions probe the
+ * following slots.</p>
+ *
+ * <p>A complete table holds every position reachable from the start of the game with at most
+ * its number of empty cells; other tables hold only the positions they were generated from and
+ * their descendants. A table is immutable once opened, so it may be probed on any thread.</p>
+ */
+public final class Tablebase {
+  /**
+   * The first int of every tablebase file.
+   */
+  public static final int MAGIC = 0x52565442;
+
+  /**
+   * The version of the file format.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * The result of probing a position that is not in the table.
+   */
+  public static final int UNKNOWN = Integer.MIN_VALUE;
+
+  static final int HEADER_BYTES = 8 * Integer.BYTES;
+  static final long KEY_MASK = ~0xFFFFL;
+
+  private final ByteBuffer buffer;
+  private final int size;
+  private final int maxEmpties;
+  private final boolean complete;
+  private final int slotMask;
+  private final int entryCount;
+  private final HexSymmetry symmetry;
+  private final CoordinateRegistry registry;
+
+  private Tablebase(ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("Not a tablebase");
+    }
+    if (buffer.getInt(Integer.BYTES) != VERSION) {
+      throw new IllegalArgumentException("Unsupported tablebase version "
+              + buffer.getInt(Integer.BYTES));
+    }
+    int slotCount = buffer.getInt(5 * Integer.BYTES);
+    if (slotCount <= 0 || Integer.bitCount(slotCount) != 1
+            || HEADER_BYTES + (long) slotCount * Long.BYTES != buffer.capacity()) {
+      throw new IllegalArgumentException("Truncated tablebase");
+    }
+    int entries = buffer.getInt(6 * Integer.BYTES);
+    if (entries < 0 || entries >= slotCount) {
+      throw new IllegalArgumentException("Corrupt tablebase");
+    }
+    this.buffer = buffer;
+    this.size = buffer.getInt(2 * Integer.BYTES);
+    this.maxEmpties = buffer.getInt(3 * Integer.BYTES);
+    this.complete = buffer.getInt(4 * Integer.BYTES) != 0;
+    this.slotMask = slotCount - 1;
+    this.entryCount = entries;
+    this.symmetry = HexSymmetry.forSize(size);
+    this.registry = CoordinateRegistry.forSize(size);
+  }
+
+  /**
+   * Opens a tablebase file by memory-mapping it.
+   *
+   * @param path The tablebase file.
+   * @return The tablebase.
+   * @throws IOException              If the file cannot be read.
+   * @throws IllegalArgumentException If the file is not a valid tablebase.
+   */
+  public static Tablebase open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      return new Tablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Determines whether the table is certain to hold a position.
+   *
+   * @param model The position to check.
+   * @return true if the table is complete, for the position's board size, and the position has
+   *         few enough empty cells, false otherwise.
+   */
+  public boolean covers(ReadonlyReversiModel model) {
+    return complete && model.getSize() == size && model.getEmptyCount() <= maxEmpties;
+  }
+
+  /**
+   * Gets the result of a position under perfect play, with the model's current player to move.
+   *
+   * @param model The position to probe.
+   * @return The final disc difference for the player to move, or {@link #UNKNOWN} if the
+   *         position is not in the table.
+   */
+  public int probe(ReadonlyReversiModel model) {
+    if (!mayHold(model)) {
+      return UNKNOWN;
+    }
+    long slot = find(symmetry.canonicalize(model).getHash());
+    return slot == 0 ? UNKNOWN : (byte) slot;
+  }
+
+  /**
+   * Gets a best move of a position, with the model's current player to move.
+   *
+   * @param model The position to probe.
+   * @return A move that keeps the perfect-play result, or null if the position is not in the
+   *         table or the game is over.
+   */
+  public Coordinate bestMove(ReadonlyReversiModel model) {
+    if (!mayHold(model)) {
+      return null;
+    }
+    CanonicalPosition canonical = symmetry.canonicalize(model);
+    int cell = (int) (find(canonical.getHash()) >>> Byte.SIZE & 0xFF) - 1;
+    return cell < 0 ? null : registry.get(canonical.fromCanonical(cell));
+  }
+
+  private boolean mayHold(ReadonlyReversiModel model) {
+    return model.getSize() == size && model.getEmptyCount() <= maxEmpties;
+  }
+
+  // Finds the slot of a canonical hash, or returns 0 if it is not in the table
+  private long find(long hash) {
+    long key = keyOf(hash);
+    int i = (int) hash & slotMask;
+    // A corrupt table may have no empty slot, so never probe more than every slot once
+    for (int probes = 0; probes <= slotMask; probes++, i = (i + 1) & slotMask) {
+      long slot = buffer.getLong(HEADER_BYTES + i * Long.BYTES);
+      if (slot == 0 || (slot & KEY_MASK) == key) {
+        return slot;
+      }
+    }
+    return 0;
+  }
+
+  static long keyOf(long hash) {
+    return (hash | Long.MIN_VALUE) & KEY_MASK;
+  }
+
+  /**
+   * Gets the size of the board the table was generated for.
+   *
+   * @return The size of the board.
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Gets the most empty cells of any position in the table.
+   *
+   * @return The number of empty cells.
+   */
+  public int getMaxEmpties() {
+    return maxEmpties;
+  }
+
+  /**
+   * Gets the number of positions in the table.
+   *
+   * @return The number of entries.
+   */
+  public int getEntryCount() {
+    return entryCount;
+  }
+}
@@ -0,0 +1,197 @@
+package strategy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import model.CanonicalPosition;
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.HexSymmetry;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * Generates a {@link Tablebase} by solving every position below the positions it is given.
+ * Each position is solved once, however many move orders or symmetric variants lead to it: its
+ * children are solved first and the position takes the best of their results, so the table is
+ * built from the end of the game backwards. Generating from the start position enumerates the
+ * whole game, which is practical for a board of size 2; for larger boards, generate from late
+ * positions, such as those reached by random games.
+ *
+ * <p>Usage: TablebaseGenerator output [size] [empties] [games] [seed]. With no more empties than
+ * the start position has, the whole game is enumerated; otherwise random games are played to
+ * that many empty cells and each position reached is added.</p>
+ */
+public class TablebaseGenerator {
+  // The fraction of slots left empty keeps probe sequences short
+  private static final int SLOTS_PER_ENTRY = 2;
+
+  private final int size;
+  private final HexSymmetry symmetry;
+  private final CoordinateRegistry registry;
+  // Canonical hash to the best move's canonical cell plus one, shifted a byte, and the score
+  private final Map<Long, Integer> results = new HashMap<>();
+  private int maxEmpties;
+  private boolean complete;
+
+  /**
+   * Constructs a generator for a board of the given size.
+   *
+   * @param size The size of the board. Must be a positive value.
+   * @throws IllegalArgumentException If size is not positive, or the board has too many cells
+   *                                  for a disc difference to fit in a signed byte.
+   */
+  public TablebaseGenerator(int size) {
+    this.symmetry = HexSymmetry.forSize(size);
+    this.registry = CoordinateRegistry.forSize(size);
+    // The move takes an unsigned byte, but the disc difference a signed one
+    if (registry.getGeometry().getCellCount() > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Board too large for a tablebase");
+    }
+    this.size = size;
+  }
+
+  /**
+   * Adds the start position and, with it, every position of the game.
+   */
+  public void addStartPosition() {
+    ReversiModel model = new ReversiGame(size);
+    addPosition(model);
+    complete = true;
+  }
+
+  /**
+   * Adds a position and every position reachable from it.
+   *
+   * @param position The position to add, which is left unchanged.
+   * @throws IllegalArgumentException If the position is for a board of another size.
+   */
+  public void addPosition(ReversiModel position) {
+    if (position.getSize() != size) {
+      throw new IllegalArgumentException("Position is for a board of another size");
+    }
+    ReversiModel model = new ReversiGame(position);
+    maxEmpties = Math.max(maxEmpties, model.getEmptyCount());
+    solve(model);
+  }
+
+  // Returns the score for the player to move, solving the position if it is new
+  private int solve(ReversiModel model) {
+    CanonicalPosition canonical = symmetry.canonicalize(model);
+    Integer known = results.get(canonical.getHash());
+    if (known != null) {
+      return (byte) (int) known;
+    }
+    CellState player = model.getCurrentPlayer();
+    int best;
+    int bestCell = -1;
+    if (model.isGameOver()) {
+      best = model.getScore(player) - model.getScore(model.opposite(player));
+    } else {
+      best = Integer.MIN_VALUE;
+      List<Coordinate> moves = model.getLegalMoves(player);
+      for (Coordinate move : moves) {
+        UndoRecord record = model.applyMove(move, player);
+        int score = solve(model);
+        // A move that leaves the same player to move is not answered by the opponent
+        if (model.getCurrentPlayer() != player) {
+          score = -score;
+        }
+        model.undoMove(record);
+        if (score > best) {
+          best = score;
+          bestCell = registry.ordinal(move);
+        }
+      }
+      bestCell = canonical.toCanonical(bestCell);
+    }
+    results.put(canonical.getHash(), (bestCell + 1) << Byte.SIZE | best & 0xFF);
+    return best;
+  }
+
+  /**
+   * Gets the number of positions solved so far.
+   *
+   * @return The number of positions.
+   */
+  public int getPositionCount() {
+    return results.size();
+  }
+
+  /**
+   * Writes the table in the format read by {@link Tablebase}.
+   *
+   * @param path The file to write.
+   * @throws IOException If the file cannot be written.
+   */
+  public void write(Path path) throws IOException {
+    int slotCount = Integer.highestOneBit(Math.max(1, results.size() * SLOTS_PER_ENTRY - 1)) << 1;
+    int mask = slotCount - 1;
+    long[] slots = new long[slotCount];
+    for (Map.Entry<Long, Integer> entry : results.entrySet()) {
+      long hash = entry.getKey();
+      int i = (int) hash & mask;
+      while (slots[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      slots[i] = Tablebase.keyOf(hash) | entry.getValue();
+    }
+    try (OutputStream file = Files.newOutputStream(path);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+      out.writeInt(Tablebase.MAGIC);
+      out.writeInt(Tablebase.VERSION);
+      out.writeInt(size);
+      out.writeInt(maxEmpties);
+      out.writeInt(complete ? 1 : 0);
+      out.writeInt(slotCount);
+      out.writeInt(results.size());
+      out.writeInt(0);
+      for (long slot : slots) {
+        out.writeLong(slot);
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      throw new IllegalArgumentException(
+              "Usage: TablebaseGenerator output [size] [empties] [games] [seed]");
+    }
+    Path output = Paths.get(args[0]);
+    int size = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+    int empties = args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+    int games = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+    TablebaseGenerator generator = new TablebaseGenerator(size);
+    long start = System.nanoTime();
+    if (empties >= new ReversiGame(size).getEmptyCount()) {
+      generator.addStartPosition();
+    } else {
+      Random random = new Random(seed);
+      for (int game = 0; game < games; game++) {
+        ReversiModel model = new ReversiGame(size);
+        while (!model.isGameOver() && model.getEmptyCount() > empties) {
+          CellState player = model.getCurrentPlayer();
+          List<Coordinate> moves = model.getLegalMoves(player);
+          model.applyMove(moves.get(random.nextInt(moves.size())), player);
+        }
+        generator.addPosition(model);
+      }
+    }
+    System.out.printf("%d positions, %.1f s%n", generator.getPositionCount(),
+            (System.nanoTime() - start) / 1e9);
+    generator.write(output);
+  }
+}
@@ -0,0 +1,91 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * A strategy that plays perfectly from a {@link Tablebase} whenever the table holds the result of
+ * every move, and hands every other position to a fallback strategy. Each move is scored with the
+ * final disc difference it leads to under perfect play.
+ */
+public class TablebaseStrategy implements ReversiStrategy {
+  private final Tablebase tablebase;
+  private final ReversiStrategy fallback;
+  private int hits;
+  private int misses;
+
+  /**
+   * Constructs a tablebase strategy.
+   *
+   * @param tablebase The table to play from.
+   * @param fallback  The strategy for positions outside the table.
+   * @throws IllegalArgumentException If the tablebase or fallback is null.
+   */
+  public TablebaseStrategy(Tablebase tablebase, ReversiStrategy fallback) {
+    if (tablebase == null || fallback == null) {
+      throw new IllegalArgumentException("Tablebase and fallback cannot be null");
+    }
+    this.tablebase = tablebase;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+    List<MoveOption> moveOptions = player == model.getCurrentPlayer()
+            ? probeMoves(model, player) : null;
+    if (moveOptions == null) {
+      misses++;
+      return fallback.evaluateMoves(model, player);
+    }
+    hits++;
+    return moveOptions;
+  }
+
+  // Scores every move from the table, or returns null if any of them is missing
+  private List<MoveOption> probeMoves(ReversiModel model, CellState player) {
+    ReversiModel board = new ReversiGame(model);
+    List<Coordinate> moves = board.getLegalMoves(player);
+    int[] scores = new int[moves.size()];
+    for (int i = 0; i < moves.size(); i++) {
+      UndoRecord record = board.applyMove(moves.get(i), player);
+      int score = tablebase.probe(board);
+      // A move that leaves the same player to move is not answered by the opponent
+      boolean sameMover = board.getCurrentPlayer() == player;
+      board.undoMove(record);
+      if (score == Tablebase.UNKNOWN) {
+        return null;
+      }
+      scores[i] = sameMover ? score : -score;
+    }
+    MoveScores.sortByScore(moves, scores);
+    List<MoveOption> moveOptions = new ArrayList<>();
+    for (int i = 0; i < moves.size(); i++) {
+      moveOptions.add(new MoveOption(moves.get(i), scores[i]));
+    }
+    return moveOptions;
+  }
+
+  /**
+   * Gets the number of moves played from the table.
+   *
+   * @return The number of table hits.
+   */
+  public int getHits() {
+    return hits;
+  }
+
+  /**
+   * Gets the number of moves handed to the fallback strategy.
+   *
+   * @return The number of table misses.
+   */
+  public int getMisses() {
+    return misses;
+  }
+}
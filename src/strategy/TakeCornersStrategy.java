@@ -2,23 +2,45 @@ package strategy;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 import model.CellState;
 import model.Coordinate;
+import model.CoordinateRegistry;
 import model.ReversiModel;
 
 public class TakeCornersStrategy implements ReversiStrategy {
 
   @Override
   public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
-    Set<Coordinate> corners = model.getCorners();
+    return evaluateMoves(new AnalysisContext(model, player));
+  }
+
+  @Override
+  public List<MoveOption> evaluateMoves(AnalysisContext context) {
     List<MoveOption> moveOptions = new ArrayList<>();
-    for (Coordinate move : model.getLegalMoves(player)) {
-      int score = corners.contains(move) ? Integer.MAX_VALUE : model.calculateCaptures(move, player);
+    for (Coordinate move : context.getLegalMoves()) {
+      int score = context.isCorner(move) ? MoveSink.UNBEATABLE : context.getCaptures(move);
       moveOptions.add(new MoveOption(move, score));
     }
     return moveOptions;
   }
+
+  @Override
+  public boolean streamMoves(AnalysisContext context, MoveSink sink) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(context.getModel().getSize());
+    // Corners go first, so a sink looking for the best move can stop at the first one
+    for (Coordinate move : context.getLegalMoves()) {
+      if (context.isCorner(move) && !sink.accept(registry.ordinal(move), MoveSink.UNBEATABLE)) {
+        return false;
+      }
+    }
+    for (Coordinate move : context.getLegalMoves()) {
+      if (!context.isCorner(move)
+              && !sink.accept(registry.ordinal(move), context.getCaptures(move))) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
 
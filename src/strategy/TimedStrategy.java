@@ -0,0 +1,41 @@
+package strategy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.ReversiModel;
+
+/**
+ * A strategy that searches for as long as it is given and then returns the best moves it has
+ * found, so a caller with a clock can hand it each move's share of the remaining time.
+ */
+public interface TimedStrategy extends ReversiStrategy {
+  /**
+   * Evaluates moves within a time budget instead of the strategy's own.
+   *
+   * @param model      The game.
+   * @param player     The player to move.
+   * @param moveMillis The wall-clock time to spend, in milliseconds. Must be positive.
+   * @return The evaluated moves, best first, or none if the budget ran out before any move
+   *         was scored.
+   */
+  default List<MoveOption> evaluateMoves(ReversiModel model, CellState player,
+                                         long moveMillis) {
+    return evaluateMoves(model, player, moveMillis, new AtomicBoolean());
+  }
+
+  /**
+   * Evaluates moves within a time budget, giving up early once another thread raises the stop
+   * flag. A search stopped that way returns what it has, like one that ran out of time.
+   *
+   * @param model      The game.
+   * @param player     The player to move.
+   * @param moveMillis The wall-clock time to spend, in milliseconds. Must be positive.
+   * @param stop       The flag that stops the search when raised.
+   * @return The evaluated moves, best first, or none if the search ended before any move was
+   *         scored.
+   */
+  List<MoveOption> evaluateMoves(ReversiModel model, CellState player, long moveMillis,
+                                 AtomicBoolean stop);
+}
@@ -0,0 +1,110 @@
+package strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.CoordinateRegistry;
+
+/**
+ * A {@link MoveSink} that keeps the k best moves it receives, best first, in primitive arrays.
+ * Moves with equal scores keep the order they arrived in. Once it holds k moves that
+ * {@link MoveSink#UNBEATABLE cannot be beaten}, it asks the strategy to stop.
+ */
+public final class TopMoves implements MoveSink {
+  private static final int INITIAL_CAPACITY = 8;
+
+  private final int k;
+  private int[] cells;
+  private int[] scores;
+  private int count;
+
+  /**
+   * Constructs a sink that keeps the k best moves.
+   *
+   * @param k The number of moves to keep.
+   * @throws IllegalArgumentException If k is not positive.
+   */
+  public TopMoves(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("k must be positive");
+    }
+    this.k = k;
+    this.cells = new int[Math.min(k, INITIAL_CAPACITY)];
+    this.scores = new int[cells.length];
+  }
+
+  @Override
+  public boolean accept(int cell, int score) {
+    if (count == k && score <= scores[count - 1]) {
+      return scores[count - 1] != UNBEATABLE;
+    }
+    if (count == cells.length) {
+      int capacity = (int) Math.min(k, 2L * cells.length);
+      cells = Arrays.copyOf(cells, capacity);
+      scores = Arrays.copyOf(scores, capacity);
+    }
+    // Insert after every move scored at least as high, dropping the last move when full
+    int i = Math.min(count, k - 1);
+    while (i > 0 && scores[i - 1] < score) {
+      cells[i] = cells[i - 1];
+      scores[i] = scores[i - 1];
+      i--;
+    }
+    cells[i] = cell;
+    scores[i] = score;
+    count = Math.min(count + 1, k);
+    return count < k || scores[count - 1] != UNBEATABLE;
+  }
+
+  /**
+   * Gets the number of moves kept.
+   *
+   * @return The number of moves, at most k.
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the cell index of a kept move.
+   *
+   * @param i The rank of the move, 0 for the best.
+   * @return The cell index of the move.
+   */
+  public int getCell(int i) {
+    return cells[i];
+  }
+
+  /**
+   * Gets the score of a kept move.
+   *
+   * @param i The rank of the move, 0 for the best.
+   * @return The score of the move.
+   */
+  public int getScore(int i) {
+    return scores[i];
+  }
+
+  /**
+   * Forgets every move, so the sink can be reused.
+   */
+  public void clear() {
+    count = 0;
+  }
+
+  /**
+   * Converts the kept moves to move options.
+   *
+   * @param size The size of the board the cell indices refer to.
+   * @return The moves, best first.
+   */
+  public List<MoveOption> toMoveOptions(int size) {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(size);
+    List<MoveOption> moveOptions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      moveOptions.add(new MoveOption(registry.get(cells[i]), scores[i]));
+    }
+    return moveOptions;
+  }
+}
@@ -0,0 +1,225 @@
+package strategy;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of search results keyed by position hash, so that a search can reuse work
+ * when the same position is reached by a different move order.
+ * Each entry packs its depth, bound type, score and best move into a single long next to its key,
+ * and the table lives in two primitive arrays sized from a memory budget. Entries are grouped in
+ * buckets of two slots: the first slot keeps the deepest result seen for the bucket
+ * (depth-preferred), the second always takes the newest result (always-replace).
+ * The table is lock-free and safe to share between threads: each slot stores its key XORed with
+ * its entry, so a probe that reads a key and an entry written by two different stores fails
+ * verification and counts as a miss instead of returning another position's result.
+ * A table should only be shared between searches that score positions the same way.
+ */
+public class TranspositionTable {
+  /**
+   * The stored score is the exact value of the position.
+   */
+  public static final int BOUND_EXACT = 0;
+
+  /**
+   * The stored score is a lower bound: the search failed high.
+   */
+  public static final int BOUND_LOWER = 1;
+
+  /**
+   * The stored score is an upper bound: the search failed low.
+   */
+  public static final int BOUND_UPPER = 2;
+
+  /**
+   * The value returned by {@link #probe} when the table holds no entry for a position.
+   */
+  public static final long MISS = 0L;
+
+  /**
+   * The number of bytes one slot takes in the table.
+   */
+  public static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+
+  private static final int SLOTS_PER_BUCKET = 2;
+  private static final long USED = 1L << 62;
+  private static final int MAX_DEPTH = 0xFF;
+  private static final int MAX_MOVE = 0xFFFF - 1;
+
+  // Each key is stored XORed with its entry, see probe
+  private final long[] keys;
+  private final long[] entries;
+  private final int bucketMask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder collisions = new LongAdder();
+
+  /**
+   * Constructs a table that fits in the given memory budget.
+   * The number of slots is the largest power of two whose slots fit in the budget.
+   *
+   * @param memoryBytes The memory budget of the table in bytes.
+   * @throws IllegalArgumentException If the budget cannot hold one bucket.
+   */
+  public TranspositionTable(long memoryBytes) {
+    long slots = memoryBytes / BYTES_PER_SLOT;
+    if (slots < SLOTS_PER_BUCKET) {
+      throw new IllegalArgumentException("Memory budget too small");
+    }
+    int buckets = (int) Long.highestOneBit(Math.min(slots / SLOTS_PER_BUCKET, 1 << 29));
+    this.keys = new long[buckets * SLOTS_PER_BUCKET];
+    this.entries = new long[keys.length];
+    this.bucketMask = buckets - 1;
+  }
+
+  /**
+   * Looks up the entry stored for a position.
+   *
+   * @param key The hash of the position.
+   * @return The packed entry, or {@link #MISS} if the table holds none for the position.
+   */
+  public long probe(long key) {
+    int slot = bucketOf(key);
+    boolean occupied = false;
+    for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+      // Read each word once, as other threads may overwrite the slot between the two reads
+      long entry = entries[i];
+      long check = keys[i];
+      if (entry != MISS) {
+        if ((check ^ entry) == key) {
+          hits.increment();
+          return entry;
+        }
+        occupied = true;
+      }
+    }
+    misses.increment();
+    if (occupied) {
+      collisions.increment();
+    }
+    return MISS;
+  }
+
+  /**
+   * Stores the result of searching a position.
+   *
+   * @param key   The hash of the position.
+   * @param depth The depth the position was searched to.
+   * @param bound The bound type of the score, one of the {@code BOUND_} constants.
+   * @param score The score of the position.
+   * @param move  The cell index of the best move, or -1 if there is none.
+   */
+  public void store(long key, int depth, int bound, int score, int move) {
+    long entry = pack(depth, bound, score, move);
+    int slot = bucketOf(key);
+    long current = entries[slot];
+    if (current == MISS || (keys[slot] ^ current) == key || depth >= depth(current)) {
+      keys[slot] = key ^ entry;
+      entries[slot] = entry;
+    } else {
+      keys[slot + 1] = key ^ entry;
+      entries[slot + 1] = entry;
+    }
+  }
+
+  private int bucketOf(long key) {
+    return ((int) (key ^ (key >>> 32)) & bucketMask) * SLOTS_PER_BUCKET;
+  }
+
+  private static long pack(int depth, int bound, int score, int move) {
+    long packedMove = Math.min(move + 1, MAX_MOVE + 1) & 0xFFFFL;
+    long packedDepth = Math.min(Math.max(depth, 0), MAX_DEPTH);
+    return USED
+            | ((long) bound << 56)
+            | (packedDepth << 48)
+            | (packedMove << 32)
+            | (score & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Gets the score of a packed entry.
+   *
+   * @param entry The packed entry.
+   * @return The stored score.
+   */
+  public static int score(long entry) {
+    return (int) entry;
+  }
+
+  /**
+   * Gets the best move of a packed entry.
+   *
+   * @param entry The packed entry.
+   * @return The cell index of the stored best move, or -1 if there is none.
+   */
+  public static int move(long entry) {
+    return (int) ((entry >>> 32) & 0xFFFF) - 1;
+  }
+
+  /**
+   * Gets the depth of a packed entry.
+   *
+   * @param entry The packed entry.
+   * @return The stored depth.
+   */
+  public static int depth(long entry) {
+    return (int) ((entry >>> 48) & MAX_DEPTH);
+  }
+
+  /**
+   * Gets the bound type of a packed entry.
+   *
+   * @param entry The packed entry.
+   * @return The stored bound type, one of the {@code BOUND_} constants.
+   */
+  public static int bound(long entry) {
+    return (int) ((entry >>> 56) & 0x3);
+  }
+
+  /**
+   * Gets the number of slots in the table.
+   *
+   * @return The capacity of the table in entries.
+   */
+  public int getCapacity() {
+    return keys.length;
+  }
+
+  /**
+   * Gets the number of probes that found an entry.
+   *
+   * @return The number of hits.
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of probes that found no entry.
+   *
+   * @return The number of misses.
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Gets the number of misses whose bucket was occupied by other positions.
+   *
+   * @return The number of collisions.
+   */
+  public long getCollisions() {
+    return collisions.sum();
+  }
+
+  /**
+   * Removes every entry and resets the counters.
+   */
+  public void clear() {
+    Arrays.fill(keys, 0L);
+    Arrays.fill(entries, MISS);
+    hits.reset();
+    misses.reset();
+    collisions.reset();
+  }
+}
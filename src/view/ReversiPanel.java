@@ -53,10 +53,11 @@ public class ReversiPanel extends JPanel implements IView {
 
   public void showGameOverDialog() {
     String message = "Game over! ";
-    Map<CellState, Integer> scores = model.getScores();
-    if (scores.get(CellState.BLACK) > scores.get(CellState.WHITE)) {
+    int blackScore = model.getScore(CellState.BLACK);
+    int whiteScore = model.getScore(CellState.WHITE);
+    if (blackScore > whiteScore) {
       message += "Black wins!";
-    } else if (scores.get(CellState.BLACK) < scores.get(CellState.WHITE)) {
+    } else if (blackScore < whiteScore) {
       message += "White wins!";
     } else {
       message += "It's a tie!";
@@ -143,8 +144,8 @@ public class ReversiPanel extends JPanel implements IView {
     // Draw the current player
     String instructions2 = "Now playing: " +
             model.getCurrentPlayer() +
-            " Score: " + model.getScores().get(CellState.BLACK) +
-            " - " + model.getScores().get(CellState.WHITE) +
+            " Score: " + model.getScore(CellState.BLACK) +
+            " - " + model.getScore(CellState.WHITE) +
             " (Black - White)";
     g2d.drawString(instructions2, INSTRUCTION_TEXT_X, INSTRUCTION_TEXT_Y + textHeight);
   }
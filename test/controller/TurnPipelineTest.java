@@ -0,0 +1,128 @@
+package controller;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import model.Coordinate;
+import model.CubeCoordinate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the asynchronous computer turn pipeline.
+ */
+public class TurnPipelineTest {
+  TurnPipeline pipeline;
+  List<Coordinate> applied;
+  Coordinate move;
+
+  @Before
+  public void setUp() throws Exception {
+    // Apply moves on whichever thread delivers them, as there is no event thread here
+    pipeline = new TurnPipeline(Runnable::run);
+    applied = new ArrayList<>();
+    move = new CubeCoordinate(1, -1, 0);
+  }
+
+  @Test
+  public void appliesMoveTest() {
+    assertTrue(pipeline.submit(() -> move, applied::add).join());
+    assertEquals(List.of(move), applied);
+    assertFalse(pipeline.isPending());
+  }
+
+  @Test
+  public void appliesPassTest() {
+    assertTrue(pipeline.deliver(CompletableFuture.completedFuture(null), applied::add).join());
+    assertEquals(1, applied.size());
+    assertEquals(null, applied.get(0));
+  }
+
+  @Test
+  public void newTurnDiscardsStaleMoveTest() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    Coordinate stale = new CubeCoordinate(0, 1, -1);
+    CompletableFuture<Boolean> first = pipeline.submit(() -> {
+      awaitQuietly(release);
+      return stale;
+    }, applied::add);
+    assertTrue(pipeline.isPending());
+    CompletableFuture<Boolean> second = pipeline.submit(() -> move, applied::add);
+    release.countDown();
+    assertFalse(first.join());
+    assertTrue(second.join());
+    assertEquals(List.of(move), applied);
+    assertEquals(1, pipeline.getDiscarded());
+  }
+
+  @Test
+  public void cancelDiscardsMoveTest() {
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Boolean> turn = pipeline.submit(() -> {
+      awaitQuietly(release);
+      return move;
+    }, applied::add);
+    pipeline.cancel();
+    release.countDown();
+    assertFalse(turn.join());
+    assertTrue(applied.isEmpty());
+    assertFalse(pipeline.isPending());
+  }
+
+  @Test
+  public void skipsQueuedStaleSearchTest() {
+    List<Integer> order = new ArrayList<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    pipeline.submit(() -> {
+      started.countDown();
+      awaitQuietly(release);
+      order.add(1);
+      return move;
+    }, applied::add);
+    awaitQuietly(started);
+    // Queued behind the running search, and stale before it gets to run
+    CompletableFuture<Boolean> skipped = pipeline.submit(() -> {
+      order.add(2);
+      return move;
+    }, applied::add);
+    CompletableFuture<Boolean> last = pipeline.submit(() -> {
+      order.add(3);
+      return move;
+    }, applied::add);
+    release.countDown();
+    assertTrue(last.join());
+    assertFalse(skipped.join());
+    assertEquals(List.of(1, 3), order);
+    assertEquals(List.of(move), applied);
+  }
+
+  @Test(expected = CompletionException.class)
+  public void failurePropagatesTest() {
+    pipeline.submit(() -> {
+      throw new IllegalStateException("search failed");
+    }, applied::add).join();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullExecutorTest() {
+    new TurnPipeline(null);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import view.ReversiTextualView;
+import view.TextualView;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test for the bitboard implementation of the game model.
+ */
+public class BitboardReversiGameTest {
+  ReversiModel model;
+  TextualView view;
+  StringBuilder output;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new BitboardReversiGame(3);
+    output = new StringBuilder();
+    view = new ReversiTextualView(model, output);
+  }
+
+  @Test
+  public void getCellStateTest() {
+    assertEquals(CellState.EMPTY, model.getCellState(new CubeCoordinate(0, 0, 0)));
+    assertEquals(CellState.EMPTY, model.getCellState(-1, 2));
+    assertEquals(CellState.WHITE, model.getCellState(1, -1));
+    assertEquals(CellState.BLACK, model.getCellState(0, -1));
+  }
+
+  @Test
+  public void testCopyConstructor() {
+    ReversiModel copy = new BitboardReversiGame(model);
+    assertEquals(model.getBoard(), copy.getBoard());
+    ReversiModel fromMap = new BitboardReversiGame(new ReversiGame(3));
+    assertEquals(model.getBoard(), fromMap.getBoard());
+  }
+
+  @Test
+  public void getLegalMovesTest() {
+    assertEquals(new ReversiGame(3).getLegalMoves(CellState.BLACK).size(),
+            model.getLegalMoves(CellState.BLACK).size());
+    assertEquals(6, model.getLegalMoves(CellState.BLACK).size());
+    assertEquals(6, model.getLegalMoves(CellState.WHITE).size());
+  }
+
+  @Test
+  public void makeValidMoveTest() {
+    model.makeMove(new CubeCoordinate(-1, 2, -1), CellState.BLACK);
+    assertEquals(CellState.BLACK, model.getCellState(new CubeCoordinate(-1, 2, -1)));
+    assertEquals(CellState.BLACK, model.getCellState(0, -1));
+    assertEquals(CellState.WHITE, model.getCurrentPlayer());
+  }
+
+  @Test
+  public void scoresTest() {
+    assertEquals(Integer.valueOf(3), model.getScores().get(CellState.BLACK));
+    assertEquals(Integer.valueOf(3), model.getScores().get(CellState.WHITE));
+  }
+
+  @Test
+  public void largeBoardTest() {
+    // A size 5 board has 91 cells and spans two words of the bitset
+    ReversiModel large = new BitboardReversiGame(5);
+    assertEquals(91, large.getBoard().size());
+    assertEquals(CellState.EMPTY, large.getCellState(5, 0));
+    assertEquals(CellState.EMPTY, large.getCellState(-5, 5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void makeInvalidMoveTest() {
+    model.makeMove(new CubeCoordinate(0, 0, 0), CellState.WHITE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void outOfBoundsTest() {
+    model.getCellState(4, 0);
+  }
+
+  @Test
+  public void getSizeTest() {
+    assertEquals(3, model.getSize());
+  }
+}
@@ -4,6 +4,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -57,4 +60,32 @@ public class CoordinateTest {
       assertEquals(expectedNeighbors[i], c1.getNeighbors().get(i));
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void isAdjacentToTest() {
+    assertTrue(c4.isAdjacentTo(new CubeCoordinate(1, -1, 0)));
+    assertTrue(c1.isAdjacentTo(new CubeCoordinate(2, 0, -2)));
+    assertFalse(c1.isAdjacentTo(c1));
+    assertFalse(c1.isAdjacentTo(c4));
+  }
+
+  @Test
+  public void registryInternsCoordinatesTest() {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(3);
+    assertSame(registry, CoordinateRegistry.forSize(3));
+    assertSame(registry.get(2, 1), registry.intern(c1));
+    assertEquals(c1, registry.get(registry.ordinal(c1)));
+    assertEquals(37, registry.getGeometry().getCellCount());
+  }
+
+  @Test
+  public void registryNeighborsTest() {
+    CoordinateRegistry registry = CoordinateRegistry.forSize(3);
+    assertEquals(6, registry.neighbors(registry.ordinal(c4)).length);
+    assertEquals(3, registry.neighbors(registry.ordinal(new CubeCoordinate(3, 0, -3))).length);
+    assertTrue(registry.areAdjacent(registry.ordinal(c1), registry.ordinal(c2)));
+    assertFalse(registry.areAdjacent(registry.ordinal(c1), registry.ordinal(c4)));
+    assertTrue(registry.isNextToCorner(registry.ordinal(c1)));
+    assertFalse(registry.isNextToCorner(registry.ordinal(c4)));
+  }
+}
@@ -0,0 +1,193 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+
+import controller.PlayerActionListener;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of time controls, game clocks and move latencies.
+ */
+public class GameClockTest {
+
+  @Test
+  public void parseTest() {
+    assertEquals("fixed:1000", TimeControl.parse("fixed:1000").toString());
+    assertEquals("increment:60000+1000", TimeControl.parse("increment:60000+1000").toString());
+    assertEquals("increment:60000+0", TimeControl.parse("increment:60000").toString());
+    assertEquals("movestogo:60000/20", TimeControl.parse("MovesToGo:60000/20").toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseUnknownTest() {
+    TimeControl.parse("sudden:1000");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseNotANumberTest() {
+    TimeControl.parse("fixed:soon");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseZeroMovesTest() {
+    TimeControl.parse("movestogo:60000/0");
+  }
+
+  @Test
+  public void fixedBudgetTest() {
+    GameClock clock = new GameClock(TimeControl.fixed(250));
+    assertEquals(250, clock.budgetMillis(30));
+    clock.recordMove(400);
+    // A fixed time per move is not carried over
+    assertEquals(250, clock.budgetMillis(29));
+    assertFalse(clock.isFlagged());
+    assertEquals(1, clock.getMoves());
+  }
+
+  @Test
+  public void incrementBudgetTest() {
+    GameClock clock = new GameClock(TimeControl.increment(20000, 100));
+    // 19000 usable over the 15 moves left for 30 empty cells, plus the increment
+    assertEquals(19000 / 15 + 100, clock.budgetMillis(30));
+    clock.recordMove(1000);
+    assertEquals(19100, clock.getRemainingMillis());
+    // Near the end, never plan for fewer than four moves
+    assertEquals(19100 - 19100 / 20, 4 * (clock.budgetMillis(1) - 100) + 1);
+  }
+
+  @Test
+  public void movesToGoBudgetTest() {
+    GameClock clock = new GameClock(TimeControl.movesToGo(2000, 2));
+    assertEquals(1900 / 2, clock.budgetMillis(30));
+    clock.recordMove(500);
+    assertEquals(1500 - 1500 / 20, clock.budgetMillis(29));
+    clock.recordMove(1000);
+    // The period is over, so its time is given again
+    assertEquals(2500, clock.getRemainingMillis());
+    clock.recordMove(3000);
+    assertTrue(clock.isFlagged());
+    assertEquals(1, clock.budgetMillis(27));
+  }
+
+  @Test
+  public void latencyPercentilesTest() {
+    MoveLatencies latencies = new MoveLatencies();
+    assertEquals(0, latencies.percentileMillis(50));
+    for (int i = 1; i <= 100; i++) {
+      latencies.record(i, 50);
+    }
+    assertEquals(100, latencies.getCount());
+    assertEquals(50, latencies.percentileMillis(50));
+    assertEquals(90, latencies.percentileMillis(90));
+    assertEquals(1, latencies.percentileMillis(0));
+    assertEquals(100, latencies.percentileMillis(100));
+    assertEquals(198, latencies.percentileOfBudget(99));
+    assertEquals(50, latencies.getOverBudget());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void latencyPercentileOutOfRangeTest() {
+    new MoveLatencies().percentileMillis(101);
+  }
+
+  @Test
+  public void timedComputerMoveTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    ComputerReversiPlayer player = new ComputerReversiPlayer(model, "NegamaxStrategy",
+            TimeControl.fixed(100));
+    Coordinate move = player.chooseMove().join();
+    assertNotNull(move);
+    assertTrue(model.getLegalMoves(model.getCurrentPlayer()).contains(move));
+    assertEquals(1, player.getLatencies().getCount());
+    assertEquals(1, player.getClock().getMoves());
+    // The move is committed at the deadline at the latest, give or take scheduling
+    assertTrue(player.getLatencies().percentileMillis(100) < 1000);
+  }
+
+  @Test
+  public void timedMakeMoveDoesNotBlockTest() throws InterruptedException {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    ComputerReversiPlayer player = new ComputerReversiPlayer(model, "NegamaxStrategy",
+            TimeControl.fixed(300));
+    CountDownLatch delivered = new CountDownLatch(1);
+    AtomicReference<Coordinate> chosen = new AtomicReference<>();
+    AtomicBoolean onEventThread = new AtomicBoolean();
+    player.setActionListener(new PlayerActionListener() {
+      @Override
+      public void onMoveSelected(Coordinate move) {
+        chosen.set(move);
+        onEventThread.set(SwingUtilities.isEventDispatchThread());
+        delivered.countDown();
+      }
+
+      @Override
+      public void onPassSelected() {
+        delivered.countDown();
+      }
+    });
+    long start = System.nanoTime();
+    player.makeMove();
+    // The search runs to its deadline, but the caller gets control back straight away
+    assertTrue(System.nanoTime() - start < 200_000_000L);
+    assertTrue(delivered.await(10, TimeUnit.SECONDS));
+    assertTrue(model.getLegalMoves(model.getCurrentPlayer()).contains(chosen.get()));
+    // The listener touches the view, so it is told on the event dispatch thread
+    assertTrue(onEventThread.get());
+  }
+
+  @Test
+  public void playersShareSearchThreadTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    for (int i = 0; i < 5; i++) {
+      new ComputerReversiPlayer(model, "CaptureMaxPiecesStrategy", TimeControl.fixed(50))
+              .chooseMove().join();
+    }
+    long searchThreads = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("computer-search"))
+            .count();
+    assertEquals(1, searchThreads);
+  }
+
+  @Test
+  public void recordMoveChargesClockTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    ComputerReversiPlayer player = new ComputerReversiPlayer(model, "NegamaxStrategy",
+            TimeControl.parse("increment:60000+0"));
+    player.recordMove(System.nanoTime() - 250_000_000L);
+    assertEquals(1, player.getClock().getMoves());
+    assertEquals(1, player.getLatencies().getCount());
+    assertTrue(player.getClock().getRemainingMillis() <= 60000 - 250);
+
+    // Without a time control there is nothing to charge
+    ComputerReversiPlayer untimed = new ComputerReversiPlayer(model, "NegamaxStrategy");
+    untimed.recordMove(System.nanoTime());
+    assertEquals(0, untimed.getLatencies().getCount());
+  }
+
+  @Test
+  public void deadlineCommitsFallbackTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    // The composite strategy is not timed, so a tight budget falls back to the greediest move
+    ComputerReversiPlayer player = new ComputerReversiPlayer(model, "CompositeStrategy",
+            TimeControl.fixed(1));
+    Coordinate move = player.chooseMove().join();
+    assertTrue(model.getLegalMoves(model.getCurrentPlayer()).contains(move));
+    assertEquals(1, player.getLatencies().getCount());
+  }
+}
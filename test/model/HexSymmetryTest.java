@@ -0,0 +1,66 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test of the hexagonal board symmetries.
+ */
+public class HexSymmetryTest {
+  HexSymmetry symmetry;
+  ReversiModel model;
+
+  @Before
+  public void setUp() throws Exception {
+    symmetry = HexSymmetry.forSize(3);
+    model = new ReversiGame(3);
+  }
+
+  @Test
+  public void inverseTest() {
+    Coordinate coord = new CubeCoordinate(2, 1, -3);
+    for (int t = 0; t < HexSymmetry.TRANSFORM_COUNT; t++) {
+      assertEquals(coord, symmetry.transform(symmetry.inverse(t), symmetry.transform(t, coord)));
+    }
+    // One sixth-turn: (q, r, s) -> (-r, -s, -q)
+    assertEquals(new CubeCoordinate(-1, 3, -2), symmetry.transform(1, coord));
+  }
+
+  @Test
+  public void symmetricPositionsShareCanonicalHashTest() {
+    // Opening at any of the six legal cells gives the same position up to symmetry
+    ReversiModel first = new ReversiGame(3);
+    first.makeMove(first.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    ReversiModel second = new ReversiGame(3);
+    second.makeMove(second.getLegalMoves(CellState.BLACK).get(5), CellState.BLACK);
+    assertEquals(symmetry.canonicalize(first).getHash(), symmetry.canonicalize(second).getHash());
+    assertEquals(symmetry.canonicalize(first).getHash(),
+            symmetry.canonicalize(first.getBoard(), first.getCurrentPlayer()).getHash());
+  }
+
+  @Test
+  public void canonicalMovesMapBackTest() {
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(2), CellState.BLACK);
+    CanonicalPosition canonical = symmetry.canonicalize(model);
+    for (int cell = 0; cell < 37; cell++) {
+      assertEquals(cell, canonical.fromCanonical(canonical.toCanonical(cell)));
+    }
+  }
+
+  @Test
+  public void openingMovesAreEquivalentTest() {
+    int stabilizer = symmetry.stabilizer(model);
+    CoordinateRegistry registry = CoordinateRegistry.forSize(3);
+    int representative = -1;
+    for (Coordinate move : model.getLegalMoves(CellState.BLACK)) {
+      int moveRepresentative = symmetry.representative(stabilizer, registry.ordinal(move));
+      if (representative < 0) {
+        representative = moveRepresentative;
+      }
+      assertEquals(representative, moveRepresentative);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test of the legal moves and captures the game keeps up to date incrementally,
+ * against a scan of the whole board that walks the directions from scratch.
+ */
+public class LegalMovesTest {
+  static final int[][] DIRECTIONS = {
+      {1, -1, 0}, {1, 0, -1}, {0, 1, -1}, {-1, 1, 0}, {-1, 0, 1}, {0, -1, 1}
+  };
+
+  // Counts the discs a move captures by walking each direction one cell at a time
+  private static int scanCaptures(ReversiModel model, int q, int r, CellState player) {
+    int size = model.getSize();
+    int captures = 0;
+    for (int[] dir : DIRECTIONS) {
+      int run = 0;
+      int cq = q + dir[0];
+      int cr = r + dir[1];
+      while (Math.abs(cq) <= size && Math.abs(cr) <= size && Math.abs(cq + cr) <= size
+              && model.getCellState(cq, cr) == model.opposite(player)) {
+        run++;
+        cq += dir[0];
+        cr += dir[1];
+      }
+      if (run > 0 && Math.abs(cq) <= size && Math.abs(cr) <= size
+              && Math.abs(cq + cr) <= size && model.getCellState(cq, cr) == player) {
+        captures += run;
+      }
+    }
+    return captures;
+  }
+
+  private static void assertMatchesScan(ReversiModel model) {
+    int size = model.getSize();
+    for (CellState player : new CellState[] {CellState.BLACK, CellState.WHITE}) {
+      List<Coordinate> expected = new ArrayList<>();
+      for (int q = -size; q <= size; q++) {
+        for (int r = Math.max(-size, -q - size); r <= Math.min(size, -q + size); r++) {
+          if (model.getCellState(q, r) != CellState.EMPTY) {
+            continue;
+          }
+          int captures = scanCaptures(model, q, r, player);
+          Coordinate coord = new CubeCoordinate(q, r, -q - r);
+          assertEquals(captures, model.calculateCaptures(coord, player));
+          if (captures > 0) {
+            expected.add(coord);
+          }
+        }
+      }
+      List<Coordinate> actual = model.getLegalMoves(player);
+      assertEquals(expected.size(), actual.size());
+      assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+  }
+
+  @Test
+  public void randomGamesWithPassesAndUndoTest() {
+    Random random = new Random(4);
+    for (int size : new int[] {2, 3, 4}) {
+      for (int game = 0; game < 20; game++) {
+        ReversiModel model = new ReversiGame(size);
+        model.startGame();
+        Deque<UndoRecord> records = new ArrayDeque<>();
+        assertMatchesScan(model);
+        while (!model.isGameOver()) {
+          int action = random.nextInt(10);
+          if (action == 0 && !records.isEmpty()) {
+            model.undoMove(records.pop());
+          } else if (action == 1) {
+            model.pass();
+          } else {
+            CellState player = model.getCurrentPlayer();
+            List<Coordinate> moves = model.getLegalMoves(player);
+            records.push(model.applyMove(moves.get(random.nextInt(moves.size())), player));
+          }
+          assertMatchesScan(model);
+        }
+        // Unwinding the whole game restores every set
+        while (!records.isEmpty()) {
+          model.undoMove(records.pop());
+          assertMatchesScan(model);
+        }
+      }
+    }
+  }
+}
@@ -7,6 +7,8 @@ import view.ReversiTextualView;
 import view.TextualView;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 
 
 /**
@@ -66,6 +68,48 @@ public class ReversiModelTest {
     assertEquals(CellState.BLACK, model.getCellState(0, -1));
   }
 
+  @Test
+  public void scoreCountersTest() {
+    assertEquals(3, model.getScore(CellState.BLACK));
+    assertEquals(3, model.getScore(CellState.WHITE));
+    assertEquals(31, model.getEmptyCount());
+    model.makeMove(new CubeCoordinate(-1, 2, -1), CellState.BLACK);
+    assertEquals(5, model.getScore(CellState.BLACK));
+    assertEquals(2, model.getScore(CellState.WHITE));
+    assertEquals(30, model.getEmptyCount());
+    assertEquals(Integer.valueOf(5), model.getScores().get(CellState.BLACK));
+    assertFalse(model.isGameOver());
+  }
+
+  @Test
+  public void applyAndUndoMoveTest() {
+    ReversiModel before = new ReversiGame(model);
+    UndoRecord record = model.applyMove(new CubeCoordinate(-1, 2, -1), CellState.BLACK);
+    assertEquals(1, record.getFlipCount());
+    assertEquals(CellState.WHITE, model.getCurrentPlayer());
+    model.undoMove(record);
+    assertEquals(before.getBoard(), model.getBoard());
+    assertEquals(CellState.BLACK, model.getCurrentPlayer());
+    assertEquals(3, model.getScore(CellState.BLACK));
+    assertEquals(31, model.getEmptyCount());
+    assertEquals(before.getLegalMoves(CellState.WHITE), model.getLegalMoves(CellState.WHITE));
+  }
+
+  @Test
+  public void positionHashTest() {
+    // The keys are seeded, so the starting position hashes the same on every run
+    assertEquals(6238772111580929228L, model.getPositionHash());
+    long start = model.getPositionHash();
+    UndoRecord record = model.applyMove(new CubeCoordinate(-1, 2, -1), CellState.BLACK);
+    assertNotEquals(start, model.getPositionHash());
+    assertEquals(ZobristKeys.forSize(3).hash(model), model.getPositionHash());
+    assertEquals(new BitboardReversiGame(model).getPositionHash(), model.getPositionHash());
+    model.undoMove(record);
+    assertEquals(start, model.getPositionHash());
+    model.pass();
+    assertNotEquals(start, model.getPositionHash());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void makeInvalidMoveTest() {
     model.makeMove(new CubeCoordinate(0, 0, 0), CellState.WHITE);
@@ -0,0 +1,82 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReadonlyReversiModel;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the per-turn analysis shared by composite strategies.
+ */
+public class AnalysisContextTest {
+  ReversiModel model;
+  AnalysisContext context;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new ReversiGame(3);
+    context = new AnalysisContext(model, CellState.BLACK);
+  }
+
+  @Test
+  public void memoizedAnalysisTest() {
+    assertEquals(model.getLegalMoves(CellState.BLACK), context.getLegalMoves());
+    assertSame(context.getLegalMoves(), context.getLegalMoves());
+    for (Coordinate move : context.getLegalMoves()) {
+      assertEquals(model.calculateCaptures(move, CellState.BLACK), context.getCaptures(move));
+      assertEquals(model.getCorners().contains(move), context.isCorner(move));
+    }
+  }
+
+  @Test
+  public void childBoardTest() {
+    Coordinate move = context.getLegalMoves().get(0);
+    ReadonlyReversiModel child = context.getChild(move);
+    assertSame(child, context.getChild(move));
+    assertEquals(CellState.BLACK, child.getCellState(move));
+    // The game itself is left unchanged
+    assertEquals(CellState.EMPTY, model.getCellState(move));
+  }
+
+  private static void assertSameOptions(List<MoveOption> expected, List<MoveOption> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void sharedContextTest() {
+    ReversiStrategy[] strategies = {new CaptureMaxPiecesStrategy(),
+        new AvoidGivingCornersStrategy(), new TakeCornersStrategy(), new MinimaxStrategy()};
+    for (ReversiStrategy strategy : strategies) {
+      assertSameOptions(strategy.evaluateMoves(model, CellState.BLACK),
+              strategy.evaluateMoves(context));
+    }
+  }
+
+  @Test
+  public void parallelCompositeTest() {
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    List<MoveOption> sequential = new CompositeStrategy(new CaptureMaxPiecesStrategy(),
+            new AvoidGivingCornersStrategy(), new TakeCornersStrategy(), new MinimaxStrategy())
+            .evaluateMoves(model, CellState.WHITE);
+    List<MoveOption> parallel = CompositeStrategy.parallel(new CaptureMaxPiecesStrategy(),
+            new AvoidGivingCornersStrategy(), new TakeCornersStrategy(), new MinimaxStrategy())
+            .evaluateMoves(model, CellState.WHITE);
+    assertTrue(!sequential.isEmpty());
+    assertSameOptions(sequential, parallel);
+  }
+}
@@ -0,0 +1,162 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.CellState;
+import model.Coordinate;
+import model.HexSymmetry;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of caching strategy results by position.
+ */
+public class CachingStrategyTest {
+  AtomicInteger calls;
+  ReversiStrategy counting;
+
+  @Before
+  public void setUp() throws Exception {
+    calls = new AtomicInteger();
+    ReversiStrategy captures = new CaptureMaxPiecesStrategy();
+    counting = (model, player) -> {
+      calls.incrementAndGet();
+      return captures.evaluateMoves(model, player);
+    };
+  }
+
+  private static void assertSameOptions(List<MoveOption> expected, List<MoveOption> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void repeatedPositionTest() {
+    CachingStrategy strategy = new CachingStrategy(counting);
+    ReversiModel model = new ReversiGame(3);
+    List<MoveOption> first = strategy.evaluateMoves(model, CellState.BLACK);
+    List<MoveOption> second = strategy.evaluateMoves(model, CellState.BLACK);
+    assertSameOptions(first, second);
+    assertEquals(1, calls.get());
+    assertEquals(1, strategy.getCache().getHits());
+    assertEquals(1, strategy.getCache().getMisses());
+    assertEquals(0.5, strategy.getCache().getHitRate(), 1e-9);
+  }
+
+  @Test
+  public void symmetricPositionTest() {
+    StrategyCache cache = new StrategyCache();
+    ReversiModel model = new ReversiGame(3);
+    Coordinate move = model.getLegalMoves(CellState.BLACK).get(0);
+    model.makeMove(move, CellState.BLACK);
+    List<MoveOption> original = new CachingStrategy(counting, cache)
+            .evaluateMoves(model, CellState.WHITE);
+
+    // A second game, sharing the cache, reaches a rotation of the same position
+    ReversiModel rotated = new ReversiGame(3);
+    HexSymmetry symmetry = HexSymmetry.forSize(3);
+    Coordinate rotatedMove = symmetry.transform(2, move);
+    rotated.makeMove(rotatedMove, CellState.BLACK);
+    List<MoveOption> answered = new CachingStrategy(counting, cache)
+            .evaluateMoves(rotated, CellState.WHITE);
+    assertEquals(1, calls.get());
+    // The answers are mapped onto the rotated board, in the order first returned
+    assertEquals(original.size(), answered.size());
+    for (int i = 0; i < answered.size(); i++) {
+      Coordinate answer = answered.get(i).getMove();
+      assertEquals(symmetry.transform(2, original.get(i).getMove()), answer);
+      assertEquals(rotated.calculateCaptures(answer, CellState.WHITE),
+              answered.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void playerIsPartOfKeyTest() {
+    CachingStrategy strategy = new CachingStrategy(counting);
+    ReversiModel model = new ReversiGame(3);
+    strategy.evaluateMoves(model, CellState.BLACK);
+    strategy.evaluateMoves(model, CellState.WHITE);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void evictionTest() {
+    StrategyCache cache = new StrategyCache(2, StrategyCache.DEFAULT_MAX_WEIGHT);
+    CachingStrategy strategy = new CachingStrategy(counting, cache);
+    ReversiModel model = new ReversiGame(3);
+    List<ReversiModel> positions = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      positions.add(new ReversiGame(model));
+      CellState player = model.getCurrentPlayer();
+      model.makeMove(model.getLegalMoves(player).get(0), player);
+    }
+    for (ReversiModel position : positions) {
+      strategy.evaluateMoves(position, position.getCurrentPlayer());
+    }
+    assertEquals(2, cache.getSize());
+    assertEquals(1, cache.getEvictions());
+    // The first position was the least recently used
+    strategy.evaluateMoves(positions.get(0), positions.get(0).getCurrentPlayer());
+    assertEquals(4, calls.get());
+  }
+
+  @Test
+  public void weightBoundTest() {
+    StrategyCache cache = new StrategyCache(100, 10);
+    CachingStrategy strategy = new CachingStrategy(counting, cache);
+    ReversiModel model = new ReversiGame(3);
+    for (int i = 0; i < 6 && !model.isGameOver(); i++) {
+      CellState player = model.getCurrentPlayer();
+      strategy.evaluateMoves(model, player);
+      model.makeMove(model.getLegalMoves(player).get(0), player);
+      assertTrue(cache.getWeight() <= 10);
+    }
+    assertTrue(cache.getEvictions() > 0);
+  }
+
+  @Test
+  public void concurrentTest() throws InterruptedException {
+    StrategyCache cache = new StrategyCache(4, StrategyCache.DEFAULT_MAX_WEIGHT);
+    AtomicInteger lookups = new AtomicInteger();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread(() -> {
+        CachingStrategy strategy = new CachingStrategy(new CaptureMaxPiecesStrategy(), cache);
+        for (int game = 0; game < 50; game++) {
+          ReversiModel model = new ReversiGame(3);
+          while (!model.isGameOver()) {
+            CellState player = model.getCurrentPlayer();
+            model.makeMove(strategy.evaluateMoves(model, player).get(0).getMove(), player);
+            lookups.incrementAndGet();
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(cache.getSize() <= 4);
+    // Whether threads hit each other's entries depends on scheduling, but no lookup is lost
+    assertEquals(lookups.get(), cache.getHits() + cache.getMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullStrategyTest() {
+    new CachingStrategy(null);
+  }
+}
@@ -0,0 +1,135 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the endgame solver and strategy.
+ */
+public class EndgameSolverTest {
+
+  @Test
+  public void matchesFullSearchTest() {
+    Random random = new Random(7);
+    for (int size = 2; size <= 3; size++) {
+      EndgameSolver solver = new EndgameSolver(size);
+      for (int game = 0; game < 20; game++) {
+        ReversiModel model = randomPosition(size, 10, random);
+        CellState player = model.getCurrentPlayer();
+        assertEquals(exactDifference(new ReversiGame(model)), solver.solve(model, player));
+      }
+    }
+  }
+
+  @Test
+  public void finishedGameTest() {
+    ReversiModel model = randomPosition(2, 0, new Random(3));
+    CellState player = model.getCurrentPlayer();
+    int difference = model.getScore(player) - model.getScore(model.opposite(player));
+    assertEquals(difference, new EndgameSolver(2).solve(model, player));
+  }
+
+  @Test
+  public void strategyPlaysBestMoveTest() {
+    Random random = new Random(11);
+    EndgameStrategy strategy = new EndgameStrategy();
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = randomPosition(3, 9, random);
+      if (model.isGameOver()) {
+        continue;
+      }
+      CellState player = model.getCurrentPlayer();
+      List<MoveOption> moves = strategy.evaluateMoves(model, player);
+      assertEquals(exactDifference(new ReversiGame(model)), moves.get(0).getScore());
+      assertTrue(strategy.getLastNodes() > 0);
+      assertTrue(strategy.appliesTo(model));
+    }
+  }
+
+  @Test
+  public void deadlineStopsSolverTest() {
+    // Far too many empty cells to solve in time
+    ReversiModel model = new ReversiGame(4);
+    EndgameSolver solver = new EndgameSolver(4);
+    long start = System.nanoTime();
+    solver.setDeadline(start + 20_000_000L);
+    solver.solve(model, model.getCurrentPlayer());
+    assertTrue(solver.isAborted());
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+
+    ReversiModel small = randomPosition(4, 6, new Random(5));
+    solver.clearDeadline();
+    int score = solver.solve(small, small.getCurrentPlayer());
+    assertFalse(solver.isAborted());
+    assertEquals(exactDifference(new ReversiGame(small)), score);
+  }
+
+  @Test
+  public void timedStrategyTest() {
+    EndgameStrategy strategy = new EndgameStrategy();
+    ReversiModel model = new ReversiGame(4);
+    CellState player = model.getCurrentPlayer();
+    long start = System.nanoTime();
+    List<MoveOption> moves = strategy.evaluateMoves(model, player, 20);
+    assertTrue(System.nanoTime() - start < 2_000_000_000L);
+    // Only moves solved in time are returned
+    assertTrue(moves.size() < model.getLegalMoves(player).size());
+
+    Random random = new Random(13);
+    ReversiModel small = randomPosition(3, 8, random);
+    while (small.getLegalMoves(small.getCurrentPlayer()).isEmpty()) {
+      small = randomPosition(3, 8, random);
+    }
+    CellState smallPlayer = small.getCurrentPlayer();
+    List<MoveOption> timed = strategy.evaluateMoves(small, smallPlayer, 60_000);
+    List<MoveOption> untimed = strategy.evaluateMoves(small, smallPlayer);
+    assertEquals(untimed.size(), timed.size());
+    assertEquals(untimed.get(0).getScore(), timed.get(0).getScore());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidThresholdTest() {
+    new EndgameStrategy(-1);
+  }
+
+  // Plays random moves until at most the given number of empty cells remain or the game ends
+  private ReversiModel randomPosition(int size, int empties, Random random) {
+    ReversiModel model = new ReversiGame(size);
+    while (!model.isGameOver() && model.getEmptyCount() > empties) {
+      CellState player = model.getCurrentPlayer();
+      List<Coordinate> moves = model.getLegalMoves(player);
+      model.makeMove(moves.get(random.nextInt(moves.size())), player);
+    }
+    return model;
+  }
+
+  // Plain negamax over the whole game tree, scoring the final disc difference
+  private int exactDifference(ReversiModel board) {
+    CellState player = board.getCurrentPlayer();
+    if (board.isGameOver()) {
+      return board.getScore(player) - board.getScore(board.opposite(player));
+    }
+    int best = -Integer.MAX_VALUE;
+    for (Coordinate move : board.getLegalMoves(player)) {
+      UndoRecord record = board.applyMove(move, player);
+      int score = board.getCurrentPlayer() == player
+              ? exactDifference(board) : -exactDifference(board);
+      board.undoMove(record);
+      best = Math.max(best, score);
+    }
+    return best;
+  }
+}
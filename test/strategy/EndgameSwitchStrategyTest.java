@@ -0,0 +1,62 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test of switching to the endgame solver once few empty cells remain.
+ */
+public class EndgameSwitchStrategyTest {
+
+  private static void assertSameOptions(List<MoveOption> expected, List<MoveOption> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void switchesAtThresholdTest() {
+    EndgameStrategy endgame = new EndgameStrategy(8);
+    ReversiStrategy greedy = new CaptureMaxPiecesStrategy();
+    EndgameSwitchStrategy strategy = new EndgameSwitchStrategy(greedy, endgame);
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    Random random = new Random(14);
+    while (!model.isGameOver()) {
+      CellState player = model.getCurrentPlayer();
+      ReversiStrategy expected = model.getEmptyCount() <= 8 ? endgame : greedy;
+      assertSameOptions(expected.evaluateMoves(model, player),
+              strategy.evaluateMoves(model, player));
+      assertSameOptions(expected.topMoves(model, player, 1), strategy.topMoves(model, player, 1));
+      List<Coordinate> moves = model.getLegalMoves(player);
+      model.makeMove(moves.get(random.nextInt(moves.size())), player);
+    }
+  }
+
+  @Test
+  public void passesBudgetToTimedStrategyTest() {
+    NegamaxStrategy negamax = new NegamaxStrategy(60_000, 2, new TranspositionTable(1 << 16));
+    EndgameSwitchStrategy strategy = new EndgameSwitchStrategy(negamax, new EndgameStrategy(0));
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    strategy.evaluateMoves(model, model.getCurrentPlayer(), 50);
+    assertEquals(2, negamax.getLastDepth());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullStrategyTest() {
+    new EndgameSwitchStrategy(null);
+  }
+}
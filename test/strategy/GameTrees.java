@@ -0,0 +1,36 @@
+package strategy;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiModel;
+import model.UndoRecord;
+
+/**
+ * represents brute-force searches that the strategy tests compare the real searches against.
+ */
+final class GameTrees {
+  private GameTrees() {
+  }
+
+  /**
+   * Scores a position with plain negamax over the whole game tree.
+   *
+   * @param board The position, which is searched in place and restored.
+   * @return The score of the finished game under perfect play, as
+   *         {@link NegamaxSearch#finalScore} gives it, for the player to move.
+   */
+  static int exactScore(ReversiModel board) {
+    if (board.isGameOver()) {
+      return NegamaxSearch.finalScore(board);
+    }
+    CellState player = board.getCurrentPlayer();
+    int best = -NegamaxSearch.INFINITY;
+    for (Coordinate move : board.getLegalMoves(player)) {
+      UndoRecord record = board.applyMove(move, player);
+      int score = board.getCurrentPlayer() == player ? exactScore(board) : -exactScore(board);
+      board.undoMove(record);
+      best = Math.max(best, score);
+    }
+    return best;
+  }
+}
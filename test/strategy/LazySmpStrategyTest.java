@@ -0,0 +1,71 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import model.CellState;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the Lazy SMP strategy.
+ */
+public class LazySmpStrategyTest {
+
+  @Test
+  public void solvesSmallBoardTest() {
+    ReversiModel model = new ReversiGame(2);
+    LazySmpStrategy strategy = new LazySmpStrategy(10_000, 64, 4,
+            new TranspositionTable(1 << 16));
+    List<MoveOption> moves = strategy.evaluateMoves(model, model.getCurrentPlayer());
+    assertEquals(model.getEmptyCount(), strategy.getLastDepth());
+    assertEquals(GameTrees.exactScore(new ReversiGame(model)), moves.get(0).getScore());
+  }
+
+  @Test
+  public void stressTest() {
+    ReversiModel model = new ReversiGame(3);
+    // Play on until the rest of the game can be solved exactly
+    while (model.getEmptyCount() > 11) {
+      CellState player = model.getCurrentPlayer();
+      model.makeMove(model.findBestMove(player), player);
+    }
+    int expected = GameTrees.exactScore(new ReversiGame(model));
+    // A table of a few buckets makes the threads overwrite each other's slots all the time
+    TranspositionTable table = new TranspositionTable(64 * TranspositionTable.BYTES_PER_SLOT);
+    LazySmpStrategy strategy = new LazySmpStrategy(10_000, 64, 8, table);
+    for (int run = 0; run < 20; run++) {
+      List<MoveOption> moves = strategy.evaluateMoves(model, model.getCurrentPlayer());
+      assertEquals(expected, moves.get(0).getScore());
+      assertTrue(model.getLegalMoves(model.getCurrentPlayer()).contains(moves.get(0).getMove()));
+    }
+  }
+
+  @Test
+  public void sharesHelperThreadsTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    long before = helperThreads();
+    for (int i = 0; i < 10; i++) {
+      new LazySmpStrategy(20, 7).evaluateMoves(model, model.getCurrentPlayer());
+    }
+    // Every strategy with 7 threads uses the same 6 helpers
+    assertTrue(helperThreads() - before <= 6);
+  }
+
+  private static long helperThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("lazy-smp-helper"))
+            .count();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidThreadsTest() {
+    new LazySmpStrategy(100, 0);
+  }
+}
@@ -0,0 +1,105 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the Monte Carlo tree search strategy and its playout board.
+ */
+public class MctsStrategyTest {
+
+  @Test
+  public void playoutBoardMatchesModelTest() {
+    Random random = new Random(5);
+    CoordinateRegistry registry = CoordinateRegistry.forSize(3);
+    PlayoutBoard board = new PlayoutBoard(3);
+    int[] buffer = new int[registry.getGeometry().getCellCount()];
+    for (int game = 0; game < 10; game++) {
+      ReversiModel model = new ReversiGame(3);
+      board.load(model, model.getCurrentPlayer());
+      while (!model.isGameOver()) {
+        CellState player = model.getCurrentPlayer();
+        assertEquals(model.getPositionHash(), board.getHash());
+        List<Coordinate> expected = model.getLegalMoves(player);
+        List<Coordinate> actual = new ArrayList<>();
+        for (int i = board.legalMoves(buffer) - 1; i >= 0; i--) {
+          actual.add(registry.get(buffer[i]));
+        }
+        Collections.sort(actual, (a, b) -> registry.ordinal(a) - registry.ordinal(b));
+        assertEquals(expected, actual);
+        Coordinate move = expected.get(random.nextInt(expected.size()));
+        model.makeMove(move, player);
+        board.play(registry.ordinal(move));
+        if (!model.isGameOver() && model.getCurrentPlayer() == player) {
+          // The opponent had to pass
+          board.pass();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void ranksEveryMoveTest() {
+    ReversiModel model = new ReversiGame(3);
+    MctsStrategy strategy = new MctsStrategy(2000, 10_000, 2);
+    List<MoveOption> moves = strategy.evaluateMoves(model, model.getCurrentPlayer());
+    assertEquals(model.getLegalMoves(model.getCurrentPlayer()).size(), moves.size());
+    int visits = 0;
+    for (MoveOption option : moves) {
+      assertTrue(moves.get(0).getScore() >= option.getScore());
+      visits += option.getScore();
+    }
+    assertEquals(2000, strategy.getLastPlayouts());
+    // The root is expanded on its first visit, so every playout passes through a root move
+    assertEquals(2000, visits);
+  }
+
+  @Test
+  public void reusesTreeTest() {
+    ReversiModel model = new ReversiGame(3);
+    MctsStrategy strategy = new MctsStrategy(3000, 10_000, 2);
+    CellState player = model.getCurrentPlayer();
+    model.makeMove(strategy.evaluateMoves(model, player).get(0).getMove(), player);
+    CellState opponent = model.getCurrentPlayer();
+    model.makeMove(model.getLegalMoves(opponent).get(0), opponent);
+    strategy.evaluateMoves(model, model.getCurrentPlayer());
+    assertTrue(strategy.getLastReusedVisits() > 0);
+  }
+
+  @Test
+  public void sharesWorkerThreadsTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    long before = workerThreads();
+    for (int i = 0; i < 10; i++) {
+      new MctsStrategy(200, 1000, 5).evaluateMoves(model, model.getCurrentPlayer());
+    }
+    // Every strategy with 5 threads uses the same 5 workers
+    assertTrue(workerThreads() - before <= 5);
+  }
+
+  private static long workerThreads() {
+    return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("mcts-worker"))
+            .count();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBudgetTest() {
+    new MctsStrategy(0, 100, 1);
+  }
+}
@@ -0,0 +1,74 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.CubeCoordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test of the minimax strategy and its cache of opponent replies.
+ */
+public class MinimaxStrategyTest {
+
+  private static ReversiModel play(int... cells) {
+    ReversiModel model = new ReversiGame(3);
+    model.startGame();
+    for (int i = 0; i < cells.length; i += 2) {
+      model.makeMove(new CubeCoordinate(cells[i], cells[i + 1], -cells[i] - cells[i + 1]),
+              model.getCurrentPlayer());
+    }
+    return model;
+  }
+
+  private static void assertSameOptions(List<MoveOption> expected, List<MoveOption> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void replyKeyIncludesReplyingPlayerTest() {
+    // Both lines reach the same board with the same side to move, once after black moves and
+    // once after white moves and black has to pass, so the replying players differ
+    ReversiModel first = play(-1, 2, 1, -2, 1, -3, 2, -3, -1, -1, -2, 1, -3, 1);
+    ReversiModel second = play(-1, 2, 1, -2, 1, -3, 2, -3, -1, -1, 0, -3, -2, 1);
+    MinimaxStrategy cached = new MinimaxStrategy(new TranspositionTable(1 << 16));
+    cached.evaluateMoves(first, first.getCurrentPlayer());
+    assertSameOptions(new MinimaxStrategy(new TranspositionTable(1 << 10))
+                    .evaluateMoves(second, second.getCurrentPlayer()),
+            cached.evaluateMoves(second, second.getCurrentPlayer()));
+  }
+
+  @Test
+  public void cachedRepliesMatchFreshRepliesTest() {
+    // Small boards pass often, so the same board is reached with either player to reply
+    MinimaxStrategy cached = new MinimaxStrategy(new TranspositionTable(1 << 16));
+    Random random = new Random(8);
+    for (int size : new int[] {2, 3}) {
+      for (int game = 0; game < 50; game++) {
+        ReversiModel model = new ReversiGame(size);
+        model.startGame();
+        while (!model.isGameOver()) {
+          CellState player = model.getCurrentPlayer();
+          List<MoveOption> expected = new MinimaxStrategy(new TranspositionTable(1 << 10))
+                  .evaluateMoves(model, player);
+          List<MoveOption> actual = cached.evaluateMoves(model, player);
+          assertSameOptions(expected, actual);
+          List<Coordinate> moves = model.getLegalMoves(player);
+          model.makeMove(moves.get(random.nextInt(moves.size())), player);
+        }
+      }
+    }
+  }
+}
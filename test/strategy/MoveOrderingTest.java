@@ -0,0 +1,113 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.CoordinateRegistry;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the move ordering.
+ */
+public class MoveOrderingTest {
+  CoordinateRegistry registry;
+  MoveOrdering ordering;
+  Coordinate corner;
+  Coordinate nextToCorner;
+  Coordinate center;
+  Coordinate other;
+
+  @Before
+  public void setUp() throws Exception {
+    registry = CoordinateRegistry.forSize(3);
+    ordering = new MoveOrdering(3);
+    corner = registry.get(3, -3);
+    nextToCorner = registry.get(2, -2);
+    center = registry.get(0, 0);
+    other = registry.get(0, 1);
+  }
+
+  private List<Coordinate> moves() {
+    List<Coordinate> moves = new ArrayList<>();
+    moves.add(nextToCorner);
+    moves.add(center);
+    moves.add(other);
+    moves.add(corner);
+    return moves;
+  }
+
+  @Test
+  public void staticOrderTest() {
+    List<Coordinate> moves = moves();
+    ordering.order(moves, CellState.BLACK, 0, -1);
+    assertEquals(corner, moves.get(0));
+    assertEquals(center, moves.get(1));
+    assertEquals(other, moves.get(2));
+    assertEquals(nextToCorner, moves.get(3));
+  }
+
+  @Test
+  public void hashMoveFirstTest() {
+    List<Coordinate> moves = moves();
+    ordering.order(moves, CellState.BLACK, 0, registry.ordinal(nextToCorner));
+    assertEquals(nextToCorner, moves.get(0));
+    assertEquals(corner, moves.get(1));
+  }
+
+  @Test
+  public void killerTest() {
+    ordering.recordCutoff(registry.ordinal(other), CellState.BLACK, 2, 1);
+    // A killer is tried early at its own ply, for either color
+    List<Coordinate> moves = moves();
+    ordering.order(moves, CellState.WHITE, 2, -1);
+    assertEquals(other, moves.get(1));
+    // At other plies white has no reason to prefer it
+    moves = moves();
+    ordering.order(moves, CellState.WHITE, 3, -1);
+    assertEquals(center, moves.get(1));
+  }
+
+  @Test
+  public void historyTest() {
+    ordering.recordCutoff(registry.ordinal(other), CellState.BLACK, 1, 3);
+    ordering.recordCutoff(registry.ordinal(center), CellState.BLACK, 1, 1);
+    List<Coordinate> moves = moves();
+    ordering.order(moves, CellState.BLACK, 5, -1);
+    assertEquals(other, moves.get(1));
+    assertEquals(center, moves.get(2));
+    ordering.clear();
+    moves = moves();
+    ordering.order(moves, CellState.BLACK, 5, -1);
+    assertEquals(center, moves.get(1));
+  }
+
+  @Test
+  public void reducesNodesTest() {
+    ReversiModel model = new ReversiGame(4);
+    long unordered = nodes(model, null);
+    long ordered = nodes(model, new MoveOrdering(4));
+    assertTrue(ordered < unordered);
+  }
+
+  private long nodes(ReversiModel model, MoveOrdering moveOrdering) {
+    ReversiModel board = new ReversiGame(model);
+    NegamaxSearch search = new NegamaxSearch(board, new TranspositionTable(1 << 20),
+            System.nanoTime() + 60_000_000_000L, new AtomicBoolean(), moveOrdering);
+    List<Coordinate> moves = board.getLegalMoves(board.getCurrentPlayer());
+    for (int depth = 1; depth <= 7; depth++) {
+      search.searchRoot(moves, depth);
+    }
+    return search.getNodes();
+  }
+}
@@ -0,0 +1,129 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the multi-line analysis of a position.
+ */
+public class MultiPvAnalyzerTest {
+  static final int DEPTH = 3;
+
+  ReversiModel model;
+  MultiPvAnalyzer analyzer;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new ReversiGame(3);
+    model.startGame();
+    // Leave the symmetric opening, where every move scores the same
+    for (int i = 0; i < 3; i++) {
+      CellState player = model.getCurrentPlayer();
+      model.makeMove(model.getLegalMoves(player).get(0), player);
+    }
+    analyzer = new MultiPvAnalyzer(60_000, DEPTH, new TranspositionTable(1 << 20));
+  }
+
+  // Searches every move on its own with a full window and a fresh table, best first
+  private List<Integer> exactScores() {
+    ReversiModel board = new ReversiGame(model);
+    NegamaxSearch search = new NegamaxSearch(board, new TranspositionTable(1 << 20),
+            Long.MAX_VALUE, new AtomicBoolean(), null);
+    CellState player = board.getCurrentPlayer();
+    List<Integer> scores = new ArrayList<>();
+    for (Coordinate move : board.getLegalMoves(player)) {
+      scores.add(search.searchMove(move, player, DEPTH, -NegamaxSearch.INFINITY,
+              NegamaxSearch.INFINITY));
+    }
+    scores.sort((a, b) -> b - a);
+    return scores;
+  }
+
+  @Test
+  public void linesHaveExactScoresTest() {
+    List<AnalysisLine> lines = analyzer.analyze(model, model.getCurrentPlayer(), 3);
+    assertEquals(3, lines.size());
+    assertEquals(DEPTH, analyzer.getLastDepth());
+    List<Integer> exact = exactScores();
+    for (int i = 0; i < lines.size(); i++) {
+      assertEquals((int) exact.get(i), lines.get(i).getScore());
+      assertEquals(DEPTH, lines.get(i).getDepth());
+    }
+  }
+
+  @Test
+  public void principalVariationsAreLegalTest() {
+    for (AnalysisLine line : analyzer.analyze(model, model.getCurrentPlayer(), 3)) {
+      List<Coordinate> pv = line.getPrincipalVariation();
+      assertEquals(line.getMove(), pv.get(0));
+      assertTrue(pv.size() <= DEPTH);
+      ReversiModel replay = new ReversiGame(model);
+      for (Coordinate move : pv) {
+        CellState player = replay.getCurrentPlayer();
+        assertTrue(replay.getLegalMoves(player).contains(move));
+        replay.makeMove(move, player);
+      }
+    }
+  }
+
+  @Test
+  public void streamsEachDepthTest() {
+    List<Integer> depths = new ArrayList<>();
+    List<AnalysisLine> last = new ArrayList<>();
+    List<AnalysisLine> lines = analyzer.analyze(model, model.getCurrentPlayer(), 2,
+        (depth, completed) -> {
+          depths.add(depth);
+          assertEquals(2, completed.size());
+          last.clear();
+          last.addAll(completed);
+        });
+    assertEquals(List.of(1, 2, 3), depths);
+    assertEquals(lines, last);
+  }
+
+  @Test
+  public void fewerMovesThanLinesTest() {
+    int legal = model.getLegalMoves(model.getCurrentPlayer()).size();
+    long hash = model.getPositionHash();
+    assertEquals(legal, analyzer.analyze(model, model.getCurrentPlayer(), 50).size());
+    // The analysis works on a copy
+    assertEquals(hash, model.getPositionHash());
+  }
+
+  @Test
+  public void stopReturnsCompletedDepthTest() {
+    List<AnalysisLine> lines = analyzer.analyze(model, model.getCurrentPlayer(), 2,
+        (depth, completed) -> analyzer.stop());
+    assertEquals(1, analyzer.getLastDepth());
+    assertEquals(1, lines.get(0).getDepth());
+  }
+
+  @Test
+  public void stopBeforeAnalysisTest() {
+    // A stop raced with the start of the analysis still counts
+    analyzer.stop();
+    analyzer.analyze(model, model.getCurrentPlayer(), 2);
+    assertTrue(analyzer.getLastDepth() <= 1);
+    // And is cleared once that analysis is over
+    analyzer.analyze(model, model.getCurrentPlayer(), 2);
+    assertEquals(DEPTH, analyzer.getLastDepth());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void zeroLinesTest() {
+    analyzer.analyze(model, model.getCurrentPlayer(), 0);
+  }
+}
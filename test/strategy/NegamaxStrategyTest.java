@@ -0,0 +1,60 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import model.CellState;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the negamax strategy.
+ */
+public class NegamaxStrategyTest {
+  ReversiModel model;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new ReversiGame(3);
+  }
+
+  @Test
+  public void bestMoveFirstTest() {
+    NegamaxStrategy strategy = new NegamaxStrategy(200, 3, new TranspositionTable(1 << 16));
+    List<MoveOption> moves = strategy.evaluateMoves(model, model.getCurrentPlayer());
+    assertEquals(model.getLegalMoves(model.getCurrentPlayer()).size(), moves.size());
+    for (MoveOption option : moves) {
+      assertTrue(moves.get(0).getScore() >= option.getScore());
+    }
+    assertEquals(3, strategy.getLastDepth());
+  }
+
+  @Test
+  public void leavesModelUnchangedTest() {
+    long hash = model.getPositionHash();
+    new NegamaxStrategy(100).evaluateMoves(model, model.getCurrentPlayer());
+    assertEquals(hash, model.getPositionHash());
+    assertEquals(CellState.BLACK, model.getCurrentPlayer());
+  }
+
+  @Test
+  public void solvesSmallBoardTest() {
+    ReversiModel small = new ReversiGame(2);
+    NegamaxStrategy strategy = new NegamaxStrategy(10_000, 64, new TranspositionTable(1 << 16));
+    List<MoveOption> moves = strategy.evaluateMoves(small, small.getCurrentPlayer());
+    // The whole game tree fits in the budget, so the best score is the exact game result
+    assertEquals(small.getEmptyCount(), strategy.getLastDepth());
+    assertEquals(GameTrees.exactScore(new ReversiGame(small)), moves.get(0).getScore());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBudgetTest() {
+    new NegamaxStrategy(0);
+  }
+}
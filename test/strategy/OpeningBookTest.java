@@ -0,0 +1,138 @@
+package strategy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import model.CellState;
+import model.Coordinate;
+import model.HexSymmetry;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of building, reading and playing from an opening book.
+ */
+public class OpeningBookTest {
+  Path file;
+  OpeningBook book;
+  int games = 6;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("reversi", ".book");
+    OpeningBookBuilder builder = new OpeningBookBuilder(3, 4, 5,
+            new MultiPvAnalyzer(60_000, 2, new TranspositionTable(1 << 16)), 7);
+    for (int i = 0; i < games; i++) {
+      builder.playGame();
+    }
+    builder.write(file);
+    book = OpeningBook.open(file);
+    assertEquals(builder.getPositionCount(), book.getEntryCount());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void startPositionTest() {
+    ReversiModel model = new ReversiGame(3);
+    BookEntry entry = book.lookup(model);
+    assertNotNull(entry);
+    assertEquals(games, entry.getGames());
+    assertTrue(entry.getPoints() >= 0 && entry.getPoints() <= 2 * games);
+    List<Coordinate> legalMoves = model.getLegalMoves(CellState.BLACK);
+    assertTrue(!entry.getMoves().isEmpty());
+    for (MoveOption option : entry.getMoves()) {
+      assertTrue(legalMoves.contains(option.getMove()));
+    }
+  }
+
+  @Test
+  public void scoresAreExactTest() {
+    // Every position after the first move is in the book, as some game played it or a variant
+    ReversiModel start = new ReversiGame(3);
+    for (Coordinate first : start.getLegalMoves(CellState.BLACK)) {
+      ReversiModel model = new ReversiGame(start);
+      model.makeMove(first, CellState.BLACK);
+      BookEntry entry = book.lookup(model);
+      assertNotNull(entry);
+      NegamaxSearch search = new NegamaxSearch(new ReversiGame(model),
+              new TranspositionTable(1 << 16), Long.MAX_VALUE);
+      for (MoveOption option : entry.getMoves()) {
+        assertEquals(search.searchMove(option.getMove(), model.getCurrentPlayer(), 2,
+                -NegamaxSearch.INFINITY, NegamaxSearch.INFINITY), option.getScore());
+      }
+    }
+  }
+
+  @Test
+  public void provenScoresTest() {
+    int win = NegamaxSearch.WIN_SCORE + 7;
+    assertEquals(win, OpeningBook.decodeScore(OpeningBook.encodeScore(win)));
+    assertEquals(-win, OpeningBook.decodeScore(OpeningBook.encodeScore(-win)));
+    assertEquals(42, OpeningBook.decodeScore(OpeningBook.encodeScore(42)));
+    // A large estimate stays below every proven result
+    int estimate = OpeningBook.decodeScore(OpeningBook.encodeScore(NegamaxSearch.WIN_SCORE - 1));
+    assertTrue(estimate < OpeningBook.PROVEN_SCORE);
+    assertTrue(estimate < OpeningBook.decodeScore(OpeningBook.encodeScore(
+            NegamaxSearch.WIN_SCORE)));
+  }
+
+  @Test
+  public void symmetricPositionTest() {
+    ReversiModel model = new ReversiGame(3);
+    Coordinate move = book.lookup(model).getMoves().get(0).getMove();
+    HexSymmetry symmetry = HexSymmetry.forSize(3);
+    // Every variant of the position after the book move shares its entry
+    for (int t = 0; t < HexSymmetry.TRANSFORM_COUNT; t++) {
+      ReversiModel variant = new ReversiGame(3);
+      Coordinate transformed = symmetry.transform(t, move);
+      if (variant.getLegalMoves(CellState.BLACK).contains(transformed)) {
+        variant.makeMove(transformed, CellState.BLACK);
+        BookEntry entry = book.lookup(variant);
+        assertNotNull(entry);
+        for (MoveOption option : entry.getMoves()) {
+          assertTrue(variant.getLegalMoves(CellState.WHITE).contains(option.getMove()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void missingPositionTest() {
+    assertNull(book.lookup(new ReversiGame(4)));
+  }
+
+  @Test
+  public void bookStrategyTest() {
+    ReversiModel model = new ReversiGame(3);
+    BookStrategy strategy = new BookStrategy(book, new CaptureMaxPiecesStrategy());
+    List<MoveOption> options = strategy.evaluateMoves(model, CellState.BLACK);
+    assertEquals(book.lookup(model).getMoves().get(0).getMove(), options.get(0).getMove());
+    assertEquals(1, strategy.getHits());
+
+    ReversiModel other = new ReversiGame(4);
+    assertTrue(!strategy.evaluateMoves(other, CellState.BLACK).isEmpty());
+    assertEquals(1, strategy.getMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void notABookTest() throws IOException {
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+    OpeningBook.open(file);
+  }
+}
@@ -0,0 +1,50 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the parallel negamax strategy.
+ */
+public class ParallelNegamaxStrategyTest {
+
+  @Test
+  public void matchesSequentialSearchTest() {
+    ReversiModel model = new ReversiGame(2);
+    NegamaxStrategy sequential = new NegamaxStrategy(10_000, 64, new TranspositionTable(1 << 16));
+    ParallelNegamaxStrategy parallel = new ParallelNegamaxStrategy(10_000, 64, 4,
+            new TranspositionTable(1 << 16));
+    List<MoveOption> expected = sequential.evaluateMoves(model, model.getCurrentPlayer());
+    List<MoveOption> actual = parallel.evaluateMoves(model, model.getCurrentPlayer());
+    // Both solve the small board, so they agree on the exact score of the best move
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.get(0).getScore(), actual.get(0).getScore());
+    assertEquals(model.getEmptyCount(), parallel.getLastDepth());
+  }
+
+  @Test
+  public void bestMoveFirstTest() {
+    ReversiModel model = new ReversiGame(4);
+    ParallelNegamaxStrategy parallel = new ParallelNegamaxStrategy(200, 4, 3,
+            new TranspositionTable(1 << 16));
+    List<MoveOption> moves = parallel.evaluateMoves(model, model.getCurrentPlayer());
+    assertEquals(model.getLegalMoves(model.getCurrentPlayer()).size(), moves.size());
+    for (MoveOption option : moves) {
+      assertTrue(moves.get(0).getScore() >= option.getScore());
+    }
+    assertTrue(parallel.getLastNodes() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidParallelismTest() {
+    new ParallelNegamaxStrategy(100, 0);
+  }
+}
@@ -0,0 +1,141 @@
+package strategy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.ComputerReversiPlayer;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+import model.UndoRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of the pattern evaluation and its weights.
+ */
+public class PatternEvaluatorTest {
+  PatternWeights weights;
+  Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    weights = PatternWeights.initial(3);
+    file = Files.createTempFile("reversi", ".weights");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  private static int fresh(PatternWeights weights, ReversiModel model, CellState player) {
+    PatternEvaluator evaluator = new PatternEvaluator(weights);
+    evaluator.load(model);
+    return evaluator.evaluate(player);
+  }
+
+  @Test
+  public void incrementalMatchesLoadTest() {
+    ReversiModel model = new ReversiGame(3);
+    PatternEvaluator evaluator = new PatternEvaluator(weights);
+    evaluator.load(model);
+    int start = evaluator.evaluate(CellState.BLACK);
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    Random random = new Random(11);
+    while (!model.isGameOver()) {
+      CellState player = model.getCurrentPlayer();
+      List<Coordinate> moves = model.getLegalMoves(player);
+      UndoRecord record = model.applyMove(moves.get(random.nextInt(moves.size())), player);
+      evaluator.apply(record);
+      records.push(record);
+      assertEquals(fresh(weights, model, CellState.BLACK), evaluator.evaluate(CellState.BLACK));
+      assertEquals(-evaluator.evaluate(CellState.BLACK), evaluator.evaluate(CellState.WHITE));
+    }
+    while (!records.isEmpty()) {
+      UndoRecord record = records.pop();
+      evaluator.undo(record);
+      model.undoMove(record);
+    }
+    assertEquals(start, evaluator.evaluate(CellState.BLACK));
+  }
+
+  @Test
+  public void symmetricStartTest() {
+    // The start position swaps colors under a sixth-turn, so it is worth the same to both
+    ReversiModel model = new ReversiGame(3);
+    assertEquals(0, fresh(weights, model, CellState.BLACK));
+  }
+
+  @Test
+  public void cornerValueTest() {
+    int[] region = weights.getCells(PatternWeights.CORNER_REGION);
+    int cornerDisc = weights.tables[PatternWeights.CORNER_REGION][1];
+    int edgeDisc = weights.tables[PatternWeights.CORNER_REGION][PatternWeights.power(1)];
+    assertTrue(cornerDisc > edgeDisc);
+    // A disc next to an empty corner is a liability
+    assertTrue(edgeDisc < 0);
+    assertEquals(9, region.length);
+  }
+
+  @Test
+  public void writeReadTest() throws Exception {
+    PatternTrainer trainer = new PatternTrainer(3, 5);
+    for (int i = 0; i < 20; i++) {
+      trainer.playGame();
+    }
+    trainer.getWeights().write(file);
+    PatternWeights read = PatternWeights.read(file);
+    ReversiModel model = new ReversiGame(3);
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    assertEquals(fresh(trainer.getWeights(), model, CellState.WHITE),
+            fresh(read, model, CellState.WHITE));
+  }
+
+  @Test
+  public void strategyTest() {
+    ReversiModel model = new ReversiGame(3);
+    List<MoveOption> options = new PatternStrategy().evaluateMoves(model, CellState.BLACK);
+    assertEquals(model.getLegalMoves(CellState.BLACK).size(), options.size());
+    for (int i = 1; i < options.size(); i++) {
+      assertTrue(options.get(i - 1).getScore() >= options.get(i).getScore());
+    }
+  }
+
+  @Test
+  public void createdStrategyUsesWeightsTest() throws Exception {
+    PatternTrainer trainer = new PatternTrainer(3, 5);
+    for (int i = 0; i < 20; i++) {
+      trainer.playGame();
+    }
+    trainer.getWeights().write(file);
+    ReversiStrategy created = ComputerReversiPlayer.createStrategy("PatternStrategy",
+            PatternWeights.read(file));
+    ReversiStrategy trained = new PatternStrategy(trainer.getWeights());
+    ReversiModel model = new ReversiGame(3);
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    List<MoveOption> expected = trained.evaluateMoves(model, CellState.WHITE);
+    List<MoveOption> actual = created.evaluateMoves(model, CellState.WHITE);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getMove(), actual.get(i).getMove());
+      assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongSizeTest() {
+    new PatternEvaluator(weights).load(new ReversiGame(4));
+  }
+}
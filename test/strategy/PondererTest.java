@@ -0,0 +1,100 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of pondering during the opponent's turn.
+ */
+public class PondererTest {
+  ReversiModel model;
+  Ponderer ponderer;
+
+  @Before
+  public void setUp() throws Exception {
+    model = new ReversiGame(3);
+    ponderer = new Ponderer(new NegamaxStrategy(10_000, 2, new TranspositionTable(1 << 16)));
+  }
+
+  private void awaitResults(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (ponderer.getResultCount() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  public void pondersEveryReplyTest() throws Exception {
+    List<Coordinate> humanMoves = model.getLegalMoves(CellState.BLACK);
+    ponderer.start(model, CellState.WHITE);
+    awaitResults(humanMoves.size());
+    assertEquals(humanMoves.size(), ponderer.getResultCount());
+
+    model.makeMove(humanMoves.get(humanMoves.size() - 1), CellState.BLACK);
+    List<MoveOption> options = ponderer.takeResult(model);
+    assertTrue(options != null && !options.isEmpty());
+    assertTrue(model.getLegalMoves(CellState.WHITE).contains(options.get(0).getMove()));
+    assertEquals(1, ponderer.getHits());
+    assertEquals(0, ponderer.getResultCount());
+  }
+
+  @Test
+  public void missTest() throws Exception {
+    ponderer.start(model, CellState.WHITE);
+    awaitResults(1);
+    // A position no human move leads to was never pondered
+    assertNull(ponderer.takeResult(new ReversiGame(4)));
+    assertEquals(1, ponderer.getMisses());
+  }
+
+  @Test
+  public void stopAbortsSearchTest() throws Exception {
+    NegamaxStrategy slow = new NegamaxStrategy(60_000, 64, new TranspositionTable(1 << 16));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch returned = new CountDownLatch(1);
+    ponderer = new Ponderer(new TimedStrategy() {
+      @Override
+      public List<MoveOption> evaluateMoves(ReversiModel model, CellState player) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public List<MoveOption> evaluateMoves(ReversiModel model, CellState player,
+                                            long moveMillis, AtomicBoolean stop) {
+        started.countDown();
+        List<MoveOption> options = slow.evaluateMoves(model, player, moveMillis, stop);
+        returned.countDown();
+        return options;
+      }
+    }, 60_000);
+    ReversiModel board = new ReversiGame(5);
+    ponderer.start(board, CellState.WHITE);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    ponderer.stop();
+    // The reply search gives up at once rather than running out its budget
+    assertTrue(returned.await(2, TimeUnit.SECONDS));
+    assertEquals(0, ponderer.getResultCount());
+  }
+
+  @Test
+  public void noPonderingOnOwnTurnTest() {
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    ponderer.start(model, CellState.WHITE);
+    assertEquals(0, ponderer.getResultCount());
+  }
+}
@@ -0,0 +1,155 @@
+package strategy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of generating and probing endgame tablebases.
+ */
+public class TablebaseTest {
+  Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("reversi", ".tb");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  private Tablebase generate(TablebaseGenerator generator) throws IOException {
+    generator.write(file);
+    Tablebase tablebase = Tablebase.open(file);
+    assertEquals(generator.getPositionCount(), tablebase.getEntryCount());
+    return tablebase;
+  }
+
+  @Test
+  public void completeSizeTwoTest() throws IOException {
+    TablebaseGenerator generator = new TablebaseGenerator(2);
+    generator.addStartPosition();
+    Tablebase tablebase = generate(generator);
+    EndgameSolver solver = new EndgameSolver(2);
+    Random random = new Random(3);
+    for (int game = 0; game < 20; game++) {
+      ReversiModel model = new ReversiGame(2);
+      while (true) {
+        assertTrue(tablebase.covers(model));
+        CellState player = model.getCurrentPlayer();
+        assertEquals(solver.solve(model, player), tablebase.probe(model));
+        if (model.isGameOver()) {
+          assertNull(tablebase.bestMove(model));
+          break;
+        }
+        assertTrue(model.getLegalMoves(player).contains(tablebase.bestMove(model)));
+        List<Coordinate> moves = model.getLegalMoves(player);
+        model.makeMove(moves.get(random.nextInt(moves.size())), player);
+      }
+    }
+  }
+
+  @Test
+  public void latePositionsTest() throws IOException {
+    TablebaseGenerator generator = new TablebaseGenerator(3);
+    Random random = new Random(5);
+    ReversiModel model = new ReversiGame(3);
+    while (model.getEmptyCount() > 12) {
+      CellState player = model.getCurrentPlayer();
+      List<Coordinate> moves = model.getLegalMoves(player);
+      model.makeMove(moves.get(random.nextInt(moves.size())), player);
+    }
+    generator.addPosition(model);
+    Tablebase tablebase = generate(generator);
+    assertTrue(!tablebase.covers(model));
+    assertEquals(new EndgameSolver(3).solve(model, model.getCurrentPlayer()),
+            tablebase.probe(model));
+    // The start position is far outside the table
+    assertEquals(Tablebase.UNKNOWN, tablebase.probe(new ReversiGame(3)));
+
+    TablebaseStrategy strategy = new TablebaseStrategy(tablebase, new CaptureMaxPiecesStrategy());
+    if (!model.isGameOver()) {
+      List<MoveOption> options = strategy.evaluateMoves(model, model.getCurrentPlayer());
+      assertEquals(tablebase.probe(model), options.get(0).getScore());
+      assertEquals(1, strategy.getHits());
+    }
+    strategy.evaluateMoves(new ReversiGame(3), CellState.BLACK);
+    assertEquals(1, strategy.getMisses());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void notATablebaseTest() throws IOException {
+    Files.write(file, new byte[40]);
+    Tablebase.open(file);
+  }
+
+  // Writes a size-two table whose header claims the given slot and entry counts
+  private void writeTable(int slotCount, int entryCount, long[] slots) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(Tablebase.HEADER_BYTES + slots.length * Long.BYTES);
+    buffer.putInt(Tablebase.MAGIC).putInt(Tablebase.VERSION).putInt(2).putInt(19).putInt(1)
+            .putInt(slotCount).putInt(entryCount).putInt(0);
+    for (long slot : slots) {
+      buffer.putLong(slot);
+    }
+    Files.write(file, buffer.array());
+  }
+
+  @Test
+  public void fullTableMissTest() throws IOException {
+    // A corrupt table with no empty slot, none of which holds the position
+    long foreign = Tablebase.keyOf(0x123456789ABCL << 16);
+    writeTable(4, 1, new long[] {foreign, foreign, foreign, foreign});
+    Tablebase table = Tablebase.open(file);
+    assertEquals(Tablebase.UNKNOWN, table.probe(new ReversiGame(2)));
+    assertNull(table.bestMove(new ReversiGame(2)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void slotCountPastFileTest() throws IOException {
+    writeTable(8, 1, new long[4]);
+    Tablebase.open(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void slotCountShortOfFileTest() throws IOException {
+    writeTable(2, 1, new long[4]);
+    Tablebase.open(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void entriesFillEverySlotTest() throws IOException {
+    writeTable(4, 4, new long[4]);
+    Tablebase.open(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void boardOverSignedByteTest() {
+    // 169 cells, so a disc difference may not fit in a signed byte
+    new TablebaseGenerator(7);
+  }
+
+  @Test
+  public void largestBoardTest() {
+    // 127 cells, the most a signed byte allows
+    assertEquals(0, new TablebaseGenerator(6).getPositionCount());
+  }
+}
@@ -0,0 +1,142 @@
+package strategy;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import model.CellState;
+import model.Coordinate;
+import model.ReversiGame;
+import model.ReversiModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * represents the test of streaming moves into a top-k sink.
+ */
+public class TopMovesTest {
+
+  @Test
+  public void keepsBestInOrderTest() {
+    TopMoves top = new TopMoves(3);
+    int[] scores = {4, 9, 1, 9, 7, 2};
+    for (int cell = 0; cell < scores.length; cell++) {
+      assertTrue(top.accept(cell, scores[cell]));
+    }
+    assertEquals(3, top.getCount());
+    // Equal scores keep their order of arrival
+    assertEquals(1, top.getCell(0));
+    assertEquals(3, top.getCell(1));
+    assertEquals(4, top.getCell(2));
+    assertEquals(7, top.getScore(2));
+  }
+
+  @Test
+  public void growsBeyondInitialCapacityTest() {
+    TopMoves top = new TopMoves(Integer.MAX_VALUE);
+    for (int cell = 0; cell < 30; cell++) {
+      top.accept(cell, cell % 7);
+    }
+    assertEquals(30, top.getCount());
+    for (int i = 1; i < 30; i++) {
+      assertTrue(top.getScore(i - 1) >= top.getScore(i));
+    }
+  }
+
+  @Test
+  public void stopsOnUnbeatableTest() {
+    TopMoves top = new TopMoves(1);
+    assertTrue(top.accept(0, 5));
+    assertFalse(top.accept(1, MoveSink.UNBEATABLE));
+    assertFalse(top.accept(2, 3));
+    assertEquals(1, top.getCell(0));
+  }
+
+  private static ReversiModel cornerPosition() {
+    Random random = new Random(2);
+    while (true) {
+      ReversiModel model = new ReversiGame(3);
+      while (!model.isGameOver()) {
+        CellState player = model.getCurrentPlayer();
+        List<Coordinate> moves = model.getLegalMoves(player);
+        for (Coordinate move : moves) {
+          if (model.getCorners().contains(move)) {
+            return model;
+          }
+        }
+        model.makeMove(moves.get(random.nextInt(moves.size())), player);
+      }
+    }
+  }
+
+  @Test
+  public void cornerStopsCompositeEarlyTest() {
+    ReversiModel model = cornerPosition();
+    CellState player = model.getCurrentPlayer();
+    CompositeStrategy composite = new CompositeStrategy(new TakeCornersStrategy(),
+            new CaptureMaxPiecesStrategy(), new MinimaxStrategy());
+    List<Integer> streamed = new ArrayList<>();
+    TopMoves top = new TopMoves(1);
+    boolean completed = composite.streamMoves(new AnalysisContext(model, player), (cell, score) -> {
+      streamed.add(cell);
+      return top.accept(cell, score);
+    });
+    assertFalse(completed);
+    // Only the corner was streamed before the search stopped
+    assertEquals(1, streamed.size());
+    assertTrue(model.getCorners().contains(top.toMoveOptions(3).get(0).getMove()));
+  }
+
+  @Test
+  public void adapterMatchesListTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    ReversiStrategy[] strategies = {new MinimaxStrategy(), new CaptureMaxPiecesStrategy(),
+        new CompositeStrategy(new CaptureMaxPiecesStrategy(), new AvoidGivingCornersStrategy(),
+            new TakeCornersStrategy(), new MinimaxStrategy())};
+    for (ReversiStrategy strategy : strategies) {
+      List<MoveOption> all = strategy.evaluateMoves(model, CellState.WHITE);
+      int best = Integer.MIN_VALUE;
+      for (MoveOption option : all) {
+        best = Math.max(best, option.getScore());
+      }
+      List<MoveOption> top = strategy.topMoves(model, CellState.WHITE, 2);
+      assertEquals(Math.min(2, all.size()), top.size());
+      assertEquals(best, top.get(0).getScore());
+    }
+  }
+
+  @Test
+  public void compositeTopMovesAreDistinctTest() {
+    ReversiModel model = new ReversiGame(3);
+    model.makeMove(model.getLegalMoves(CellState.BLACK).get(0), CellState.BLACK);
+    ReversiStrategy[] composites = {
+        new CompositeStrategy(new CaptureMaxPiecesStrategy(), new AvoidGivingCornersStrategy(),
+            new TakeCornersStrategy(), new MinimaxStrategy()),
+        CompositeStrategy.parallel(new CaptureMaxPiecesStrategy(),
+            new AvoidGivingCornersStrategy(), new TakeCornersStrategy(), new MinimaxStrategy())};
+    for (ReversiStrategy composite : composites) {
+      List<MoveOption> top = composite.topMoves(model, CellState.WHITE, 3);
+      List<MoveOption> all = composite.evaluateMoves(model, CellState.WHITE);
+      assertEquals(Math.min(3, model.getLegalMoves(CellState.WHITE).size()), top.size());
+      assertEquals(model.getLegalMoves(CellState.WHITE).size(), all.size());
+      Set<Coordinate> seen = new HashSet<>();
+      for (int i = 0; i < top.size(); i++) {
+        assertTrue(seen.add(top.get(i).getMove()));
+        assertEquals(all.get(i).getScore(), top.get(i).getScore());
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nonPositiveKTest() {
+    new TopMoves(0);
+  }
+}
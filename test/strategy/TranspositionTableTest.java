@@ -0,0 +1,90 @@
+package strategy;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * represents the test of the transposition table.
+ */
+public class TranspositionTableTest {
+  TranspositionTable table;
+
+  @Before
+  public void setUp() throws Exception {
+    // 4 slots, or 2 buckets
+    table = new TranspositionTable(4 * TranspositionTable.BYTES_PER_SLOT);
+  }
+
+  @Test
+  public void storeAndProbeTest() {
+    table.store(42L, 3, TranspositionTable.BOUND_LOWER, -17, 12);
+    long entry = table.probe(42L);
+    assertEquals(3, TranspositionTable.depth(entry));
+    assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(entry));
+    assertEquals(-17, TranspositionTable.score(entry));
+    assertEquals(12, TranspositionTable.move(entry));
+    assertEquals(1, table.getHits());
+  }
+
+  @Test
+  public void missAndCollisionTest() {
+    assertEquals(TranspositionTable.MISS, table.probe(42L));
+    table.store(2L, 1, TranspositionTable.BOUND_EXACT, 0, -1);
+    // 4 lands in the same bucket as 2
+    assertEquals(TranspositionTable.MISS, table.probe(4L));
+    assertEquals(2, table.getMisses());
+    assertEquals(1, table.getCollisions());
+    assertEquals(-1, TranspositionTable.move(table.probe(2L)));
+  }
+
+  @Test
+  public void replacementTest() {
+    table.store(2L, 5, TranspositionTable.BOUND_EXACT, 1, 1);
+    // A shallower result goes to the always-replace slot
+    table.store(4L, 2, TranspositionTable.BOUND_EXACT, 2, 2);
+    table.store(6L, 1, TranspositionTable.BOUND_EXACT, 3, 3);
+    assertEquals(1, TranspositionTable.score(table.probe(2L)));
+    assertEquals(TranspositionTable.MISS, table.probe(4L));
+    assertEquals(3, TranspositionTable.score(table.probe(6L)));
+    // A deeper result takes over the depth-preferred slot
+    table.store(8L, 7, TranspositionTable.BOUND_EXACT, 4, 4);
+    assertEquals(TranspositionTable.MISS, table.probe(2L));
+    assertEquals(4, TranspositionTable.score(table.probe(8L)));
+  }
+
+  @Test
+  public void concurrentStressTest() throws Exception {
+    // Many threads store and probe the same few buckets, so slots are overwritten constantly
+    Thread[] threads = new Thread[8];
+    AtomicInteger corrupt = new AtomicInteger();
+    for (int t = 0; t < threads.length; t++) {
+      long seed = t;
+      threads[t] = new Thread(() -> {
+        for (long i = 0; i < 200_000; i++) {
+          long key = (i * 31 + seed) % 64 + 1;
+          table.store(key, (int) key, TranspositionTable.BOUND_EXACT, (int) -key, (int) key * 7);
+          long entry = table.probe((key * 17) % 64 + 1);
+          if (entry != TranspositionTable.MISS) {
+            // Every entry the table returns must belong to the probed key
+            long probed = (key * 17) % 64 + 1;
+            if (TranspositionTable.score(entry) != -probed
+                    || TranspositionTable.move(entry) != probed * 7
+                    || TranspositionTable.depth(entry) != probed) {
+              corrupt.incrementAndGet();
+            }
+          }
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(0, corrupt.get());
+  }
+}